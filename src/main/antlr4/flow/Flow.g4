@@ -36,6 +36,7 @@ expression
     | LPAREN expression RPAREN          #parenthesesExpression
     | expression numbersOp expression   #numberOpExpression
     | expression relationOp expression  #relationOpExpression
+    | expression (RANGE | DOWN_TO) expression (STEP expression)? #rangeExpression
     ;
 
 tryStatement : TRY controlStructureBody (CATCH LPAREN ID COLON TYPE RPAREN controlStructureBody)? ;
@@ -46,20 +47,19 @@ loopStatement
     ;
 
 forStatement
-    : FOR LPAREN (ID)
-      IN rangeExpression RPAREN controlStructureBody
+    : parallelModifier? FOR LPAREN (ID)
+      IN expression RPAREN controlStructureBody
     ;
 
-rangeExpression
-    : expression RANGE expression
-    ;
+// not a keyword, so `parallel` can still name variables and methods
+parallelModifier : {_input.LT(1).getText().equals("parallel")}? ID ;
 
 whileStatement
     : WHILE LPAREN expression RPAREN controlStructureBody
     ;
 
 
-ifStatement : IF LPAREN expression relationOp expression RPAREN controlStructureBody
+ifStatement : IF LPAREN expression RPAREN controlStructureBody
     (ELSE controlStructureBody)? ;
 
 iOStatement
@@ -69,7 +69,8 @@ iOStatement
 readStatement
     : readConsoleStatement
     | readLineConsoleStatement
-    | readFileStatement ;
+    | readFileStatement
+    | readLinesStatement ;
 
 writeStatement
     : writeFileStatement
@@ -82,9 +83,11 @@ readLineConsoleStatement : READ_LINE LPAREN RPAREN;
 
 readFileStatement : READ_FILE LPAREN (STRING | expression) RPAREN ;
 
+readLinesStatement : READ_LINES LPAREN (STRING | expression) RPAREN ;
+
 printStatement : (PRINT | PRINTLN) LPAREN expression? RPAREN ;
 
-writeFileStatement : WRITE_FILE LPAREN (STRING | expression) COMMA (STRING | expression) RPAREN ;
+writeFileStatement : (WRITE_FILE | APPEND_FILE) LPAREN (STRING | expression) COMMA (STRING | expression) RPAREN ;
 
 
 methodBodyStatement : statement;
@@ -136,7 +139,7 @@ STRING  : QUOTE .*? QUOTE ;
 CHAR : APOSTROPHE .? APOSTROPHE ;
 BOOLEAN : 'true' | 'false' ;
 
-TYPE    : 'Int' | 'Double' | 'String' | 'Char' | 'Boolean';
+TYPE    : 'Int' | 'Double' | 'String' | 'Char' | 'Boolean' | 'Range';
 TO_STRING : 'toString' ;
 
 relationOp : '==' | '!=' | '<' | '<=' | '>' | '>=' ;
@@ -152,6 +155,8 @@ RPAREN: ')' ;
 LBRACE: '{' ;
 RBRACE: '}' ;
 RANGE: '..';
+DOWN_TO: 'downTo';
+STEP: 'step';
 COMMA: ',';
 DOT: '.';
 
@@ -160,7 +165,9 @@ PRINTLN : 'println';
 READ: 'read';
 READ_LINE   : 'readLine';
 READ_FILE    : 'readFile';
+READ_LINES   : 'lines';
 WRITE_FILE   : 'writeFile';
+APPEND_FILE  : 'appendFile';
 
 UNIT: 'Unit' ;
 TRY: 'try' ;
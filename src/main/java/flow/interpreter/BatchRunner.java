@@ -0,0 +1,159 @@
+package flow.interpreter;
+
+import flow.interpreter.input.InputSource;
+import flow.interpreter.output.StringOutputSink;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Runs many programs in one JVM. Every file is compiled and run on a pool of worker threads, with globals of its own,
+ * no console input and its output kept in memory. Whatever a file fails with, a stack overflow included, is recorded as
+ * its result and the other files go on. Results are handed on in file order, as soon as a file and all files before it
+ * are done.
+ */
+public class BatchRunner {
+
+    // programs are parsed and compiled on the workers, so deeply nested ones need more than the default stack
+    private static final long WORKER_STACK_BYTES = 16L << 20;
+
+    private final CompileOptions options;
+    private final int maxCallDepth;
+    private final int threads;
+
+    /**
+     * @param maxCallDepth maximum call depth of every program, or {@code 0} for the default
+     * @param threads      number of programs that run at the same time
+     */
+    public BatchRunner(CompileOptions options, int maxCallDepth, int threads) {
+        this.options = options;
+        this.maxCallDepth = maxCallDepth;
+        this.threads = threads;
+    }
+
+    /**
+     * Finds the programs a pattern names: the {@code .flow} files in a directory, or the files matching a glob like
+     * {@code samples/*.flow}. Files are sorted by path.
+     */
+    public static List<Path> findFiles(String pattern) throws IOException {
+        Path path = Path.of(pattern);
+
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> files = Files.list(path)) {
+                return files.filter(file -> file.toString().endsWith(".flow") && Files.isRegularFile(file))
+                        .sorted()
+                        .toList();
+            }
+        }
+
+        // walk from the deepest directory without wildcards
+        Path base = Path.of("");
+        for (Path part : path.getParent() != null ? path.getParent() : Path.of("")) {
+            if (part.toString().matches(".*[*?\\[{].*")) {
+                break;
+            }
+            base = base.resolve(part);
+        }
+        if (path.isAbsolute()) {
+            base = path.getRoot().resolve(base);
+        }
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+
+        try (Stream<Path> files = Files.walk(base)) {
+            return files.filter(file -> matcher.matches(file) && Files.isRegularFile(file)).sorted().toList();
+        }
+    }
+
+    /**
+     * Runs the files and passes their results to {@code onResult} in the order of the files.
+     *
+     * @return the results, in the order of the files
+     */
+    public List<Result> run(List<Path> files, Consumer<Result> onResult) {
+        List<Future<Result>> pending = new ArrayList<>();
+        List<Result> results = new ArrayList<>();
+
+        ThreadFactory workers = task -> new Thread(null, task, "flow-batch", WORKER_STACK_BYTES);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads, workers)) {
+            for (Path file : files) {
+                pending.add(executor.submit(() -> runFile(file)));
+            }
+
+            for (Future<Result> future : pending) {
+                Result result = future.get();
+                results.add(result);
+                onResult.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the batch", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to run the batch", e.getCause());
+        }
+
+        return results;
+    }
+
+    private Result runFile(Path file) {
+        StringOutputSink output = new StringOutputSink();
+        long start = System.nanoTime();
+        String error = null;
+
+        try {
+            FlowProgram program = Flow.compile(Files.readString(file), options);
+            // the batch already keeps every thread busy, so loops of a program do not add threads of their own
+            program.run(new ExecutionContext(output, InputSource.of(""), maxCallDepth, 1));
+        } catch (StackOverflowError e) {
+            error = "Stack overflow while compiling or running the program.";
+        } catch (VirtualMachineError e) {
+            // the JVM itself is failing, which no other file would survive either
+            throw e;
+        } catch (Throwable e) {
+            error = e.getMessage() != null ? e.getMessage() : e.toString();
+        }
+
+        return new Result(file, output.toString(), error, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns a table with the status, duration and output size of every file, below a line with the totals.
+     */
+    public static String summarize(List<Result> results, long nanos) {
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        StringBuilder summary = new StringBuilder();
+
+        summary.append(String.format("[SUMMARY] %d files, %d ok, %d failed in %d ms%n",
+                results.size(), results.size() - failed, failed, nanos / 1_000_000));
+
+        for (Result result : results) {
+            summary.append(String.format("%-6s %8d ms %10d chars  %s%n", result.isSuccess() ? "OK" : "FAILED",
+                    result.nanos() / 1_000_000, result.output().length(), result.file()));
+        }
+
+        return summary.toString();
+    }
+
+    /**
+     * The outcome of one file: what it printed until it ended, and the message of the error it failed with, if any.
+     */
+    public record Result(Path file, String output, String error, long nanos) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package flow.interpreter;
+
+import java.io.PrintStream;
+
+/**
+ * How {@link Flow} compiles a program: the engine its methods run on, how its pure methods are memoized, whether type
+ * errors stop the compilation, and where the simplifications of the compiler and the code of vm functions are listed.
+ * Without a stream nothing is listed; with type checking off, type errors are only returned with the program.
+ */
+public record CompileOptions(Engine engine, Memoization memoization, boolean isTypeChecking, PrintStream disassembly) {
+
+    public CompileOptions() {
+        this(Engine.TREE, null, false, null);
+    }
+
+    public CompileOptions withEngine(Engine engine) {
+        return new CompileOptions(engine, memoization, isTypeChecking, disassembly);
+    }
+
+    public CompileOptions withMemoization(Memoization memoization) {
+        return new CompileOptions(engine, memoization, isTypeChecking, disassembly);
+    }
+
+    public CompileOptions withTypeChecking(boolean isTypeChecking) {
+        return new CompileOptions(engine, memoization, isTypeChecking, disassembly);
+    }
+
+    public CompileOptions withDisassembly(PrintStream disassembly) {
+        return new CompileOptions(engine, memoization, isTypeChecking, disassembly);
+    }
+}
@@ -0,0 +1,28 @@
+package flow.interpreter;
+
+public enum Engine {
+    /**
+     * Executes the compiled node tree.
+     */
+    TREE,
+
+    /**
+     * Compiles methods over primitive values to JVM bytecode and runs everything else on the node tree.
+     */
+    JVM,
+
+    /**
+     * Compiles methods over primitive values to register VM code and runs everything else on the node tree.
+     */
+    VM;
+
+    public static Engine fromName(String name) {
+        for (Engine engine : values()) {
+            if (engine.name().equalsIgnoreCase(name)) {
+                return engine;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package flow.interpreter;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.node.Frame;
+import flow.interpreter.output.OutputSink;
+
+/**
+ * What one run of a {@link FlowProgram} reads from, writes to and is limited by. A maximum call depth of {@code 0}
+ * runs the program on the calling thread with the default depth; any other depth runs it on a thread whose stack fits
+ * that many nested calls. Runs at the same time need sinks of their own, the output of a run is not synchronized.
+ */
+public record ExecutionContext(OutputSink output, InputSource input, int maxCallDepth, int parallelism) {
+
+    public ExecutionContext {
+        if (maxCallDepth < 0) {
+            throw new FlowException("Maximum call depth must not be negative but got " + maxCallDepth + ".");
+        }
+        if (parallelism <= 0) {
+            throw new FlowException("Parallelism must be positive but got " + parallelism + ".");
+        }
+    }
+
+    public ExecutionContext(OutputSink output, InputSource input) {
+        this(output, input, 0, Frame.DEFAULT_PARALLELISM);
+    }
+
+    public ExecutionContext withMaxCallDepth(int maxCallDepth) {
+        return new ExecutionContext(output, input, maxCallDepth, parallelism);
+    }
+
+    public ExecutionContext withParallelism(int parallelism) {
+        return new ExecutionContext(output, input, maxCallDepth, parallelism);
+    }
+}
@@ -0,0 +1,106 @@
+package flow.interpreter;
+
+import flow.FlowParser;
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.jvm.JvmCompiler;
+import flow.interpreter.node.MethodNode;
+import flow.interpreter.node.ProgramNode;
+import flow.interpreter.visitor.CompilerVisitor;
+import flow.interpreter.vm.Disassembler;
+import flow.interpreter.vm.VmCompiler;
+import flow.interpreter.vm.VmFunction;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import java.util.List;
+
+/**
+ * Compiles programs for embedding. A program is parsed, checked and compiled once; the {@link FlowProgram} it gives
+ * can then be run any number of times, also from several threads at once.
+ */
+public final class Flow {
+
+    private Flow() {
+    }
+
+    public static FlowProgram compile(String source) {
+        return compile(source, new CompileOptions());
+    }
+
+    public static FlowProgram compile(String source, Engine engine) {
+        return compile(source, new CompileOptions().withEngine(engine));
+    }
+
+    /**
+     * Compiles a program with the given options. The caches of memoized methods are shared by all runs of the program.
+     *
+     * @throws ParseCancellationException if the program has a syntax error or is incomplete
+     * @throws FlowException              if type checking is on and the program has type errors
+     */
+    public static FlowProgram compile(String source, CompileOptions options) {
+        FlowProgram program = compile(ProgramParser.parse(CharStreams.fromString(source)), options);
+
+        if (program == null) {
+            throw new ParseCancellationException("Unexpected end of file.");
+        }
+
+        return program;
+    }
+
+    /**
+     * Compiles a parsed program, or returns {@code null} if the program is incomplete.
+     */
+    static FlowProgram compile(FlowParser.ProgramContext tree, CompileOptions options) {
+        if (tree == null) {
+            return null;
+        }
+
+        CompilerVisitor compiler = new CompilerVisitor();
+        ProgramNode node = compileNodes(tree, compiler, options);
+        // memoized before the engine compiles methods, which leaves memoized methods to the node tree
+        List<MethodNode> memoized = options.memoization() != null
+                ? options.memoization().apply(tree, compiler::getMethod)
+                : List.of();
+        compileMethods(tree, compiler, options);
+
+        return new FlowProgram(node, compiler.getTypeErrors(), memoized);
+    }
+
+    /**
+     * Compiles a parsed program for the engine of the options, without memoization. A compiler used for several
+     * programs keeps the global variables of the earlier ones, so all of them have to run with the same symbol table.
+     */
+    static ProgramNode compile(FlowParser.ProgramContext tree, CompilerVisitor compiler, CompileOptions options) {
+        ProgramNode program = compileNodes(tree, compiler, options);
+        compileMethods(tree, compiler, options);
+
+        return program;
+    }
+
+    private static ProgramNode compileNodes(FlowParser.ProgramContext tree, CompilerVisitor compiler,
+                                            CompileOptions options) {
+        ProgramNode program = compiler.compile(tree);
+
+        if (options.isTypeChecking() && !compiler.getTypeErrors().isEmpty()) {
+            throw new FlowException("Type errors:\n" + String.join("\n", compiler.getTypeErrors()));
+        }
+
+        if (options.disassembly() != null) {
+            options.disassembly().print(compiler.getConstantFolder());
+        }
+
+        return program;
+    }
+
+    private static void compileMethods(FlowParser.ProgramContext tree, CompilerVisitor compiler, CompileOptions options) {
+        if (options.engine() == Engine.JVM) {
+            new JvmCompiler().compile(tree, compiler::getMethod);
+        } else if (options.engine() == Engine.VM) {
+            List<VmFunction> functions = new VmCompiler().compile(tree, compiler::getMethod);
+
+            if (options.disassembly() != null) {
+                functions.forEach(function -> options.disassembly().print(Disassembler.dump(function)));
+            }
+        }
+    }
+}
@@ -1,24 +1,36 @@
 package flow.interpreter;
 
-import flow.FlowLexer;
-import flow.FlowParser;
-import flow.interpreter.scope.SymbolTable;
-import flow.interpreter.visitor.InterpreterVisitor;
-import org.antlr.v4.runtime.CharStream;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.node.Frame;
+import flow.interpreter.node.MethodNode;
+import flow.interpreter.output.OutputSink;
+import flow.interpreter.output.StringOutputSink;
+import flow.interpreter.output.WriterOutputSink;
 import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
-import org.antlr.v4.runtime.tree.ParseTree;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 
 public class FlowInterpreter {
+
+    private static Engine engine = Engine.TREE;
+    private static boolean isDisassembling = false;
+    // set by -t, a program with type errors then does not run
+    private static boolean isTypeChecking = false;
+    // set by -s, a program then runs on a thread whose stack fits that many nested calls
+    private static int maxCallDepth = 0;
+    // set by -M, pure methods then keep their results
+    private static Memoization memoization = null;
+    // set by -p, parallel loops then run on at most that many threads
+    private static int parallelism = Frame.DEFAULT_PARALLELISM;
+
     public static void main(String[] args) {
         // Initialize variables to hold parsed arguments
         String filename = null;
+        String batchPattern = null;
         boolean isInteractiveMode = false;
 
         // Loop through program arguments
@@ -37,6 +49,67 @@ public class FlowInterpreter {
                         System.exit(1);
                     }
                 }
+                case "-b" -> {
+                    // If the -b flag is provided, check if there is a directory or glob argument after it
+                    if (i + 1 < args.length) {
+                        batchPattern = args[i + 1];
+                        i++;
+                    } else {
+                        System.err.println("Error: Missing directory or glob argument for -b flag.");
+                        printHelp();
+                        System.exit(1);
+                    }
+                }
+                case "-e" -> {
+                    // If the -e flag is provided, select the execution engine
+                    Engine selected = i + 1 < args.length ? Engine.fromName(args[i + 1]) : null;
+                    if (selected == null) {
+                        System.err.println("Error: Missing or unknown engine argument for -e flag.");
+                        printHelp();
+                        System.exit(1);
+                    }
+                    engine = selected;
+                    i++;
+                }
+                case "-s" -> {
+                    // If the -s flag is provided, set the maximum call depth and size the program stack for it
+                    int depth = i + 1 < args.length ? parseCount(args[i + 1]) : 0;
+                    if (depth <= 0) {
+                        System.err.println("Error: Missing or invalid depth argument for -s flag.");
+                        printHelp();
+                        System.exit(1);
+                    }
+                    maxCallDepth = depth;
+                    i++;
+                }
+                case "-p" -> {
+                    // If the -p flag is provided, cap the threads parallel loops run on
+                    int threads = i + 1 < args.length ? parseCount(args[i + 1]) : 0;
+                    if (threads <= 0) {
+                        System.err.println("Error: Missing or invalid thread count argument for -p flag.");
+                        printHelp();
+                        System.exit(1);
+                    }
+                    parallelism = threads;
+                    i++;
+                }
+                case "-M" -> {
+                    // If the -M flag is provided, memoize the results of pure methods
+                    Memoization selected = i + 1 < args.length ? Memoization.parse(args[i + 1]) : null;
+                    if (selected == null) {
+                        System.err.println("Error: Missing or invalid cache argument for -M flag.");
+                        printHelp();
+                        System.exit(1);
+                    }
+                    memoization = selected;
+                    i++;
+                }
+                case "-d" ->
+                    // If the -d flag is provided, print what the compiler simplified and the code of functions compiled by the vm engine
+                        isDisassembling = true;
+                case "-t" ->
+                    // If the -t flag is provided, report type errors before the program runs
+                        isTypeChecking = true;
                 case "-i" ->
                     // If the -i flag is provided, enable interactive mode
                         isInteractiveMode = true;
@@ -48,24 +121,14 @@ public class FlowInterpreter {
                 case "-c" -> {
                     // allow user to enter file name in command line
                     System.out.println("Enter file name: ");
-                    BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
-                    try {
-                        filename = reader.readLine();
-                        if (!filename.startsWith("samples")) {
-                            filename = "samples/" + filename;
-                        }
-                    } catch (IOException e) {
-                        e.printStackTrace();
+                    filename = InputSource.stdin().readLine();
+                    if (filename != null && !filename.startsWith("samples")) {
+                        filename = "samples/" + filename;
                     }
-
                 }
                 case "-m" -> {
                     // allow user to enter file name in command line
-                    try {
-                        processMultipleFilesInput();
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
+                    processMultipleFilesInput();
                 }
                 default -> {
                     // If an invalid argument is provided, print an error message and the help information and exit the program
@@ -79,6 +142,10 @@ public class FlowInterpreter {
         try {
             if (isInteractiveMode) {
                 processInteractiveInput();
+            } else if (batchPattern != null) {
+                if (!processBatch(batchPattern)) {
+                    System.exit(1);
+                }
             } else {
 
                 if (filename == null) {
@@ -93,43 +160,52 @@ public class FlowInterpreter {
         }
     }
 
+    private static int parseCount(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     private static void printHelp() {
-        System.out.println("Usage: java ArgumentParser [-f filename] [-i] [-h]");
+        System.out.println("Usage: java ArgumentParser [-f filename] [-b pattern] [-e engine] [-s depth] [-p threads] [-M size[:lru|fifo]] [-d] [-t] [-i] [-h]");
         System.out.println("-f filename\tPass a file as an argument");
+        System.out.println("-b pattern\tRun all .flow files in a directory or matching a glob, several at a time, and print a summary");
+        System.out.println("-e engine\tExecution engine: tree (default), jvm or vm");
+        System.out.println("-s depth\tMaximum call depth, the program runs with a stack large enough for it");
+        System.out.println("-p threads\tMaximum number of threads parallel loops run on, the number of processors by default");
+        System.out.println("-M size\t\tMemoize pure methods, keeping up to size results of each, evicted lru (default) or fifo");
+        System.out.println("-d\t\tPrint how the program was simplified and the disassembled code of functions compiled by the vm engine");
+        System.out.println("-t\t\tCheck the types of the program and report all type errors before it runs");
         System.out.println("-i\t\tEnable interactive mode");
         System.out.println("-h\t\tDisplay help information");
     }
 
-    private static void processInteractiveInput() throws IOException {
-        SymbolTable symbolTable = new SymbolTable();
+    private static void processInteractiveInput() {
+        // entries and the input of the programs come from the same source, so neither reads ahead of the other
+        InputSource input = InputSource.stdin();
+        ReplSession session = new ReplSession(compileOptions(), input);
 
-        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
-        String input = "";
         while (true) {
             System.out.print("> ");
-            String line = reader.readLine();
-            if (Objects.equals(line, "exit")) {
+            String line = input.readLine();
+            if (line == null || Objects.equals(line, "exit")) {
                 break;
             }
-            input += line + "\n";
             try {
-                String output = executeCode(symbolTable, CharStreams.fromString(input));
-                if (output != null) {
-                    input = "";
-                    if (!output.equals("")) {
-                        System.out.println(output);
-                    }
+                String output = session.submit(line);
+                if (output != null && !output.equals("")) {
+                    System.out.println(output);
                 }
             } catch (Exception e) {
                 e.printStackTrace();
                 System.out.println("<ERROR> " + e.getMessage());
-                input = "";
             }
         }
     }
 
-    private static void processMultipleFilesInput() throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+    private static void processMultipleFilesInput() {
         String filePath = "";
 
         System.out.println("Execute multiple files from samples folder. Enter 'exit' to exit.\n");
@@ -138,9 +214,9 @@ public class FlowInterpreter {
             System.out.println("Enter file name:");
             System.out.print("> ");
 
-            filePath = reader.readLine();
+            filePath = InputSource.stdin().readLine();
 
-            if (Objects.equals(filePath, "exit")) {
+            if (filePath == null || Objects.equals(filePath, "exit")) {
                 break;
             }
 
@@ -164,42 +240,113 @@ public class FlowInterpreter {
     }
 
 
+    /**
+     * Runs the files a directory or glob names on as many threads as {@code -p} allows, printing the output of each in
+     * file order and a summary at the end. Returns {@code false} if any of them failed.
+     */
+    private static boolean processBatch(String pattern) throws IOException {
+        List<Path> files = BatchRunner.findFiles(pattern);
+        // files compile at the same time, so their listings would be interleaved
+        BatchRunner runner = new BatchRunner(compileOptions().withDisassembly(null), maxCallDepth, parallelism);
+        long start = System.nanoTime();
+
+        List<BatchRunner.Result> results = runner.run(files, result -> {
+            System.out.println("[FILE] " + result.file());
+            System.out.println(result.output());
+            if (!result.isSuccess()) {
+                System.out.println("[ERROR] " + result.error());
+            }
+        });
+
+        System.out.print(BatchRunner.summarize(results, System.nanoTime() - start));
+
+        return results.stream().allMatch(BatchRunner.Result::isSuccess);
+    }
+
     public static void processFile(String filename) {
-        SymbolTable symbolTable = new SymbolTable();
+        OutputSink output = new WriterOutputSink(System.out);
         try {
-            String output = executeCode(symbolTable, CharStreams.fromFileName(filename));
+            FlowProgram program = Flow.compile(ProgramParser.parse(CharStreams.fromFileName(filename)), compileOptions());
+
+            if (program == null) {
+                throw new ParseCancellationException("Unexpected end of file.");
+            }
+
             System.out.println("\u001B[45m" + "[PROGRAM OUTPUT]" + "\u001B[0m");
-            System.out.println(output);
+            program.run(new ExecutionContext(output, InputSource.stdin(), maxCallDepth, parallelism));
+            System.out.println();
+            program.getMemoizedMethods().forEach(method -> System.err.println("[MEMO] " + Memoization.report(method)));
         } catch (Exception e) {
+            output.flush();
             e.printStackTrace();
             System.out.println("\n\u001B[31m" + "[ERROR] " + e.getMessage() + "\u001B[0m");
         }
     }
 
     public static String execute(String program) {
-        return executeCode(new SymbolTable(), CharStreams.fromString(program));
+        return execute(program, Engine.TREE);
     }
 
-    private static String executeCode(SymbolTable symbolTable, CharStream input) {
-        FlowLexer lexer = new FlowLexer(input);
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        FlowParser parser = new FlowParser(tokens);
+    /**
+     * Runs a program and returns its output, or {@code null} if the program is incomplete.
+     */
+    public static String execute(String program, Engine engine) {
+        StringOutputSink output = new StringOutputSink();
 
-        parser.removeErrorListeners();
-        FlowErrorListener errorListener = new FlowErrorListener();
-        parser.addErrorListener(errorListener);
+        return execute(program, engine, output) ? output.toString() : null;
+    }
 
+    /**
+     * Runs a program, writing its output to the given sink. Returns {@code false} if the program is incomplete.
+     */
+    public static boolean execute(String program, Engine engine, OutputSink output) {
+        return execute(program, engine, output, InputSource.stdin());
+    }
 
-        ParseTree tree = parser.program();
+    /**
+     * Runs a program that reads its input from the given source and writes its output to the given sink. Returns
+     * {@code false} if the program is incomplete.
+     */
+    public static boolean execute(String program, Engine engine, OutputSink output, InputSource input) {
+        return execute(program, engine, null, new ExecutionContext(output, input)) != null;
+    }
 
-        if (errorListener.isHasSyntaxError()) {
-            throw new ParseCancellationException(errorListener.getErrorMsg());
-        }
-        if (errorListener.isPartialTree()) {
-            return null;
+    /**
+     * Runs a program like {@link #execute(String, Engine, OutputSink, InputSource)}, memoizing its pure methods.
+     *
+     * @return the memoized methods, or {@code null} if the program is incomplete
+     */
+    public static List<MethodNode> execute(String program, Engine engine, OutputSink output, InputSource input,
+                                           Memoization memoization) {
+        FlowProgram compiled = execute(program, engine, memoization, new ExecutionContext(output, input));
+
+        return compiled != null ? compiled.getMemoizedMethods() : null;
+    }
+
+    /**
+     * Runs a program like {@link #execute(String, Engine, OutputSink, InputSource)}, on a thread whose stack holds
+     * {@code maxCallDepth} nested calls. Deeper calls fail with a {@link flow.interpreter.exception.FlowException}.
+     */
+    public static boolean execute(String program, Engine engine, OutputSink output, InputSource input, int maxCallDepth) {
+        return execute(program, engine, null,
+                new ExecutionContext(output, input).withMaxCallDepth(maxCallDepth)) != null;
+    }
+
+    private static FlowProgram execute(String program, Engine engine, Memoization memoization, ExecutionContext context) {
+        FlowProgram compiled = Flow.compile(ProgramParser.parse(CharStreams.fromString(program)),
+                new CompileOptions().withEngine(engine).withMemoization(memoization));
+
+        if (compiled != null) {
+            compiled.run(context);
         }
 
-        InterpreterVisitor interpreter = new InterpreterVisitor(symbolTable);
-        return (String) interpreter.visit(tree);
+        return compiled;
+    }
+
+    /**
+     * Returns the compile options selected by {@code -e}, {@code -M}, {@code -t} and {@code -d}.
+     */
+    private static CompileOptions compileOptions() {
+        return new CompileOptions(engine, memoization, isTypeChecking, isDisassembling ? System.out : null);
     }
 }
@@ -0,0 +1,83 @@
+package flow.interpreter;
+
+import flow.interpreter.node.Frame;
+import flow.interpreter.node.MethodNode;
+import flow.interpreter.node.ProgramNode;
+import flow.interpreter.scope.SymbolTable;
+
+import java.util.List;
+
+/**
+ * A compiled program. It holds no state of its runs: every run defines the globals, methods and classes of the program
+ * in a symbol table of its own, so a program can be run again and from several threads at once. Only the caches of
+ * memoized methods are shared, and they are synchronized.
+ */
+public final class FlowProgram {
+
+    private final ProgramNode node;
+    private final List<String> typeErrors;
+    private final List<MethodNode> memoized;
+
+    FlowProgram(ProgramNode node, List<String> typeErrors, List<MethodNode> memoized) {
+        this.node = node;
+        this.typeErrors = List.copyOf(typeErrors);
+        this.memoized = List.copyOf(memoized);
+    }
+
+    /**
+     * Returns the type errors found when compiling. The program runs anyway; what the checker rejected fails at runtime
+     * once it is reached.
+     */
+    public List<String> getTypeErrors() {
+        return typeErrors;
+    }
+
+    public List<MethodNode> getMemoizedMethods() {
+        return memoized;
+    }
+
+    /**
+     * Runs the program with fresh globals, reading its input from and writing its output to the context.
+     */
+    public void run(ExecutionContext context) {
+        int maxCallDepth = context.maxCallDepth() > 0 ? context.maxCallDepth() : Frame.DEFAULT_MAX_CALL_DEPTH;
+        long stackSize = context.maxCallDepth() > 0 ? Frame.stackSize(maxCallDepth) : 0;
+        Frame frame = new Frame(new SymbolTable(), context.output(), context.input(), maxCallDepth,
+                context.parallelism(), stackSize);
+
+        if (stackSize > 0) {
+            runWithStack(stackSize, () -> node.execute(frame));
+        } else {
+            node.execute(frame);
+        }
+    }
+
+    private static void runWithStack(long stackSize, Runnable task) {
+        Throwable[] failure = new Throwable[1];
+
+        Thread thread = new Thread(null, () -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "flow-program", stackSize);
+
+        thread.start();
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the program", e);
+        }
+
+        if (failure[0] instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure[0] instanceof Error e) {
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package flow.interpreter;
+
+import flow.FlowParser;
+import flow.interpreter.compiler.PurityAnalysis;
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.node.MemoCache;
+import flow.interpreter.node.MethodNode;
+import flow.interpreter.value.FlowType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Settings for memoizing pure methods: every pure method returning a value gets its own cache of up to
+ * {@code cacheSize} results, evicted by the given policy.
+ */
+public record Memoization(int cacheSize, MemoCache.Eviction eviction) {
+
+    public Memoization {
+        if (cacheSize <= 0) {
+            throw new FlowException("Memoization cache size must be positive but got " + cacheSize + ".");
+        }
+    }
+
+    /**
+     * Parses settings written as {@code size} or {@code size:policy}, like {@code 1000:fifo}. The policy defaults to
+     * LRU. Returns {@code null} if the text is not valid.
+     */
+    public static Memoization parse(String text) {
+        String[] parts = text.split(":", 2);
+        MemoCache.Eviction eviction = parts.length == 2 ? MemoCache.Eviction.fromName(parts[1]) : MemoCache.Eviction.LRU;
+
+        try {
+            int cacheSize = Integer.parseInt(parts[0]);
+
+            return cacheSize > 0 && eviction != null ? new Memoization(cacheSize, eviction) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Installs a cache on every pure method of the program that returns a value.
+     *
+     * @return the memoized methods
+     */
+    public List<MethodNode> apply(FlowParser.ProgramContext program, Function<FlowParser.MethodDeclarationContext, MethodNode> methods) {
+        List<MethodNode> memoized = new ArrayList<>();
+
+        for (FlowParser.MethodDeclarationContext ctx : PurityAnalysis.analyze(program)) {
+            MethodNode method = methods.apply(ctx);
+
+            if (method != null && method.getReturnType() != FlowType.UNIT) {
+                method.setMemoCache(new MemoCache(cacheSize, eviction));
+                memoized.add(method);
+            }
+        }
+
+        return memoized;
+    }
+
+    /**
+     * Describes how well the cache of a memoized method did.
+     */
+    public static String report(MethodNode method) {
+        MemoCache cache = method.getMemoCache();
+
+        return String.format("`%s`: %d results, %.1f%% hits, %d evictions (capacity %d, %s)", method.getMethodName(),
+                cache.size(), cache.getHitRate() * 100, cache.getEvictions(), cache.getCapacity(), cache.getEviction());
+    }
+}
@@ -0,0 +1,70 @@
+package flow.interpreter;
+
+import flow.FlowLexer;
+import flow.FlowParser;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+/**
+ * Parses programs with a lexer and parser kept per thread, so executions share their setup and the warmed prediction
+ * caches. Programs are first parsed in the faster SLL mode, which gives up at the first error; only programs it fails
+ * on are parsed again in full LL mode, which reports syntax errors as before.
+ */
+public class ProgramParser {
+
+    private static final ThreadLocal<ProgramParser> INSTANCE = ThreadLocal.withInitial(ProgramParser::new);
+
+    private final FlowLexer lexer = new FlowLexer(null);
+    private final FlowParser parser = new FlowParser(null);
+
+    private ProgramParser() {
+    }
+
+    /**
+     * Returns the parse tree of the program, or {@code null} if the program is incomplete.
+     *
+     * @throws ParseCancellationException if the program has a syntax error
+     */
+    public static FlowParser.ProgramContext parse(CharStream input) {
+        return INSTANCE.get().parseProgram(input);
+    }
+
+    private FlowParser.ProgramContext parseProgram(CharStream input) {
+        lexer.setInputStream(input);
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        parser.setTokenStream(tokens);
+
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+
+        try {
+            return parser.program();
+        } catch (ParseCancellationException e) {
+            // either a syntax error or a program SLL cannot decide, both are settled by the LL pass
+        }
+
+        tokens.seek(0);
+        parser.reset();
+
+        FlowErrorListener errorListener = new FlowErrorListener();
+        parser.addErrorListener(errorListener);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+
+        FlowParser.ProgramContext tree = parser.program();
+
+        if (errorListener.isHasSyntaxError()) {
+            throw new ParseCancellationException(errorListener.getErrorMsg());
+        }
+        if (errorListener.isPartialTree()) {
+            return null;
+        }
+
+        return tree;
+    }
+}
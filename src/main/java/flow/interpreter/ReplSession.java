@@ -0,0 +1,101 @@
+package flow.interpreter;
+
+import flow.FlowLexer;
+import flow.FlowParser;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.node.Frame;
+import flow.interpreter.output.StringOutputSink;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.visitor.CompilerVisitor;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+
+/**
+ * Interactive session. Lines are collected into an entry until it is complete, then only that entry is parsed and run
+ * against the symbol table of the session, so variables, methods and classes of earlier entries stay available and
+ * the cost of an entry does not grow with the length of the session.
+ */
+public class ReplSession {
+
+    private final CompileOptions options;
+    private final InputSource input;
+    private final SymbolTable symbolTable = new SymbolTable();
+    // an entry may redeclare what earlier entries declared, so types are only checked when it runs
+    private final CompilerVisitor compiler = new CompilerVisitor(false);
+    private final FlowLexer lexer = new FlowLexer(null);
+    private final StringBuilder entry = new StringBuilder();
+
+    public ReplSession(Engine engine) {
+        this(engine, InputSource.stdin());
+    }
+
+    /**
+     * Creates a session whose programs read their input from the given source.
+     */
+    public ReplSession(Engine engine, InputSource input) {
+        this(new CompileOptions().withEngine(engine), input);
+    }
+
+    /**
+     * Creates a session that compiles its entries with the given options. Memoization does not apply to entries.
+     */
+    public ReplSession(CompileOptions options, InputSource input) {
+        this.options = options;
+        this.input = input;
+        this.lexer.removeErrorListeners();
+    }
+
+    /**
+     * Adds a line to the current entry and runs the entry once it is complete.
+     *
+     * @return the output of the entry, or {@code null} if the entry needs more lines
+     */
+    public String submit(String line) {
+        if (entry.isEmpty() && line.isBlank()) {
+            return null;
+        }
+
+        entry.append(line).append("\n");
+
+        // an entry with unclosed braces or parentheses cannot be complete, so it is not parsed yet
+        if (hasUnclosedBrackets()) {
+            return null;
+        }
+
+        try {
+            FlowParser.ProgramContext tree = ProgramParser.parse(CharStreams.fromString(entry.toString()));
+
+            if (tree == null) {
+                return null;
+            }
+
+            entry.setLength(0);
+
+            StringOutputSink output = new StringOutputSink();
+            Flow.compile(tree, compiler, options).execute(new Frame(symbolTable, output, input));
+
+            return output.toString();
+        } catch (RuntimeException e) {
+            entry.setLength(0);
+            throw e;
+        }
+    }
+
+    private boolean hasUnclosedBrackets() {
+        lexer.setInputStream(CharStreams.fromString(entry.toString()));
+
+        int braces = 0;
+        int parentheses = 0;
+
+        for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+            switch (token.getType()) {
+                case FlowLexer.LBRACE -> braces++;
+                case FlowLexer.RBRACE -> braces--;
+                case FlowLexer.LPAREN -> parentheses++;
+                case FlowLexer.RPAREN -> parentheses--;
+            }
+        }
+
+        return braces > 0 || parentheses > 0;
+    }
+}
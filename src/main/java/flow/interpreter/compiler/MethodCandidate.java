@@ -0,0 +1,89 @@
+package flow.interpreter.compiler;
+
+import flow.FlowParser;
+import flow.interpreter.node.MethodNode;
+
+import java.util.Set;
+
+/**
+ * A method whose signature only uses primitive types, so it may be handed over to a compiling engine.
+ */
+public class MethodCandidate {
+
+    private final FlowParser.MethodDeclarationContext context;
+    private final MethodNode method;
+    private final String owner;
+    private final int order;
+    private final String[] paramNames;
+    private final PrimitiveType[] paramTypes;
+    private final PrimitiveType returnType;
+    private final Set<String> outsideNames;
+
+    public MethodCandidate(FlowParser.MethodDeclarationContext context, MethodNode method, String owner, int order,
+                           String[] paramNames, PrimitiveType[] paramTypes, PrimitiveType returnType, Set<String> outsideNames) {
+        this.context = context;
+        this.method = method;
+        this.owner = owner;
+        this.order = order;
+        this.paramNames = paramNames;
+        this.paramTypes = paramTypes;
+        this.returnType = returnType;
+        this.outsideNames = outsideNames;
+    }
+
+    public FlowParser.MethodDeclarationContext getContext() {
+        return context;
+    }
+
+    public MethodNode getMethod() {
+        return method;
+    }
+
+    public String getMethodName() {
+        return context.ID().getText();
+    }
+
+    /**
+     * Class name for class methods, {@code null} for global methods.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public String[] getParamNames() {
+        return paramNames;
+    }
+
+    public PrimitiveType[] getParamTypes() {
+        return paramTypes;
+    }
+
+    public PrimitiveType getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * Names declared anywhere outside this method. Declaring a local with one of these names may fail at runtime
+     * with "already declared", depending on what is in scope when the method is called.
+     */
+    public boolean isDeclaredOutside(String name) {
+        return outsideNames.contains(name);
+    }
+
+    /**
+     * Returns the JVM descriptor of the compiled method, which takes the number of calls it may still nest as its last
+     * argument.
+     */
+    public String getDescriptor() {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (PrimitiveType paramType : paramTypes) {
+            descriptor.append(paramType.getDescriptor());
+        }
+
+        return descriptor.append("I)").append(returnType.getDescriptor()).toString();
+    }
+}
@@ -0,0 +1,174 @@
+package flow.interpreter.compiler;
+
+import flow.FlowParser;
+import flow.interpreter.node.MethodNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Collects the methods of a program that compiling engines may take over, and answers which of them a compiled
+ * call site can link to directly without changing the interpreter's lookup semantics.
+ */
+public class MethodCandidates {
+
+    private final List<MethodCandidate> candidates = new ArrayList<>();
+    private final Set<MethodCandidate> active = new LinkedHashSet<>();
+
+    private MethodCandidates() {
+    }
+
+    public static MethodCandidates collect(FlowParser.ProgramContext program, Function<FlowParser.MethodDeclarationContext, MethodNode> methods) {
+        MethodCandidates result = new MethodCandidates();
+
+        Map<String, List<FlowParser.MethodDeclarationContext>> declaredNames = new HashMap<>();
+        collectDeclaredNames(program, null, declaredNames);
+
+        Map<String, Integer> globalMethodCount = new HashMap<>();
+        Map<String, Integer> classCount = new HashMap<>();
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            if (statement.methodDeclaration() != null) {
+                globalMethodCount.merge(statement.methodDeclaration().ID().getText(), 1, Integer::sum);
+            } else if (statement.classDeclaration() != null) {
+                classCount.merge(statement.classDeclaration().ID().getText(), 1, Integer::sum);
+            }
+        }
+
+        int order = 0;
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            order++;
+
+            // redeclared methods and classes are resolved at runtime, so they are never linked statically
+            if (statement.methodDeclaration() != null) {
+                FlowParser.MethodDeclarationContext ctx = statement.methodDeclaration();
+
+                if (globalMethodCount.get(ctx.ID().getText()) == 1) {
+                    result.add(ctx, methods.apply(ctx), null, order, declaredNames);
+                }
+            } else if (statement.classDeclaration() != null) {
+                FlowParser.ClassDeclarationContext classCtx = statement.classDeclaration();
+                String className = classCtx.ID().getText();
+
+                if (classCount.get(className) != 1) {
+                    continue;
+                }
+
+                Set<String> methodNames = new HashSet<>();
+                for (FlowParser.ClassMemberContext member : classCtx.classMember()) {
+                    FlowParser.MethodDeclarationContext ctx = member.methodDeclaration();
+
+                    // only the first method with a given name is ever called
+                    if (ctx != null && methodNames.add(ctx.ID().getText())) {
+                        result.add(ctx, methods.apply(ctx), className, order, declaredNames);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void add(FlowParser.MethodDeclarationContext ctx, MethodNode method, String owner, int order,
+                     Map<String, List<FlowParser.MethodDeclarationContext>> declaredNames) {
+        PrimitiveType returnType = ctx.TYPE() != null ? PrimitiveType.fromFlowName(ctx.TYPE().getText()) : null;
+
+        // compiled methods call each other directly, past the cache of a memoized method
+        if (returnType == null || method.getMemoCache() != null) {
+            return;
+        }
+
+        List<TerminalNode> ids = ctx.methodParams() != null ? ctx.methodParams().ID() : List.of();
+        List<TerminalNode> types = ctx.methodParams() != null ? ctx.methodParams().TYPE() : List.of();
+
+        String[] paramNames = new String[ids.size()];
+        PrimitiveType[] paramTypes = new PrimitiveType[ids.size()];
+
+        for (int i = 0; i < ids.size(); i++) {
+            paramNames[i] = ids.get(i).getText();
+            paramTypes[i] = PrimitiveType.fromFlowName(types.get(i).getText());
+
+            if (paramTypes[i] == null) {
+                return;
+            }
+        }
+
+        if (new HashSet<>(Arrays.asList(paramNames)).size() != paramNames.length) {
+            return;
+        }
+
+        Set<String> outsideNames = new HashSet<>();
+        declaredNames.forEach((name, declaringMethods) -> {
+            for (FlowParser.MethodDeclarationContext declaringMethod : declaringMethods) {
+                if (declaringMethod != ctx) {
+                    outsideNames.add(name);
+                    break;
+                }
+            }
+        });
+
+        MethodCandidate candidate = new MethodCandidate(ctx, method, owner, order, paramNames, paramTypes, returnType, outsideNames);
+        candidates.add(candidate);
+        active.add(candidate);
+    }
+
+    private static void collectDeclaredNames(ParseTree tree, FlowParser.MethodDeclarationContext method,
+                                             Map<String, List<FlowParser.MethodDeclarationContext>> declaredNames) {
+        if (tree instanceof FlowParser.MethodDeclarationContext ctx) {
+            method = ctx;
+        }
+
+        List<TerminalNode> names = List.of();
+
+        if (tree instanceof FlowParser.VariableDeclarationContext ctx) {
+            names = List.of(ctx.ID());
+        } else if (tree instanceof FlowParser.ObjectDeclarationContext ctx) {
+            names = List.of(ctx.ID(0));
+        } else if (tree instanceof FlowParser.MethodParamsContext ctx) {
+            names = ctx.ID();
+        } else if (tree instanceof FlowParser.ForStatementContext ctx) {
+            names = List.of(ctx.ID());
+        } else if (tree instanceof FlowParser.TryStatementContext ctx && ctx.ID() != null) {
+            names = List.of(ctx.ID());
+        }
+
+        for (TerminalNode name : names) {
+            declaredNames.computeIfAbsent(name.getText(), key -> new ArrayList<>()).add(method);
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            collectDeclaredNames(tree.getChild(i), method, declaredNames);
+        }
+    }
+
+    /**
+     * Candidates that have not been rejected yet.
+     */
+    public Collection<MethodCandidate> getActive() {
+        return active;
+    }
+
+    public void reject(MethodCandidate candidate) {
+        active.remove(candidate);
+    }
+
+    /**
+     * Resolves an unqualified call made from a compiled method to another active candidate. Class methods call
+     * methods of their own class; global methods call themselves or global methods declared before them, which are
+     * guaranteed to be defined by the time the caller runs.
+     */
+    public MethodCandidate resolveCall(MethodCandidate caller, String methodName) {
+        for (MethodCandidate candidate : active) {
+            if (!candidate.getMethodName().equals(methodName) || !Objects.equals(candidate.getOwner(), caller.getOwner())) {
+                continue;
+            }
+
+            if (caller.getOwner() != null || candidate.getOrder() <= caller.getOrder()) {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,424 @@
+package flow.interpreter.compiler;
+
+import flow.FlowParser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.*;
+
+/**
+ * Finds what the body of a {@code parallel for} loop may do to state its tasks share. Tasks may read anything, but
+ * may only write variables and objects they declare themselves: assigning a variable declared outside of the loop,
+ * writing a field of an object declared outside of it, creating such an object again, making a variable of the task
+ * refer to such an object, writing files and reading console input all make the loop unsafe. Calls are followed into
+ * global methods, class methods and constructors, where writes to the fields of the called object count as writes
+ * to that object.
+ * <p>
+ * The analysis is conservative: a call it cannot resolve statically, like a call of a redeclared method or of a
+ * method of a redeclared class, is reported as unsafe.
+ */
+public class ParallelSafety {
+
+    private record ClassInfo(FlowParser.ClassDeclarationContext context, Set<String> fields,
+                             Map<String, FlowParser.MethodDeclarationContext> methods) {
+    }
+
+    /**
+     * Where code runs: the class whose methods unqualified calls resolve to, and whether the object those calls run on
+     * belongs to the task.
+     */
+    private record Context(ClassInfo owner, boolean isReceiverLocal) {
+    }
+
+    private record Call(ParserRuleContext target, boolean isReceiverLocal) {
+    }
+
+    private final Map<String, FlowParser.MethodDeclarationContext> globalMethods = new HashMap<>();
+    private final Map<String, ClassInfo> classes = new HashMap<>();
+    // classes declaring a method of the given name, including redeclared ones
+    private final Map<String, List<FlowParser.ClassDeclarationContext>> declaringClasses = new HashMap<>();
+    private final Set<String> objectNames = new HashSet<>();
+    private final Map<Call, Optional<String>> calls = new HashMap<>();
+
+    private ParallelSafety() {
+    }
+
+    public static ParallelSafety analyze(FlowParser.ProgramContext program) {
+        ParallelSafety safety = new ParallelSafety();
+        safety.collect(program);
+
+        return safety;
+    }
+
+    /**
+     * Returns why the body of the loop is not safe to run in parallel, or {@code null} if it is.
+     */
+    public String findSharedWrite(FlowParser.ForStatementContext loop) {
+        ParseTree parent = loop.getParent();
+
+        while (parent != null && !(parent instanceof FlowParser.ClassDeclarationContext)) {
+            parent = parent.getParent();
+        }
+
+        ClassInfo owner = null;
+
+        // a loop in a class runs on an object every task reaches
+        if (parent != null) {
+            String className = ((FlowParser.ClassDeclarationContext) parent).ID().getText();
+            owner = classes.get(className);
+
+            if (owner == null) {
+                return describe(loop, "runs in class `" + className + "`, which is not declared once,");
+            }
+        }
+
+        Deque<Set<String>> locals = new ArrayDeque<>();
+        locals.push(new HashSet<>(Set.of(loop.ID().getText())));
+
+        return find(loop.controlStructureBody(), locals, new Context(owner, false));
+    }
+
+    private void collect(FlowParser.ProgramContext program) {
+        Map<String, Integer> globalMethodCount = new HashMap<>();
+        Map<String, Integer> classCount = new HashMap<>();
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            if (statement.methodDeclaration() != null) {
+                globalMethodCount.merge(statement.methodDeclaration().ID().getText(), 1, Integer::sum);
+            } else if (statement.classDeclaration() != null) {
+                classCount.merge(statement.classDeclaration().ID().getText(), 1, Integer::sum);
+            }
+        }
+
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            if (statement.methodDeclaration() != null) {
+                FlowParser.MethodDeclarationContext ctx = statement.methodDeclaration();
+
+                // a redeclared method is resolved at runtime, so calls to it cannot be followed
+                if (globalMethodCount.get(ctx.ID().getText()) == 1) {
+                    globalMethods.put(ctx.ID().getText(), ctx);
+                }
+            } else if (statement.classDeclaration() != null) {
+                FlowParser.ClassDeclarationContext ctx = statement.classDeclaration();
+                ClassInfo classInfo = collectClass(ctx);
+
+                if (classCount.get(ctx.ID().getText()) == 1) {
+                    classes.put(ctx.ID().getText(), classInfo);
+                }
+
+                classInfo.methods().keySet().forEach(name ->
+                        declaringClasses.computeIfAbsent(name, key -> new ArrayList<>()).add(ctx));
+            }
+        }
+
+        collectObjectNames(program);
+    }
+
+    private static ClassInfo collectClass(FlowParser.ClassDeclarationContext ctx) {
+        Set<String> fields = new HashSet<>();
+        Map<String, FlowParser.MethodDeclarationContext> methods = new HashMap<>();
+
+        for (FlowParser.ClassMemberContext member : ctx.classMember()) {
+            if (member.methodDeclaration() != null) {
+                // only the first method with a given name is ever called
+                methods.putIfAbsent(member.methodDeclaration().ID().getText(), member.methodDeclaration());
+            } else if (member.declaration() != null && member.declaration().variableDeclaration() != null) {
+                fields.add(member.declaration().variableDeclaration().ID().getText());
+            } else if (member.declaration() != null) {
+                fields.add(member.declaration().objectDeclaration().ID(0).getText());
+            }
+        }
+
+        return new ClassInfo(ctx, fields, methods);
+    }
+
+    private void collectObjectNames(ParseTree tree) {
+        if (tree instanceof FlowParser.ObjectDeclarationContext ctx) {
+            objectNames.add(ctx.ID(0).getText());
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            collectObjectNames(tree.getChild(i));
+        }
+    }
+
+    private static boolean isLocal(String name, Deque<Set<String>> locals) {
+        for (Set<String> scope : locals) {
+            if (scope.contains(name)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether writing the named variable or object stays within the task: it is declared by the task, or it is
+     * a field of an object the task created.
+     */
+    private static boolean isTaskOwned(String name, Deque<Set<String>> locals, Context context) {
+        return isLocal(name, locals)
+                || (context.isReceiverLocal() && context.owner() != null && context.owner().fields().contains(name));
+    }
+
+    private static String describeShared(String name, Context context) {
+        if (context.owner() != null && context.owner().fields().contains(name)) {
+            return "`" + name + "`, a field of an object declared outside of the loop,";
+        }
+
+        return "`" + name + "`, which is declared outside of the loop,";
+    }
+
+    private static String describe(ParserRuleContext ctx, String effect) {
+        return effect + " at line " + ctx.getStart().getLine();
+    }
+
+    private String find(ParseTree tree, Deque<Set<String>> locals, Context context) {
+        if (tree instanceof FlowParser.ControlStructureBodyContext ctx) {
+            locals.push(new HashSet<>());
+            String found = findInChildren(ctx, locals, context);
+            locals.pop();
+
+            return found;
+        }
+
+        if (tree instanceof FlowParser.ForStatementContext ctx) {
+            String found = find(ctx.expression(), locals, context);
+
+            if (found == null) {
+                locals.push(new HashSet<>(Set.of(ctx.ID().getText())));
+                found = find(ctx.controlStructureBody(), locals, context);
+                locals.pop();
+            }
+
+            return found;
+        }
+
+        if (tree instanceof FlowParser.TryStatementContext ctx) {
+            String found = find(ctx.controlStructureBody(0), locals, context);
+
+            if (found == null && ctx.controlStructureBody().size() > 1) {
+                locals.push(new HashSet<>(Set.of(ctx.ID().getText())));
+                found = find(ctx.controlStructureBody(1), locals, context);
+                locals.pop();
+            }
+
+            return found;
+        }
+
+        if (tree instanceof FlowParser.VariableDeclarationContext ctx) {
+            String found = findInChildren(ctx, locals, context);
+
+            if (found == null) {
+                found = findSharedAlias(ctx.ID().getText(), ctx.expression(), locals);
+            }
+
+            locals.peek().add(ctx.ID().getText());
+
+            return found;
+        }
+
+        if (tree instanceof FlowParser.VariableAssignmentContext ctx) {
+            String name = ctx.ID().getText();
+
+            if (!isTaskOwned(name, locals, context)) {
+                return describe(ctx, "assigns " + describeShared(name, context));
+            }
+
+            String found = find(ctx.expression(), locals, context);
+
+            return found != null ? found : findSharedAlias(name, ctx.expression(), locals);
+        }
+
+        if (tree instanceof FlowParser.ClassObjectVariableSetterContext ctx) {
+            String objectName = ctx.ID(0).getText();
+
+            if (!isTaskOwned(objectName, locals, context)) {
+                return describe(ctx, "writes field `" + ctx.ID(1).getText() + "` of `" + objectName
+                        + "`, which is declared outside of the loop,");
+            }
+
+            return find(ctx.expression(), locals, context);
+        }
+
+        if (tree instanceof FlowParser.ObjectDeclarationContext ctx) {
+            return findInObjectDeclaration(ctx, locals, context);
+        }
+
+        if (tree instanceof FlowParser.WriteFileStatementContext ctx) {
+            return describe(ctx, "writes a file");
+        }
+
+        if (tree instanceof FlowParser.ReadConsoleStatementContext
+                || tree instanceof FlowParser.ReadLineConsoleStatementContext) {
+            return describe((ParserRuleContext) tree, "reads console input");
+        }
+
+        if (tree instanceof FlowParser.MethodInvocationContext ctx) {
+            String found = findInChildren(ctx, locals, context);
+
+            return found != null ? found : findInCall(ctx, locals, context);
+        }
+
+        return findInChildren(tree, locals, context);
+    }
+
+    private String findInChildren(ParseTree tree, Deque<Set<String>> locals, Context context) {
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            String found = find(tree.getChild(i), locals, context);
+
+            if (found != null) {
+                return found;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Assigning an object to a variable makes the variable refer to the object, so a task could write it through the
+     * variable.
+     */
+    private String findSharedAlias(String name, FlowParser.ExpressionContext expression, Deque<Set<String>> locals) {
+        if (expression instanceof FlowParser.IdExpressionContext id
+                && objectNames.contains(id.ID().getText())
+                && !isLocal(id.ID().getText(), locals)) {
+            return describe(id, "makes `" + name + "` refer to `" + id.ID().getText()
+                    + "`, which is declared outside of the loop,");
+        }
+
+        return null;
+    }
+
+    private String findInObjectDeclaration(FlowParser.ObjectDeclarationContext ctx, Deque<Set<String>> locals,
+                                           Context context) {
+        String name = ctx.ID(0).getText();
+
+        if (ctx.VARIABLE() == null && !isTaskOwned(name, locals, context)) {
+            return describe(ctx, "creates " + describeShared(name, context));
+        }
+
+        String found = findInChildren(ctx, locals, context);
+
+        if (found != null) {
+            return found;
+        }
+
+        ClassInfo classInfo = classes.get(ctx.ID(1).getText());
+
+        if (classInfo == null) {
+            return describe(ctx, "creates an object of class `" + ctx.ID(1).getText() + "`, which is not declared once,");
+        }
+
+        found = findInCall(new Call(classInfo.context(), true));
+
+        if (ctx.VARIABLE() != null) {
+            locals.peek().add(name);
+        }
+
+        return found;
+    }
+
+    private String findInCall(FlowParser.MethodInvocationContext ctx, Deque<Set<String>> locals, Context context) {
+        String methodName = ctx.ID(ctx.ID().size() - 1).getText();
+
+        if (ctx.DOT() != null) {
+            String objectName = ctx.ID(0).getText();
+            boolean isReceiverLocal = isTaskOwned(objectName, locals, context);
+
+            // the class of the object is only known at runtime, so every method the call may run is checked
+            for (FlowParser.ClassDeclarationContext classCtx : declaringClasses.getOrDefault(methodName, List.of())) {
+                if (!classes.containsKey(classCtx.ID().getText())) {
+                    return describe(ctx, "calls `" + methodName + "` of class `" + classCtx.ID().getText()
+                            + "`, which is not declared once,");
+                }
+
+                FlowParser.MethodDeclarationContext method = classes.get(classCtx.ID().getText()).methods().get(methodName);
+                String found = method != null ? findInCall(new Call(method, isReceiverLocal)) : null;
+
+                if (found != null) {
+                    return found;
+                }
+            }
+
+            return null;
+        }
+
+        if (context.owner() != null) {
+            FlowParser.MethodDeclarationContext method = context.owner().methods().get(methodName);
+
+            return method != null ? findInCall(new Call(method, context.isReceiverLocal())) : null;
+        }
+
+        FlowParser.MethodDeclarationContext method = globalMethods.get(methodName);
+
+        if (method == null) {
+            return describe(ctx, "calls `" + methodName + "`, which is not declared once,");
+        }
+
+        return findInCall(new Call(method, false));
+    }
+
+    /**
+     * Checks a method, or for a class the field initializers and constructors an object creation runs. Recursive
+     * calls are assumed safe while their target is being checked, as they add nothing the target does not already do.
+     */
+    private String findInCall(Call call) {
+        Optional<String> known = calls.get(call);
+
+        if (known != null) {
+            return known.orElse(null);
+        }
+
+        calls.put(call, Optional.empty());
+
+        String found;
+        Deque<Set<String>> locals = new ArrayDeque<>();
+        locals.push(new HashSet<>());
+
+        if (call.target() instanceof FlowParser.MethodDeclarationContext method) {
+            if (method.methodParams() != null) {
+                method.methodParams().ID().forEach(id -> locals.peek().add(id.getText()));
+            }
+
+            ClassInfo owner = method.getParent() instanceof FlowParser.ClassMemberContext member
+                    ? classes.get(((FlowParser.ClassDeclarationContext) member.getParent()).ID().getText())
+                    : null;
+
+            found = find(method.methodStructureBody(), locals, new Context(owner, call.isReceiverLocal()));
+        } else {
+            found = findInClassBody((FlowParser.ClassDeclarationContext) call.target(), locals);
+        }
+
+        calls.put(call, Optional.ofNullable(found));
+
+        return found;
+    }
+
+    private String findInClassBody(FlowParser.ClassDeclarationContext ctx, Deque<Set<String>> locals) {
+        Context context = new Context(classes.get(ctx.ID().getText()), true);
+
+        for (FlowParser.ClassMemberContext member : ctx.classMember()) {
+            String found = null;
+
+            if (member.declaration() != null) {
+                found = find(member.declaration(), locals, context);
+            } else if (member.classConstructor() != null) {
+                FlowParser.ClassConstructorContext constructor = member.classConstructor();
+                Deque<Set<String>> params = new ArrayDeque<>();
+                params.push(new HashSet<>());
+
+                if (constructor.methodParams() != null) {
+                    constructor.methodParams().ID().forEach(id -> params.peek().add(id.getText()));
+                }
+
+                found = find(constructor.controlStructureBody(), params, context);
+            }
+
+            if (found != null) {
+                return found;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,42 @@
+package flow.interpreter.compiler;
+
+/**
+ * Flow types that have a primitive representation, both in compiled code and in {@link flow.interpreter.scope.Symbol}
+ * storage.
+ */
+public enum PrimitiveType {
+    INT("Int", "I"),
+    DOUBLE("Double", "D"),
+    BOOLEAN("Boolean", "Z"),
+    CHAR("Char", "C");
+
+    private final String flowName;
+    private final String descriptor;
+
+    PrimitiveType(String flowName, String descriptor) {
+        this.flowName = flowName;
+        this.descriptor = descriptor;
+    }
+
+    public String getFlowName() {
+        return flowName;
+    }
+
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    public boolean isWide() {
+        return this == DOUBLE;
+    }
+
+    public static PrimitiveType fromFlowName(String flowName) {
+        for (PrimitiveType type : values()) {
+            if (type.flowName.equals(flowName)) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
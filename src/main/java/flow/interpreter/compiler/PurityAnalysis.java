@@ -0,0 +1,234 @@
+package flow.interpreter.compiler;
+
+import flow.FlowParser;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.*;
+
+/**
+ * Finds the methods of a program whose result depends only on their arguments. A method is pure if its body reads and
+ * writes only its own parameters and locals, does no input or output, creates no objects, touches no object fields
+ * and calls only pure methods. Calls are followed through global methods and through the methods of the caller's own
+ * class, so mutually recursive methods are pure together.
+ * <p>
+ * The analysis is conservative: anything it cannot resolve statically, like a call on an object, a redeclared method
+ * or class, or a local whose declaration may clash with a name declared outside the method, makes the method impure.
+ */
+public class PurityAnalysis {
+
+    private record Method(FlowParser.MethodDeclarationContext context, String owner, Set<String> callees) {
+    }
+
+    private final Map<FlowParser.MethodDeclarationContext, Method> methods = new LinkedHashMap<>();
+    private final Map<String, Method> globalMethods = new HashMap<>();
+    private final Map<String, Map<String, Method>> classMethods = new HashMap<>();
+
+    private PurityAnalysis() {
+    }
+
+    /**
+     * Returns the pure global and class methods of the program.
+     */
+    public static Set<FlowParser.MethodDeclarationContext> analyze(FlowParser.ProgramContext program) {
+        PurityAnalysis analysis = new PurityAnalysis();
+        analysis.collect(program);
+
+        return analysis.findPure();
+    }
+
+    private void collect(FlowParser.ProgramContext program) {
+        Map<String, Integer> globalMethodCount = new HashMap<>();
+        Map<String, Integer> classCount = new HashMap<>();
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            if (statement.methodDeclaration() != null) {
+                globalMethodCount.merge(statement.methodDeclaration().ID().getText(), 1, Integer::sum);
+            } else if (statement.classDeclaration() != null) {
+                classCount.merge(statement.classDeclaration().ID().getText(), 1, Integer::sum);
+            }
+        }
+
+        Map<String, Set<FlowParser.MethodDeclarationContext>> declaringMethods = new HashMap<>();
+        Set<String> globalNames = new HashSet<>();
+        collectDeclaredNames(program, null, false, declaringMethods, globalNames);
+
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            if (statement.methodDeclaration() != null) {
+                FlowParser.MethodDeclarationContext ctx = statement.methodDeclaration();
+
+                // a redeclared method is resolved at runtime, so calls to it cannot be followed; a declaration in a
+                // global method is checked against the global scope when it runs
+                if (globalMethodCount.get(ctx.ID().getText()) == 1) {
+                    add(ctx, null, globalNames, globalMethods);
+                }
+            } else if (statement.classDeclaration() != null) {
+                FlowParser.ClassDeclarationContext classCtx = statement.classDeclaration();
+                String className = classCtx.ID().getText();
+
+                if (classCount.get(className) != 1) {
+                    continue;
+                }
+
+                Map<String, Method> methodsOfClass = classMethods.computeIfAbsent(className, key -> new HashMap<>());
+                for (FlowParser.ClassMemberContext member : classCtx.classMember()) {
+                    FlowParser.MethodDeclarationContext ctx = member.methodDeclaration();
+
+                    // only the first method with a given name is ever called; a declaration in a class method is
+                    // checked against the scope the object was created in, which may be any scope of the program
+                    if (ctx != null && !methodsOfClass.containsKey(ctx.ID().getText())) {
+                        add(ctx, className, outsideNames(ctx, declaringMethods), methodsOfClass);
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(FlowParser.MethodDeclarationContext ctx, String owner, Set<String> outsideNames,
+                     Map<String, Method> byName) {
+        Set<String> declared = new HashSet<>();
+        collectLocals(ctx.methodStructureBody(), declared);
+
+        Set<String> locals = new HashSet<>(declared);
+        if (ctx.methodParams() != null) {
+            ctx.methodParams().ID().forEach(id -> locals.add(id.getText()));
+        }
+
+        Method method = new Method(ctx, owner, new HashSet<>());
+        byName.put(ctx.ID().getText(), method);
+
+        // parameters are defined without checking for clashes, declared locals are checked when they run
+        boolean isClashing = declared.stream().anyMatch(outsideNames::contains);
+
+        if (!isClashing && isPureBody(ctx.methodStructureBody(), locals, method.callees())) {
+            methods.put(ctx, method);
+        }
+    }
+
+    /**
+     * Drops methods calling a method that is not pure until only methods calling each other remain.
+     */
+    private Set<FlowParser.MethodDeclarationContext> findPure() {
+        boolean isChanged = true;
+
+        while (isChanged) {
+            isChanged = false;
+
+            for (Iterator<Method> iterator = methods.values().iterator(); iterator.hasNext(); ) {
+                Method method = iterator.next();
+
+                for (String callee : method.callees()) {
+                    Method target = method.owner() == null
+                            ? globalMethods.get(callee)
+                            : classMethods.get(method.owner()).get(callee);
+
+                    if (target == null || !methods.containsKey(target.context())) {
+                        iterator.remove();
+                        isChanged = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return new LinkedHashSet<>(methods.keySet());
+    }
+
+    private static boolean isPureBody(ParseTree tree, Set<String> locals, Set<String> callees) {
+        if (tree instanceof FlowParser.IOStatementContext
+                || tree instanceof FlowParser.ObjectDeclarationContext
+                || tree instanceof FlowParser.ClassObjectVariableGetterContext
+                || tree instanceof FlowParser.ClassObjectVariableSetterContext) {
+            return false;
+        }
+
+        if (tree instanceof FlowParser.IdExpressionContext ctx && !locals.contains(ctx.ID().getText())) {
+            return false;
+        }
+
+        if (tree instanceof FlowParser.VariableAssignmentContext ctx && !locals.contains(ctx.ID().getText())) {
+            return false;
+        }
+
+        if (tree instanceof FlowParser.MethodInvocationContext ctx) {
+            // a call on a named object depends on that object
+            if (ctx.DOT() != null) {
+                return false;
+            }
+
+            callees.add(ctx.ID(0).getText());
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (!isPureBody(tree.getChild(i), locals, callees)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void collectLocals(ParseTree tree, Set<String> locals) {
+        for (TerminalNode name : declaredNames(tree)) {
+            locals.add(name.getText());
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            collectLocals(tree.getChild(i), locals);
+        }
+    }
+
+    /**
+     * Records for every declared name the methods declaring it, {@code null} standing for declarations outside of
+     * methods, and collects the names declared by global statements.
+     */
+    private static void collectDeclaredNames(ParseTree tree, FlowParser.MethodDeclarationContext method, boolean isInClass,
+                                             Map<String, Set<FlowParser.MethodDeclarationContext>> declaringMethods,
+                                             Set<String> globalNames) {
+        if (tree instanceof FlowParser.MethodDeclarationContext ctx) {
+            method = ctx;
+        } else if (tree instanceof FlowParser.ClassDeclarationContext) {
+            isInClass = true;
+        }
+
+        for (TerminalNode name : declaredNames(tree)) {
+            declaringMethods.computeIfAbsent(name.getText(), key -> new HashSet<>()).add(method);
+
+            if (method == null && !isInClass) {
+                globalNames.add(name.getText());
+            }
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            collectDeclaredNames(tree.getChild(i), method, isInClass, declaringMethods, globalNames);
+        }
+    }
+
+    private static Set<String> outsideNames(FlowParser.MethodDeclarationContext method,
+                                            Map<String, Set<FlowParser.MethodDeclarationContext>> declaringMethods) {
+        Set<String> names = new HashSet<>();
+
+        declaringMethods.forEach((name, declaring) -> {
+            if (declaring.size() > 1 || !declaring.contains(method)) {
+                names.add(name);
+            }
+        });
+
+        return names;
+    }
+
+    private static List<TerminalNode> declaredNames(ParseTree tree) {
+        if (tree instanceof FlowParser.VariableDeclarationContext ctx) {
+            return List.of(ctx.ID());
+        } else if (tree instanceof FlowParser.ObjectDeclarationContext ctx) {
+            return List.of(ctx.ID(0));
+        } else if (tree instanceof FlowParser.MethodParamsContext ctx) {
+            return ctx.ID();
+        } else if (tree instanceof FlowParser.ForStatementContext ctx) {
+            return List.of(ctx.ID());
+        } else if (tree instanceof FlowParser.TryStatementContext ctx && ctx.ID() != null) {
+            return List.of(ctx.ID());
+        }
+
+        return List.of();
+    }
+}
@@ -0,0 +1,663 @@
+package flow.interpreter.compiler;
+
+import flow.FlowBaseVisitor;
+import flow.FlowParser;
+import flow.interpreter.value.FlowType;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.*;
+
+/**
+ * Checks the types of a whole program before it runs. Every expression gets the type its value has at runtime where
+ * that is known statically, and declarations, assignments, method arguments, returns and field accesses are checked
+ * against the declared types.
+ * <p>
+ * Besides the errors, the checker reports which checks it proved to pass: call sites whose arguments match the
+ * parameters, assignments and field writes of values of the variable's type, and methods whose every return gives a
+ * value of the return type. The runtime skips those checks. Anything the checker cannot see statically, like globals
+ * read from methods, objects that are created again with another class or redeclared methods and classes, stays
+ * unknown and is still checked at runtime.
+ */
+public class TypeChecker extends FlowBaseVisitor<FlowType> {
+
+    private record Variable(FlowType type, boolean isConstant) {
+    }
+
+    private record ClassInfo(Map<String, FlowType> fields, Map<String, FlowParser.MethodDeclarationContext> methods) {
+    }
+
+    private final List<String> errors = new ArrayList<>();
+    private final Set<ParseTree> verified = new HashSet<>();
+
+    private final Map<String, FlowParser.MethodDeclarationContext> globalMethods = new HashMap<>();
+    private final Set<String> declaredMethods = new HashSet<>();
+    private final Map<String, ClassInfo> classes = new HashMap<>();
+    private final Set<String> renewedObjects = new HashSet<>();
+
+    private Deque<Map<String, Variable>> scopes = new ArrayDeque<>();
+    private String currentClass;
+    private FlowParser.MethodDeclarationContext currentMethod;
+    private boolean areReturnsVerified;
+
+    private TypeChecker() {
+    }
+
+    public static TypeChecker check(FlowParser.ProgramContext program) {
+        TypeChecker checker = new TypeChecker();
+        checker.collect(program);
+        checker.visit(program);
+
+        return checker;
+    }
+
+    /**
+     * Returns the type errors of the program, each prefixed with its line.
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Checks whether the runtime check of a method invocation, variable assignment, field write or method return is
+     * known to pass.
+     */
+    public boolean isVerified(ParseTree ctx) {
+        return verified.contains(ctx);
+    }
+
+    private void collect(FlowParser.ProgramContext program) {
+        collectRenewedObjects(program);
+
+        Map<String, Integer> globalMethodCount = new HashMap<>();
+        Map<String, Integer> classCount = new HashMap<>();
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            if (statement.methodDeclaration() != null) {
+                globalMethodCount.merge(statement.methodDeclaration().ID().getText(), 1, Integer::sum);
+            } else if (statement.classDeclaration() != null) {
+                classCount.merge(statement.classDeclaration().ID().getText(), 1, Integer::sum);
+            }
+        }
+
+        for (FlowParser.GlobalStatementContext statement : program.globalStatement()) {
+            if (statement.methodDeclaration() != null) {
+                FlowParser.MethodDeclarationContext ctx = statement.methodDeclaration();
+                declaredMethods.add(ctx.ID().getText());
+
+                // a redeclared method is resolved at runtime
+                if (globalMethodCount.get(ctx.ID().getText()) == 1) {
+                    globalMethods.put(ctx.ID().getText(), ctx);
+                }
+            } else if (statement.classDeclaration() != null && classCount.get(statement.classDeclaration().ID().getText()) == 1) {
+                collectClass(statement.classDeclaration());
+            }
+        }
+
+        // field initializers are checked again with the rest of their class
+        errors.clear();
+        verified.clear();
+    }
+
+    private void collectClass(FlowParser.ClassDeclarationContext ctx) {
+        currentClass = ctx.ID().getText();
+        scopes.push(new HashMap<>());
+
+        Map<String, FlowParser.MethodDeclarationContext> methods = new HashMap<>();
+
+        for (FlowParser.ClassMemberContext member : ctx.classMember()) {
+            if (member.methodDeclaration() != null) {
+                methods.putIfAbsent(member.methodDeclaration().ID().getText(), member.methodDeclaration());
+            } else if (member.declaration() != null) {
+                visit(member.declaration());
+            }
+        }
+
+        Map<String, FlowType> fields = new HashMap<>();
+        scopes.pop().forEach((name, variable) -> fields.put(name, variable.type()));
+
+        classes.put(currentClass, new ClassInfo(fields, methods));
+        currentClass = null;
+    }
+
+    /**
+     * Collects the objects that are created again by name, which may give them another class.
+     */
+    private void collectRenewedObjects(ParseTree tree) {
+        if (tree instanceof FlowParser.ObjectDeclarationContext ctx && ctx.VARIABLE() == null) {
+            renewedObjects.add(ctx.ID(0).getText());
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            collectRenewedObjects(tree.getChild(i));
+        }
+    }
+
+    private void error(ParserRuleContext ctx, String message) {
+        errors.add("Line " + ctx.getStart().getLine() + ": " + message);
+    }
+
+    private void declare(String name, FlowType type, boolean isConstant) {
+        scopes.peek().put(name, new Variable(type, isConstant));
+    }
+
+    private Variable lookup(String name) {
+        for (Map<String, Variable> scope : scopes) {
+            Variable variable = scope.get(name);
+
+            if (variable != null) {
+                return variable;
+            }
+        }
+
+        return null;
+    }
+
+    private FlowType typeOf(ParseTree ctx) {
+        return ctx != null ? visit(ctx) : null;
+    }
+
+    /**
+     * A declared variable takes the type of its value, the declared type only applies if there is no value.
+     */
+    private static FlowType declaredType(FlowParser.VariableDeclarationContext ctx, FlowType valueType) {
+        if (ctx.expression() != null) {
+            return valueType;
+        }
+
+        return ctx.TYPE() != null ? FlowType.named(ctx.TYPE().getText()) : null;
+    }
+
+    private static FlowType returnType(FlowParser.MethodDeclarationContext ctx) {
+        return ctx.TYPE() != null ? FlowType.named(ctx.TYPE().getText()) : FlowType.UNIT;
+    }
+
+    private static boolean isClass(FlowType type) {
+        return type != null && FlowType.named(type.getName()) == null;
+    }
+
+    /**
+     * Returns the class of an object variable, or {@code null} if it is not known.
+     */
+    private ClassInfo classOf(String objectName) {
+        Variable variable = lookup(objectName);
+
+        if (variable == null || !isClass(variable.type())) {
+            return null;
+        }
+
+        return classes.get(variable.type().getName());
+    }
+
+    @Override
+    public FlowType visitProgram(FlowParser.ProgramContext ctx) {
+        scopes.push(new HashMap<>());
+        visitChildren(ctx);
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitClassDeclaration(FlowParser.ClassDeclarationContext ctx) {
+        String previousClass = currentClass;
+        Deque<Map<String, Variable>> previousScopes = scopes;
+        currentClass = ctx.ID().getText();
+
+        // globals are not resolved in class bodies, an object may be created before a global is declared
+        scopes = new ArrayDeque<>();
+        scopes.push(new HashMap<>());
+        visitChildren(ctx);
+
+        currentClass = previousClass;
+        scopes = previousScopes;
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitMethodDeclaration(FlowParser.MethodDeclarationContext ctx) {
+        Deque<Map<String, Variable>> previousScopes = scopes;
+        FlowParser.MethodDeclarationContext previousMethod = currentMethod;
+        boolean previousReturnsVerified = areReturnsVerified;
+
+        // globals are not resolved in methods, a method may run before a global is declared
+        scopes = new ArrayDeque<>();
+        scopes.push(new HashMap<>());
+        declareParams(ctx.methodParams());
+
+        currentMethod = ctx;
+        areReturnsVerified = true;
+
+        List<FlowParser.MethodBodyStatementContext> statements = ctx.methodStructureBody().methodBodyStatement();
+        statements.forEach(this::visit);
+
+        FlowType returnType = returnType(ctx);
+        boolean endsWithReturn = !statements.isEmpty() && statements.get(statements.size() - 1).statement().returnStatement() != null;
+
+        if (returnType != FlowType.UNIT && !endsWithReturn) {
+            error(ctx, "Missing return statement in `" + ctx.ID().getText() + "` method. Expected return type `" + returnType + "`.");
+        } else if (areReturnsVerified) {
+            verified.add(ctx);
+        }
+
+        scopes = previousScopes;
+        currentMethod = previousMethod;
+        areReturnsVerified = previousReturnsVerified;
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitClassConstructor(FlowParser.ClassConstructorContext ctx) {
+        scopes.push(new HashMap<>());
+        declareParams(ctx.methodParams());
+        visit(ctx.controlStructureBody());
+        scopes.pop();
+
+        return null;
+    }
+
+    private void declareParams(FlowParser.MethodParamsContext params) {
+        if (params == null) {
+            return;
+        }
+
+        for (int i = 0; i < params.ID().size(); i++) {
+            declare(params.ID(i).getText(), FlowType.named(params.TYPE(i).getText()), false);
+        }
+    }
+
+    @Override
+    public FlowType visitControlStructureBody(FlowParser.ControlStructureBodyContext ctx) {
+        scopes.push(new HashMap<>());
+        visitChildren(ctx);
+        scopes.pop();
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitForStatement(FlowParser.ForStatementContext ctx) {
+        FlowType iterated = typeOf(ctx.expression());
+
+        scopes.push(new HashMap<>());
+        declare(ctx.ID().getText(), iterated == FlowType.RANGE ? FlowType.INT : null, false);
+        visit(ctx.controlStructureBody());
+        scopes.pop();
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitIfStatement(FlowParser.IfStatementContext ctx) {
+        checkCondition(ctx.expression());
+        ctx.controlStructureBody().forEach(this::visit);
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitWhileStatement(FlowParser.WhileStatementContext ctx) {
+        checkCondition(ctx.expression());
+        visit(ctx.controlStructureBody());
+
+        return null;
+    }
+
+    private void checkCondition(FlowParser.ExpressionContext ctx) {
+        FlowType type = typeOf(ctx);
+
+        if (type != null && type != FlowType.BOOLEAN) {
+            error(ctx, "Condition must be Boolean but got " + type.getName() + ".");
+        }
+    }
+
+    @Override
+    public FlowType visitTryStatement(FlowParser.TryStatementContext ctx) {
+        scopes.push(new HashMap<>());
+        visit(ctx.controlStructureBody(0));
+
+        if (ctx.controlStructureBody().size() > 1) {
+            declare(ctx.ID().getText(), null, false);
+            visit(ctx.controlStructureBody(1));
+        }
+
+        scopes.pop();
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitVariableDeclaration(FlowParser.VariableDeclarationContext ctx) {
+        String name = ctx.ID().getText();
+        FlowType valueType = typeOf(ctx.expression());
+        FlowType declaredType = ctx.TYPE() != null ? FlowType.named(ctx.TYPE().getText()) : null;
+
+        if (declaredType != null && valueType != null && !declaredType.accepts(valueType)) {
+            error(ctx, "Variable `" + name + "` is declared as " + declaredType + " but initialized with " + valueType + ".");
+        }
+
+        declare(name, declaredType(ctx, valueType), ctx.VARIABLE().getText().equals("val") && ctx.expression() != null);
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitObjectDeclaration(FlowParser.ObjectDeclarationContext ctx) {
+        String className = ctx.ID(1).getText();
+
+        if (ctx.methodArgs() != null) {
+            ctx.methodArgs().expression().forEach(this::visit);
+        }
+
+        if (ctx.VARIABLE() != null) {
+            String name = ctx.ID(0).getText();
+            boolean isKnown = classes.containsKey(className) && !renewedObjects.contains(name);
+
+            declare(name, isKnown ? FlowType.forClass(className) : null, false);
+        }
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitVariableAssignment(FlowParser.VariableAssignmentContext ctx) {
+        String name = ctx.ID().getText();
+        FlowType valueType = typeOf(ctx.expression());
+        Variable variable = lookup(name);
+
+        if (variable == null) {
+            return null;
+        }
+
+        if (variable.isConstant()) {
+            error(ctx, "Cannot assign to immutable variable " + name + ".");
+        } else if (isClass(variable.type())) {
+            // objects are assigned with their scope, which is always done at runtime
+            FlowType objectType = ctx.expression() instanceof FlowParser.IdExpressionContext id && lookup(id.ID().getText()) != null
+                    ? lookup(id.ID().getText()).type()
+                    : null;
+
+            if (isClass(objectType) && !variable.type().accepts(objectType)) {
+                error(ctx, "Wrong type of variable `" + name + "`. Expected " + variable.type() + " but got " + objectType + ".");
+            }
+        } else if (variable.type() != null && valueType != null) {
+            if (variable.type().accepts(valueType)) {
+                verified.add(ctx);
+            } else {
+                error(ctx, "Wrong type of variable `" + name + "`. Expected " + variable.type() + " but got " + valueType + ".");
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitClassObjectVariableSetter(FlowParser.ClassObjectVariableSetterContext ctx) {
+        FlowType valueType = typeOf(ctx.expression());
+        ClassInfo classInfo = classOf(ctx.ID(0).getText());
+        String fieldName = ctx.ID(1).getText();
+
+        if (classInfo == null) {
+            return null;
+        }
+
+        if (!classInfo.fields().containsKey(fieldName)) {
+            error(ctx, "Variable `" + fieldName + "` is not declared.");
+            return null;
+        }
+
+        FlowType fieldType = classInfo.fields().get(fieldName);
+
+        if (fieldType != null && valueType != null) {
+            if (fieldType.accepts(valueType)) {
+                verified.add(ctx);
+            } else {
+                error(ctx, "Wrong type of variable `" + fieldName + "`. Expected " + fieldType + " but got " + valueType + ".");
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitClassObjectVariableGetter(FlowParser.ClassObjectVariableGetterContext ctx) {
+        ClassInfo classInfo = classOf(ctx.ID(0).getText());
+        String fieldName = ctx.ID(1).getText();
+
+        if (classInfo == null) {
+            return null;
+        }
+
+        if (!classInfo.fields().containsKey(fieldName)) {
+            error(ctx, "Variable `" + fieldName + "` is not declared.");
+            return null;
+        }
+
+        FlowType fieldType = classInfo.fields().get(fieldName);
+
+        // an object read as a value is not typed by its class
+        return !isClass(fieldType) ? fieldType : null;
+    }
+
+    @Override
+    public FlowType visitReturnStatement(FlowParser.ReturnStatementContext ctx) {
+        FlowType valueType = typeOf(ctx.expression());
+
+        if (currentMethod == null) {
+            return null;
+        }
+
+        FlowType returnType = returnType(currentMethod);
+
+        if (ctx.expression() == null) {
+            if (returnType != FlowType.UNIT) {
+                error(ctx, "Missing return statement. Expected " + returnType + ".");
+                areReturnsVerified = false;
+            }
+        } else if (valueType == null) {
+            areReturnsVerified = false;
+        } else if (!returnType.accepts(valueType)) {
+            error(ctx, "Return type is not the same as method return type. Expected " + returnType + " but got " + valueType + ".");
+            areReturnsVerified = false;
+        }
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitMethodInvocation(FlowParser.MethodInvocationContext ctx) {
+        List<FlowType> argTypes = new ArrayList<>();
+
+        if (ctx.methodArgs() != null) {
+            ctx.methodArgs().expression().forEach(arg -> argTypes.add(typeOf(arg)));
+        }
+
+        FlowParser.MethodDeclarationContext method = resolveMethod(ctx);
+
+        if (method == null) {
+            return null;
+        }
+
+        List<TerminalNode> params = method.methodParams() != null ? method.methodParams().ID() : List.of();
+        boolean areArgsVerified = true;
+
+        // like at runtime, arguments of a method without parameters are not checked
+        if (!params.isEmpty() && params.size() != argTypes.size()) {
+            error(ctx, "Wrong number of arguments. Expected " + params.size() + " but got " + argTypes.size() + ".");
+            areArgsVerified = false;
+        }
+
+        for (int i = 0; i < Math.min(params.size(), argTypes.size()); i++) {
+            FlowType paramType = FlowType.named(method.methodParams().TYPE(i).getText());
+            FlowType argType = argTypes.get(i);
+
+            if (argType == null) {
+                areArgsVerified = false;
+            } else if (!paramType.accepts(argType)) {
+                error(ctx, "Wrong argument " + params.get(i).getText() + " type. Expected " + paramType + " but got " + argType + ".");
+                areArgsVerified = false;
+            }
+        }
+
+        if (areArgsVerified && (!params.isEmpty() || argTypes.isEmpty())) {
+            verified.add(ctx);
+        }
+
+        FlowType returnType = returnType(method);
+
+        return returnType != FlowType.UNIT ? returnType : null;
+    }
+
+    /**
+     * Finds the method a call runs, the way the interpreter looks it up, or returns {@code null} if that is only known
+     * at runtime.
+     */
+    private FlowParser.MethodDeclarationContext resolveMethod(FlowParser.MethodInvocationContext ctx) {
+        String methodName = ctx.ID(ctx.ID().size() - 1).getText();
+        ClassInfo classInfo;
+
+        if (ctx.DOT() != null) {
+            classInfo = classOf(ctx.ID(0).getText());
+        } else if (currentClass != null) {
+            classInfo = classes.get(currentClass);
+        } else {
+            if (!declaredMethods.contains(methodName)) {
+                error(ctx, "Method `" + methodName + "` does not exist.");
+            }
+
+            return globalMethods.get(methodName);
+        }
+
+        if (classInfo == null) {
+            return null;
+        }
+
+        FlowParser.MethodDeclarationContext method = classInfo.methods().get(methodName);
+
+        if (method == null) {
+            error(ctx, "Method " + methodName + " does not exist.");
+        }
+
+        return method;
+    }
+
+    @Override
+    public FlowType visitStatement(FlowParser.StatementContext ctx) {
+        visitChildren(ctx);
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitIntExpression(FlowParser.IntExpressionContext ctx) {
+        return FlowType.INT;
+    }
+
+    @Override
+    public FlowType visitDoubleExpression(FlowParser.DoubleExpressionContext ctx) {
+        return FlowType.DOUBLE;
+    }
+
+    @Override
+    public FlowType visitStringExpression(FlowParser.StringExpressionContext ctx) {
+        return FlowType.STRING;
+    }
+
+    @Override
+    public FlowType visitCharExpression(FlowParser.CharExpressionContext ctx) {
+        return FlowType.CHAR;
+    }
+
+    @Override
+    public FlowType visitBooleanExpression(FlowParser.BooleanExpressionContext ctx) {
+        return FlowType.BOOLEAN;
+    }
+
+    @Override
+    public FlowType visitIdExpression(FlowParser.IdExpressionContext ctx) {
+        Variable variable = lookup(ctx.ID().getText());
+
+        // an object read as a value is not typed by its class
+        return variable != null && !isClass(variable.type()) ? variable.type() : null;
+    }
+
+    @Override
+    public FlowType visitConvertToStringExpression(FlowParser.ConvertToStringExpressionContext ctx) {
+        visit(ctx.expression());
+
+        return FlowType.STRING;
+    }
+
+    @Override
+    public FlowType visitClassObjectVariableGetterExpression(FlowParser.ClassObjectVariableGetterExpressionContext ctx) {
+        return visit(ctx.classObjectVariableGetter());
+    }
+
+    @Override
+    public FlowType visitMethodInvocationExpression(FlowParser.MethodInvocationExpressionContext ctx) {
+        return visit(ctx.methodInvocation());
+    }
+
+    @Override
+    public FlowType visitIOStatementExpression(FlowParser.IOStatementExpressionContext ctx) {
+        visit(ctx.iOStatement());
+
+        return null;
+    }
+
+    @Override
+    public FlowType visitParenthesesExpression(FlowParser.ParenthesesExpressionContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public FlowType visitNumberOpExpression(FlowParser.NumberOpExpressionContext ctx) {
+        FlowType left = typeOf(ctx.expression(0));
+        FlowType right = typeOf(ctx.expression(1));
+
+        if (left == null || right == null) {
+            return null;
+        }
+
+        if (left == FlowType.STRING || right == FlowType.STRING) {
+            if (!ctx.numbersOp().getText().equals("+")) {
+                error(ctx, "Wrong operator " + ctx.numbersOp().getText() + " for String type.");
+                return null;
+            }
+
+            return FlowType.STRING;
+        }
+
+        if (left != right) {
+            error(ctx, "Wrong type of arguments in expression. Expected " + left + " but got " + right + ".");
+            return null;
+        }
+
+        if (left != FlowType.INT && left != FlowType.DOUBLE) {
+            error(ctx, "Wrong type of arguments in expression. Expected String, Int or Double but got " + left + ".");
+            return null;
+        }
+
+        return left;
+    }
+
+    @Override
+    public FlowType visitRelationOpExpression(FlowParser.RelationOpExpressionContext ctx) {
+        FlowType left = typeOf(ctx.expression(0));
+        FlowType right = typeOf(ctx.expression(1));
+
+        if (left != null && right != null && left != right) {
+            error(ctx, "Cannot compare values of different types: " + left + " and " + right + ".");
+        }
+
+        return FlowType.BOOLEAN;
+    }
+
+    @Override
+    public FlowType visitRangeExpression(FlowParser.RangeExpressionContext ctx) {
+        visitChildren(ctx);
+
+        return FlowType.RANGE;
+    }
+}
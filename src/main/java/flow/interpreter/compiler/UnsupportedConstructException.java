@@ -0,0 +1,12 @@
+package flow.interpreter.compiler;
+
+/**
+ * Thrown while compiling a method that uses a construct the target engine cannot express. The method is then left to
+ * the node interpreter.
+ */
+public class UnsupportedConstructException extends RuntimeException {
+
+    public UnsupportedConstructException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,19 @@
+package flow.interpreter.exception;
+
+/**
+ * Thrown by compiled code about to nest more calls than it may. Compiled code only knows how many calls it may still
+ * nest, so the method that entered it reports the error with the maximum call depth of the execution.
+ */
+public class CallDepthExceededException extends RuntimeException {
+
+    private final String methodName;
+
+    public CallDepthExceededException(String methodName) {
+        super(methodName, null, false, false);
+        this.methodName = methodName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+}
@@ -0,0 +1,30 @@
+package flow.interpreter.exception;
+
+/**
+ * A Java stack overflow in compiled code, carrying where it happened: the method and how many calls it could still
+ * have nested. The method that entered the compiled code turns this into the call depth of the overflow.
+ */
+public class CallStackOverflowError extends StackOverflowError {
+
+    private final String methodName;
+    private final int remainingCallDepth;
+
+    public CallStackOverflowError(String methodName, int remainingCallDepth) {
+        this.methodName = methodName;
+        this.remainingCallDepth = remainingCallDepth;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public int getRemainingCallDepth() {
+        return remainingCallDepth;
+    }
+
+    // the stack it was created on is nearly full and far too deep to record
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
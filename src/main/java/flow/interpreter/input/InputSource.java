@@ -0,0 +1,139 @@
+package flow.interpreter.input;
+
+import flow.interpreter.exception.FlowException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Source of the text a program reads with {@code read()} and {@code readLine()}. Text is read from the underlying
+ * reader in large blocks and kept between reads, so everything that was piped in stays available to later reads.
+ */
+public class InputSource {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static InputSource stdin;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    public InputSource(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public InputSource(Reader reader) {
+        this(reader, DEFAULT_CAPACITY);
+    }
+
+    public InputSource(Reader reader, int capacity) {
+        this.reader = reader;
+        this.buffer = new char[capacity];
+    }
+
+    /**
+     * Returns an input source that reads the given text.
+     */
+    public static InputSource of(String text) {
+        return new InputSource(new StringReader(text));
+    }
+
+    /**
+     * Returns the input source of the standard input. It is shared by all executions of the process, so text buffered
+     * by one of them is not lost to the next.
+     */
+    public static synchronized InputSource stdin() {
+        if (stdin == null) {
+            stdin = new InputSource(System.in);
+        }
+
+        return stdin;
+    }
+
+    /**
+     * Reads the rest of the current line, without the line terminator.
+     *
+     * @return the line, or {@code null} if the input has ended
+     */
+    public synchronized String readLine() {
+        if (!ensureAvailable()) {
+            return null;
+        }
+
+        StringBuilder line = new StringBuilder();
+
+        while (ensureAvailable()) {
+            int start = position;
+
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+
+            line.append(buffer, start, position - start);
+
+            if (position < limit) {
+                position++;
+                break;
+            }
+        }
+
+        int length = line.length();
+
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+
+        return line.toString();
+    }
+
+    /**
+     * Skips whitespace and reads the next whitespace-separated token.
+     *
+     * @return the token, or {@code null} if the input has ended
+     */
+    public synchronized String readToken() {
+        while (ensureAvailable() && Character.isWhitespace(buffer[position])) {
+            position++;
+        }
+
+        if (!ensureAvailable()) {
+            return null;
+        }
+
+        StringBuilder token = new StringBuilder();
+
+        while (ensureAvailable() && !Character.isWhitespace(buffer[position])) {
+            token.append(buffer[position++]);
+        }
+
+        return token.toString();
+    }
+
+    private boolean ensureAvailable() {
+        if (position < limit) {
+            return true;
+        }
+
+        try {
+            int count = reader.read(buffer, 0, buffer.length);
+
+            // a reader may return no characters without having ended, only -1 marks the end
+            while (count == 0) {
+                count = reader.read(buffer, 0, buffer.length);
+            }
+
+            position = 0;
+            limit = Math.max(count, 0);
+
+            return count > 0;
+        } catch (IOException e) {
+            throw new FlowException("Cannot read from console");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package flow.interpreter.jvm;
+
+import flow.interpreter.compiler.PrimitiveType;
+import flow.interpreter.compiler.UnsupportedConstructException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static flow.interpreter.jvm.Opcodes.*;
+
+/**
+ * Bytecode buffer for a single method. Tracks the operand stack depth of straight-line code to compute max_stack;
+ * callers adjust the depth explicitly where branches merge.
+ */
+class CodeBuilder {
+
+    private final ClassFileWriter classFile;
+    private byte[] code = new byte[64];
+    private int length = 0;
+    private int stack = 0;
+    private int maxStack = 0;
+    private int maxLocals = 0;
+    // exception table entries: start, end, handler and class of the caught exceptions
+    private final List<int[]> handlers = new ArrayList<>();
+
+    CodeBuilder(ClassFileWriter classFile) {
+        this.classFile = classFile;
+    }
+
+    int getMaxStack() {
+        return maxStack;
+    }
+
+    int getMaxLocals() {
+        return maxLocals;
+    }
+
+    void reserveLocals(int count) {
+        maxLocals = Math.max(maxLocals, count);
+    }
+
+    List<int[]> getHandlers() {
+        return handlers;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(code, length);
+    }
+
+    void adjustStack(int delta) {
+        stack += delta;
+        maxStack = Math.max(maxStack, stack);
+    }
+
+    void op(int opcode, int stackDelta) {
+        u1(opcode);
+        adjustStack(stackDelta);
+    }
+
+    void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            u1(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            u1(BIPUSH);
+            u1(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            u1(SIPUSH);
+            u2(value);
+        } else {
+            u1(LDC_W);
+            u2(classFile.integer(value));
+        }
+        adjustStack(1);
+    }
+
+    void pushDouble(double value) {
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            u1(DCONST_0);
+        } else if (value == 1.0) {
+            u1(DCONST_1);
+        } else {
+            u1(LDC2_W);
+            u2(classFile.doubleValue(value));
+        }
+        adjustStack(2);
+    }
+
+    void pushString(String value) {
+        u1(LDC_W);
+        u2(classFile.string(value));
+        adjustStack(1);
+    }
+
+    void load(PrimitiveType type, int slot) {
+        localOp(type.isWide() ? DLOAD : ILOAD, slot);
+        adjustStack(type.isWide() ? 2 : 1);
+    }
+
+    void store(PrimitiveType type, int slot) {
+        localOp(type.isWide() ? DSTORE : ISTORE, slot);
+        adjustStack(type.isWide() ? -2 : -1);
+    }
+
+    void pop(PrimitiveType type) {
+        op(type.isWide() ? POP2 : POP, type.isWide() ? -2 : -1);
+    }
+
+    void returnValue(PrimitiveType type) {
+        op(type.isWide() ? DRETURN : IRETURN, type.isWide() ? -2 : -1);
+    }
+
+    void increment(int slot, int amount) {
+        checkLocal(slot);
+        u1(IINC);
+        u1(slot);
+        u1(amount);
+    }
+
+    void invokeStatic(String owner, String name, String descriptor, int stackDelta) {
+        u1(INVOKESTATIC);
+        u2(classFile.methodRef(owner, name, descriptor));
+        adjustStack(stackDelta);
+    }
+
+    /**
+     * Emits a branch; conditional opcodes pop their operands from the tracked stack.
+     */
+    void jump(int opcode, Label target) {
+        int start = length;
+        u1(opcode);
+
+        if (target.position >= 0) {
+            u2(checkOffset(target.position - start));
+        } else {
+            target.fixups.add(new int[]{start, length});
+            u2(0);
+        }
+
+        if (opcode >= IF_ICMPEQ && opcode <= IF_ICMPLE) {
+            adjustStack(-2);
+        } else if (opcode >= IFEQ && opcode <= IFLE) {
+            adjustStack(-1);
+        }
+    }
+
+    /**
+     * Starts a handler for exceptions of the given class thrown anywhere in the code emitted so far. The handler starts
+     * with the exception on the stack.
+     */
+    void startHandler(String exceptionClass) {
+        handlers.add(new int[]{0, length, length, classFile.classRef(exceptionClass)});
+        stack = 0;
+        adjustStack(1);
+    }
+
+    void mark(Label label) {
+        label.position = length;
+
+        for (int[] fixup : label.fixups) {
+            int offset = checkOffset(length - fixup[0]);
+            code[fixup[1]] = (byte) (offset >> 8);
+            code[fixup[1] + 1] = (byte) offset;
+        }
+    }
+
+    private static int checkOffset(int offset) {
+        if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+            throw new UnsupportedConstructException("Method is too large.");
+        }
+
+        return offset;
+    }
+
+    private void localOp(int opcode, int slot) {
+        checkLocal(slot);
+        u1(opcode);
+        u1(slot);
+    }
+
+    private void checkLocal(int slot) {
+        if (slot > 255) {
+            throw new UnsupportedConstructException("Too many local variables.");
+        }
+    }
+
+    private void u1(int value) {
+        if (length == code.length) {
+            code = Arrays.copyOf(code, code.length * 2);
+        }
+
+        code[length++] = (byte) value;
+    }
+
+    private void u2(int value) {
+        u1(value >> 8);
+        u1(value);
+    }
+}
@@ -0,0 +1,102 @@
+package flow.interpreter.jvm;
+
+import flow.FlowParser;
+import flow.interpreter.compiler.MethodCandidate;
+import flow.interpreter.compiler.MethodCandidates;
+import flow.interpreter.compiler.UnsupportedConstructException;
+import flow.interpreter.node.MethodNode;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Compiles methods over primitive values into static methods of hidden classes, one hidden class per Flow class plus
+ * one for global methods, and installs them into the corresponding {@link MethodNode}s. Methods that use anything
+ * else (strings, objects, globals, I/O, try) stay with the node interpreter; compiled and interpreted methods call
+ * each other through the usual method invocation path.
+ */
+public class JvmCompiler {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, int.class, Object[].class);
+    private static final String GLOBAL_OWNER = "Global";
+
+    public void compile(FlowParser.ProgramContext program, Function<FlowParser.MethodDeclarationContext, MethodNode> methods) {
+        MethodCandidates candidates = MethodCandidates.collect(program, methods);
+
+        // rejecting a method can invalidate its callers, so repeat until every remaining method compiles
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (MethodCandidate candidate : List.copyOf(candidates.getActive())) {
+                try {
+                    new JvmMethodCompiler(candidate, candidates, new ClassFileWriter(className(candidate))).compile();
+                } catch (UnsupportedConstructException e) {
+                    candidates.reject(candidate);
+                    changed = true;
+                }
+            }
+        }
+
+        Map<String, ClassFileWriter> classFiles = new LinkedHashMap<>();
+        Map<String, List<MethodCandidate>> classMethods = new LinkedHashMap<>();
+
+        for (MethodCandidate candidate : candidates.getActive()) {
+            String className = className(candidate);
+            ClassFileWriter classFile = classFiles.computeIfAbsent(className, ClassFileWriter::new);
+
+            classFile.addStaticMethod(candidate.getMethodName(), candidate.getDescriptor(),
+                    new JvmMethodCompiler(candidate, candidates, classFile).compile());
+            classMethods.computeIfAbsent(className, key -> new ArrayList<>()).add(candidate);
+        }
+
+        classFiles.forEach((className, classFile) -> install(classFile, classMethods.get(className)));
+    }
+
+    private static void install(ClassFileWriter classFile, List<MethodCandidate> methods) {
+        try {
+            MethodHandles.Lookup lookup = LOOKUP.defineHiddenClass(classFile.toByteArray(), true);
+
+            for (MethodCandidate candidate : methods) {
+                MethodType type = MethodType.fromMethodDescriptorString(candidate.getDescriptor(), JvmCompiler.class.getClassLoader());
+                MethodHandle handle = lookup.findStatic(lookup.lookupClass(), candidate.getMethodName(), type);
+
+                // the remaining call depth moves in front of the arguments, which are then spread from the array
+                int paramCount = type.parameterCount() - 1;
+                int[] order = new int[paramCount + 1];
+                for (int i = 0; i < paramCount; i++) {
+                    order[i] = i + 1;
+                }
+
+                MethodHandle generic = MethodHandles.permuteArguments(handle,
+                                type.dropParameterTypes(paramCount, paramCount + 1).insertParameterTypes(0, int.class), order)
+                        .asSpreader(Object[].class, paramCount)
+                        .asType(GENERIC_TYPE);
+
+                // compiled methods call each other on the Java stack and count the calls they nest themselves
+                candidate.getMethod().setCompiled((args, maxDepth) -> invoke(generic, args, maxDepth));
+            }
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException("Cannot load compiled class " + classFile.getClassName(), e);
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object[] args, int maxDepth) {
+        try {
+            return (Object) handle.invokeExact(maxDepth, args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String className(MethodCandidate candidate) {
+        String owner = candidate.getOwner() != null ? candidate.getOwner() : GLOBAL_OWNER;
+        return JvmCompiler.class.getPackageName().replace('.', '/') + "/Flow$" + owner;
+    }
+}
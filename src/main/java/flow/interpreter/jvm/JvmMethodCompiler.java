@@ -0,0 +1,478 @@
+package flow.interpreter.jvm;
+
+import flow.FlowBaseVisitor;
+import flow.FlowParser;
+import flow.interpreter.compiler.MethodCandidate;
+import flow.interpreter.compiler.MethodCandidates;
+import flow.interpreter.compiler.PrimitiveType;
+import flow.interpreter.compiler.UnsupportedConstructException;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.RuleNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import static flow.interpreter.jvm.Opcodes.*;
+
+/**
+ * Translates one method body into bytecode of a static method. Expressions return their static type, statements
+ * return {@code null}. Anything whose runtime behaviour depends on dynamic lookups or on interpreter-only values
+ * throws {@link UnsupportedConstructException}.
+ */
+class JvmMethodCompiler extends FlowBaseVisitor<PrimitiveType> {
+
+    private record Local(PrimitiveType type, int slot, boolean isMutable) {
+    }
+
+    private final MethodCandidate candidate;
+    private final MethodCandidates candidates;
+    private final String owner;
+    private final CodeBuilder code;
+    private final Deque<Map<String, Local>> scopes = new ArrayDeque<>();
+    private int nextSlot = 0;
+    // holds how many calls the method may still nest, passed in after the parameters
+    private int depthSlot;
+
+    JvmMethodCompiler(MethodCandidate candidate, MethodCandidates candidates, ClassFileWriter classFile) {
+        this.candidate = candidate;
+        this.candidates = candidates;
+        this.owner = classFile.getClassName();
+        this.code = new CodeBuilder(classFile);
+    }
+
+    CodeBuilder compile() {
+        scopes.push(new HashMap<>());
+
+        String[] paramNames = candidate.getParamNames();
+        PrimitiveType[] paramTypes = candidate.getParamTypes();
+        for (int i = 0; i < paramNames.length; i++) {
+            define(paramNames[i], paramTypes[i], true);
+        }
+        depthSlot = allocate();
+
+        FlowParser.MethodStructureBodyContext body = candidate.getContext().methodStructureBody();
+        int statementCount = body.methodBodyStatement().size();
+
+        if (statementCount == 0 || body.methodBodyStatement(statementCount - 1).statement().returnStatement() == null) {
+            throw new UnsupportedConstructException("Missing trailing return statement.");
+        }
+
+        for (FlowParser.MethodBodyStatementContext statement : body.methodBodyStatement()) {
+            visit(statement.statement());
+
+            if (statement.statement().returnStatement() != null) {
+                break;
+            }
+        }
+
+        code.startHandler("java/lang/StackOverflowError");
+        code.load(PrimitiveType.INT, depthSlot);
+        code.pushString(candidate.getMethodName());
+        code.invokeStatic(JvmRuntime.CLASS_NAME, "stackOverflow",
+                "(Ljava/lang/StackOverflowError;ILjava/lang/String;)Ljava/lang/StackOverflowError;", -2);
+        code.op(ATHROW, -1);
+
+        return code;
+    }
+
+    private Local define(String name, PrimitiveType type, boolean isMutable) {
+        Local local = new Local(type, nextSlot, isMutable);
+        scopes.peek().put(name, local);
+
+        nextSlot += type.isWide() ? 2 : 1;
+        code.reserveLocals(nextSlot);
+
+        return local;
+    }
+
+    private int allocate() {
+        code.reserveLocals(nextSlot + 1);
+        return nextSlot++;
+    }
+
+    private Local resolve(String name) {
+        for (Map<String, Local> scope : scopes) {
+            Local local = scope.get(name);
+            if (local != null) {
+                return local;
+            }
+        }
+
+        return null;
+    }
+
+    private void pushScope() {
+        scopes.push(new HashMap<>());
+    }
+
+    private void popScope(int slotMark) {
+        scopes.pop();
+        nextSlot = slotMark;
+    }
+
+    private PrimitiveType compileExpression(FlowParser.ExpressionContext ctx) {
+        return visit(ctx);
+    }
+
+    private static UnsupportedConstructException unsupported(ParseTree ctx) {
+        return new UnsupportedConstructException("Cannot compile `" + ctx.getText() + "`.");
+    }
+
+    @Override
+    public PrimitiveType visitStatement(FlowParser.StatementContext ctx) {
+        if (ctx.methodInvocation() != null) {
+            code.pop(visitMethodInvocation(ctx.methodInvocation()));
+            return null;
+        }
+
+        if (ctx.declaration() != null && ctx.declaration().variableDeclaration() != null) {
+            return visit(ctx.declaration().variableDeclaration());
+        }
+
+        if (ctx.variableAssignment() != null || ctx.loopStatement() != null
+                || ctx.returnStatement() != null || ctx.ifStatement() != null) {
+            return visit(ctx.getChild(0));
+        }
+
+        throw unsupported(ctx);
+    }
+
+    @Override
+    public PrimitiveType visitLoopStatement(FlowParser.LoopStatementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public PrimitiveType visitControlStructureBody(FlowParser.ControlStructureBodyContext ctx) {
+        int slotMark = nextSlot;
+        pushScope();
+
+        for (FlowParser.StatementContext statement : ctx.statement()) {
+            visit(statement);
+
+            // statements after a return are never executed
+            if (statement.returnStatement() != null) {
+                break;
+            }
+        }
+
+        popScope(slotMark);
+        return null;
+    }
+
+    @Override
+    public PrimitiveType visitVariableDeclaration(FlowParser.VariableDeclarationContext ctx) {
+        String name = ctx.ID().getText();
+
+        // the interpreter rejects declarations of names that are already visible
+        if (ctx.expression() == null || resolve(name) != null || candidate.isDeclaredOutside(name)) {
+            throw unsupported(ctx);
+        }
+
+        PrimitiveType type = compileExpression(ctx.expression());
+        Local local = define(name, type, ctx.VARIABLE().getText().equals("var"));
+        code.store(type, local.slot());
+
+        return null;
+    }
+
+    @Override
+    public PrimitiveType visitVariableAssignment(FlowParser.VariableAssignmentContext ctx) {
+        Local local = resolve(ctx.ID().getText());
+
+        if (local == null || !local.isMutable()) {
+            throw unsupported(ctx);
+        }
+
+        if (compileExpression(ctx.expression()) != local.type()) {
+            throw unsupported(ctx);
+        }
+
+        code.store(local.type(), local.slot());
+
+        return null;
+    }
+
+    @Override
+    public PrimitiveType visitReturnStatement(FlowParser.ReturnStatementContext ctx) {
+        if (ctx.expression() == null || compileExpression(ctx.expression()) != candidate.getReturnType()) {
+            throw unsupported(ctx);
+        }
+
+        code.returnValue(candidate.getReturnType());
+
+        return null;
+    }
+
+    @Override
+    public PrimitiveType visitIfStatement(FlowParser.IfStatementContext ctx) {
+        Label elseLabel = new Label();
+
+        if (ctx.expression() instanceof FlowParser.RelationOpExpressionContext relation) {
+            jumpUnless(relation.expression(0), relation.relationOp().getText(), relation.expression(1), elseLabel);
+        } else if (compileExpression(ctx.expression()) == PrimitiveType.BOOLEAN) {
+            code.jump(IFEQ, elseLabel);
+        } else {
+            throw unsupported(ctx.expression());
+        }
+
+        visit(ctx.controlStructureBody(0));
+
+        if (ctx.controlStructureBody().size() == 1) {
+            code.mark(elseLabel);
+            return null;
+        }
+
+        Label endLabel = new Label();
+        code.jump(GOTO, endLabel);
+        code.mark(elseLabel);
+        visit(ctx.controlStructureBody(1));
+        code.mark(endLabel);
+
+        return null;
+    }
+
+    @Override
+    public PrimitiveType visitWhileStatement(FlowParser.WhileStatementContext ctx) {
+        Label conditionLabel = new Label();
+        Label endLabel = new Label();
+
+        code.mark(conditionLabel);
+
+        if (ctx.expression() instanceof FlowParser.RelationOpExpressionContext relation) {
+            jumpUnless(relation.expression(0), relation.relationOp().getText(), relation.expression(1), endLabel);
+        } else if (compileExpression(ctx.expression()) == PrimitiveType.BOOLEAN) {
+            code.jump(IFEQ, endLabel);
+        } else {
+            throw unsupported(ctx.expression());
+        }
+
+        visit(ctx.controlStructureBody());
+        code.jump(GOTO, conditionLabel);
+        code.mark(endLabel);
+
+        return null;
+    }
+
+    @Override
+    public PrimitiveType visitForStatement(FlowParser.ForStatementContext ctx) {
+        // only plain ascending Int ranges are compiled; downTo, step, Range values and parallel loops run on the node tree
+        if (ctx.parallelModifier() != null || !(ctx.expression() instanceof FlowParser.RangeExpressionContext range)
+                || range.DOWN_TO() != null || range.STEP() != null) {
+            throw unsupported(ctx);
+        }
+
+        int slotMark = nextSlot;
+        pushScope();
+
+        // the loop variable is reassigned from a hidden counter, so writes to it in the body do not affect iteration
+        if (compileExpression(range.expression(0)) != PrimitiveType.INT) {
+            throw unsupported(range);
+        }
+        int counter = allocate();
+        code.store(PrimitiveType.INT, counter);
+
+        if (compileExpression(range.expression(1)) != PrimitiveType.INT) {
+            throw unsupported(range);
+        }
+        int end = allocate();
+        code.store(PrimitiveType.INT, end);
+
+        Local variable = define(ctx.ID().getText(), PrimitiveType.INT, true);
+
+        Label conditionLabel = new Label();
+        Label endLabel = new Label();
+
+        code.mark(conditionLabel);
+        code.load(PrimitiveType.INT, counter);
+        code.load(PrimitiveType.INT, end);
+        code.jump(IF_ICMPGE, endLabel);
+
+        code.load(PrimitiveType.INT, counter);
+        code.store(PrimitiveType.INT, variable.slot());
+
+        visit(ctx.controlStructureBody());
+
+        code.increment(counter, 1);
+        code.jump(GOTO, conditionLabel);
+        code.mark(endLabel);
+
+        popScope(slotMark);
+        return null;
+    }
+
+    /**
+     * Evaluates {@code left relationOp right} and jumps to {@code target} when it is false.
+     */
+    private void jumpUnless(FlowParser.ExpressionContext left, String relationOp, FlowParser.ExpressionContext right, Label target) {
+        PrimitiveType leftType = compileExpression(left);
+        PrimitiveType rightType = compileExpression(right);
+
+        if (leftType != rightType) {
+            throw unsupported(left.getParent());
+        }
+
+        // Double relations go through Double.compare to keep the NaN and -0.0 semantics of Double.compareTo/equals
+        if (leftType == PrimitiveType.DOUBLE) {
+            code.invokeStatic("java/lang/Double", "compare", "(DD)I", -3);
+            code.jump(negatedZeroCompare(relationOp), target);
+        } else {
+            code.jump(negatedZeroCompare(relationOp) + (IF_ICMPEQ - IFEQ), target);
+        }
+    }
+
+    private static int negatedZeroCompare(String relationOp) {
+        return switch (relationOp) {
+            case "==" -> IFNE;
+            case "!=" -> IFEQ;
+            case "<" -> IFGE;
+            case "<=" -> IFGT;
+            case ">" -> IFLE;
+            case ">=" -> IFLT;
+            default -> throw new UnsupportedConstructException("Unknown relation operator: " + relationOp);
+        };
+    }
+
+    @Override
+    public PrimitiveType visitIntExpression(FlowParser.IntExpressionContext ctx) {
+        code.pushInt(Integer.parseInt(ctx.INT().getText()));
+        return PrimitiveType.INT;
+    }
+
+    @Override
+    public PrimitiveType visitDoubleExpression(FlowParser.DoubleExpressionContext ctx) {
+        code.pushDouble(Double.parseDouble(ctx.DOUBLE().getText()));
+        return PrimitiveType.DOUBLE;
+    }
+
+    @Override
+    public PrimitiveType visitBooleanExpression(FlowParser.BooleanExpressionContext ctx) {
+        code.pushInt(Boolean.parseBoolean(ctx.BOOLEAN().getText()) ? 1 : 0);
+        return PrimitiveType.BOOLEAN;
+    }
+
+    @Override
+    public PrimitiveType visitCharExpression(FlowParser.CharExpressionContext ctx) {
+        code.pushInt(ctx.CHAR().getText().charAt(1));
+        return PrimitiveType.CHAR;
+    }
+
+    @Override
+    public PrimitiveType visitIdExpression(FlowParser.IdExpressionContext ctx) {
+        Local local = resolve(ctx.ID().getText());
+
+        if (local == null) {
+            throw unsupported(ctx);
+        }
+
+        code.load(local.type(), local.slot());
+        return local.type();
+    }
+
+    @Override
+    public PrimitiveType visitParenthesesExpression(FlowParser.ParenthesesExpressionContext ctx) {
+        return compileExpression(ctx.expression());
+    }
+
+    @Override
+    public PrimitiveType visitNumberOpExpression(FlowParser.NumberOpExpressionContext ctx) {
+        PrimitiveType leftType = compileExpression(ctx.expression(0));
+        PrimitiveType rightType = compileExpression(ctx.expression(1));
+
+        if (leftType != rightType || (leftType != PrimitiveType.INT && leftType != PrimitiveType.DOUBLE)) {
+            throw unsupported(ctx);
+        }
+
+        boolean isDouble = leftType == PrimitiveType.DOUBLE;
+        int opcode = switch (ctx.numbersOp().getText()) {
+            case "+" -> isDouble ? DADD : IADD;
+            case "-" -> isDouble ? DSUB : ISUB;
+            case "*" -> isDouble ? DMUL : IMUL;
+            case "/" -> isDouble ? DDIV : IDIV;
+            case "%" -> isDouble ? DREM : IREM;
+            default -> throw unsupported(ctx);
+        };
+
+        code.op(opcode, isDouble ? -2 : -1);
+        return leftType;
+    }
+
+    @Override
+    public PrimitiveType visitRelationOpExpression(FlowParser.RelationOpExpressionContext ctx) {
+        Label falseLabel = new Label();
+        Label endLabel = new Label();
+
+        jumpUnless(ctx.expression(0), ctx.relationOp().getText(), ctx.expression(1), falseLabel);
+        code.pushInt(1);
+        code.jump(GOTO, endLabel);
+        code.mark(falseLabel);
+        code.adjustStack(-1);
+        code.pushInt(0);
+        code.mark(endLabel);
+
+        return PrimitiveType.BOOLEAN;
+    }
+
+    @Override
+    public PrimitiveType visitMethodInvocationExpression(FlowParser.MethodInvocationExpressionContext ctx) {
+        return visitMethodInvocation(ctx.methodInvocation());
+    }
+
+    @Override
+    public PrimitiveType visitMethodInvocation(FlowParser.MethodInvocationContext ctx) {
+        if (ctx.ID().size() != 1) {
+            throw unsupported(ctx);
+        }
+
+        MethodCandidate callee = candidates.resolveCall(candidate, ctx.ID(0).getText());
+
+        if (callee == null) {
+            throw unsupported(ctx);
+        }
+
+        PrimitiveType[] paramTypes = callee.getParamTypes();
+        int argCount = ctx.methodArgs() != null ? ctx.methodArgs().expression().size() : 0;
+
+        if (argCount != paramTypes.length) {
+            throw unsupported(ctx);
+        }
+
+        int argSlots = 0;
+        for (int i = 0; i < argCount; i++) {
+            if (compileExpression(ctx.methodArgs().expression(i)) != paramTypes[i]) {
+                throw unsupported(ctx);
+            }
+            argSlots += paramTypes[i].isWide() ? 2 : 1;
+        }
+
+        Label withinDepth = new Label();
+        code.load(PrimitiveType.INT, depthSlot);
+        code.jump(IFNE, withinDepth);
+        code.pushString(callee.getMethodName());
+        code.invokeStatic(JvmRuntime.CLASS_NAME, "callDepthExceeded", "(Ljava/lang/String;)Ljava/lang/RuntimeException;", 0);
+        code.op(ATHROW, -1);
+        code.mark(withinDepth);
+
+        // the callee may nest one call less
+        code.load(PrimitiveType.INT, depthSlot);
+        code.pushInt(1);
+        code.op(ISUB, -1);
+
+        PrimitiveType returnType = callee.getReturnType();
+        code.invokeStatic(owner, callee.getMethodName(), callee.getDescriptor(), (returnType.isWide() ? 2 : 1) - argSlots - 1);
+
+        return returnType;
+    }
+
+    @Override
+    protected PrimitiveType defaultResult() {
+        return null;
+    }
+
+    @Override
+    public PrimitiveType visitChildren(RuleNode node) {
+        throw unsupported(node);
+    }
+}
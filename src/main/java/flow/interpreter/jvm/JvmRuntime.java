@@ -0,0 +1,31 @@
+package flow.interpreter.jvm;
+
+import flow.interpreter.exception.CallDepthExceededException;
+import flow.interpreter.exception.CallStackOverflowError;
+
+/**
+ * Called by compiled code to report calls it cannot make.
+ */
+final class JvmRuntime {
+
+    static final String CLASS_NAME = JvmRuntime.class.getName().replace('.', '/');
+
+    private JvmRuntime() {
+    }
+
+    static RuntimeException callDepthExceeded(String methodName) {
+        return new CallDepthExceededException(methodName);
+    }
+
+    /**
+     * Every compiled method passes a stack overflow on through this. The innermost method with stack enough left to
+     * record where it happened does so, outer methods keep what it recorded.
+     */
+    static StackOverflowError stackOverflow(StackOverflowError error, int remainingCallDepth, String methodName) {
+        if (error instanceof CallStackOverflowError) {
+            return error;
+        }
+
+        return new CallStackOverflowError(methodName, remainingCallDepth);
+    }
+}
@@ -0,0 +1,14 @@
+package flow.interpreter.jvm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class Label {
+
+    int position = -1;
+
+    /**
+     * Pairs of (instruction start, operand offset) waiting for this label to be placed.
+     */
+    final List<int[]> fixups = new ArrayList<>();
+}
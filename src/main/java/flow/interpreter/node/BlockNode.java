@@ -0,0 +1,53 @@
+package flow.interpreter.node;
+
+import flow.interpreter.scope.SymbolTable;
+
+public class BlockNode extends Node {
+
+    private final Node[] statements;
+    private final int slotCount;
+    private final boolean hasScope;
+
+    public BlockNode(Node[] statements, int slotCount) {
+        this.statements = statements;
+        this.slotCount = slotCount;
+        this.hasScope = true;
+    }
+
+    /**
+     * Creates a block that declares nothing and runs in the enclosing scope.
+     */
+    public BlockNode(Node[] statements) {
+        this.statements = statements;
+        this.slotCount = 0;
+        this.hasScope = false;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        if (!hasScope) {
+            return executeStatements(frame);
+        }
+
+        SymbolTable symbolTable = frame.getSymbolTable();
+        symbolTable.pushLocalScope(slotCount);
+
+        try {
+            return executeStatements(frame);
+        } finally {
+            symbolTable.popScope();
+        }
+    }
+
+    private Object executeStatements(Frame frame) {
+        for (Node statement : statements) {
+            Object o = statement.execute(frame);
+
+            if (o != null) {
+                return o;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package flow.interpreter.node;
+
+/**
+ * Compiled implementation of a method, installed by a compiling engine. Receives the already checked arguments and
+ * returns the boxed result. {@code maxDepth} is the number of calls the target may still nest; a target that would
+ * nest more throws {@link flow.interpreter.exception.CallDepthExceededException}.
+ */
+public interface CallTarget {
+
+    Object call(Object[] args, int maxDepth);
+}
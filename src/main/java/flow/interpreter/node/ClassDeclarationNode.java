@@ -0,0 +1,18 @@
+package flow.interpreter.node;
+
+import flow.interpreter.scope.ClassDeclaration;
+
+public class ClassDeclarationNode extends Node {
+
+    private final ClassDeclaration classDeclaration;
+
+    public ClassDeclarationNode(ClassDeclaration classDeclaration) {
+        this.classDeclaration = classDeclaration;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        frame.getSymbolTable().defineClass(classDeclaration);
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package flow.interpreter.node;
+
+public class ClassObjectVariableGetterNode extends ExpressionNode {
+
+    private final FieldReference field;
+
+    public ClassObjectVariableGetterNode(String objectName, String variableName) {
+        this.field = new FieldReference(objectName, variableName);
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        return field.getValue(frame);
+    }
+}
@@ -0,0 +1,23 @@
+package flow.interpreter.node;
+
+public class ClassObjectVariableSetterNode extends Node {
+
+    private final FieldReference field;
+    private final ExpressionNode expression;
+    // false if the type checker proved the value has the type of the field
+    private final boolean isCheckingType;
+
+    public ClassObjectVariableSetterNode(String objectName, String variableName, ExpressionNode expression,
+                                         boolean isCheckingType) {
+        this.field = new FieldReference(objectName, variableName);
+        this.expression = expression;
+        this.isCheckingType = isCheckingType;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        field.setValue(frame, expression.execute(frame), isCheckingType);
+
+        return null;
+    }
+}
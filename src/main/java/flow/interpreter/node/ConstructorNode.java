@@ -0,0 +1,68 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.value.FlowType;
+
+import java.util.List;
+
+public class ConstructorNode {
+
+    private final String name;
+    private final String[] paramNames;
+    private final FlowType[] paramTypes;
+    private final int[] paramSlots;
+    private final int slotCount;
+    private final Node body;
+
+    public ConstructorNode(String className, String[] paramNames, FlowType[] paramTypes, int[] paramSlots, int slotCount, Node body) {
+        this.name = className + " constructor";
+        this.paramNames = paramNames;
+        this.paramTypes = paramTypes;
+        this.paramSlots = paramSlots;
+        this.slotCount = slotCount;
+        this.body = body;
+    }
+
+    public void call(Frame frame, List<Object> args) {
+        if (args.size() != paramNames.length) {
+            throw new FlowException("Wrong number of arguments.");
+        }
+
+        frame.enterCall(name);
+
+        try {
+            execute(frame, args);
+        } catch (StackOverflowError e) {
+            frame.noteStackOverflow(name);
+            throw e;
+        } finally {
+            frame.exitCall();
+        }
+    }
+
+    private void execute(Frame frame, List<Object> args) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        symbolTable.pushLocalScope(slotCount);
+
+        try {
+            for (int i = 0; i < paramNames.length; i++) {
+                String argName = paramNames[i];
+                FlowType argType = paramTypes[i];
+                Object argValue = args.get(i);
+
+                // check if argType is same as argValue type
+                if (argType != FlowType.UNIT && !argType.accepts(FlowType.of(argValue))) {
+                    throw new FlowException("Wrong argument " + argName + " type. Expected " + argType + " but got " + argValue.getClass().getSimpleName() + ".");
+                }
+
+                symbolTable.defineCurrentScopeValue(paramSlots[i], new Symbol(argName, argValue, argType, true));
+            }
+
+            body.execute(frame);
+        } finally {
+            symbolTable.popScope();
+        }
+    }
+}
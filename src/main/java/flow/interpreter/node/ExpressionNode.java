@@ -0,0 +1,39 @@
+package flow.interpreter.node;
+
+/**
+ * Node producing a value. Besides the generic {@link #execute(Frame)}, expressions have primitive evaluation paths
+ * that callers expecting a certain type use to avoid boxing; nodes that can compute the primitive directly override
+ * them.
+ */
+public abstract class ExpressionNode extends Node {
+
+    public int executeInt(Frame frame) throws UnexpectedResultException {
+        Object value = execute(frame);
+
+        if (value instanceof Integer intValue) {
+            return intValue;
+        }
+
+        throw new UnexpectedResultException(value);
+    }
+
+    public double executeDouble(Frame frame) throws UnexpectedResultException {
+        Object value = execute(frame);
+
+        if (value instanceof Double doubleValue) {
+            return doubleValue;
+        }
+
+        throw new UnexpectedResultException(value);
+    }
+
+    public boolean executeBoolean(Frame frame) throws UnexpectedResultException {
+        Object value = execute(frame);
+
+        if (value instanceof Boolean booleanValue) {
+            return booleanValue;
+        }
+
+        throw new UnexpectedResultException(value);
+    }
+}
@@ -0,0 +1,19 @@
+package flow.interpreter.node;
+
+/**
+ * Evaluates an expression for its side effects only, e.g. {@code foo();} or {@code println(x);}.
+ */
+public class ExpressionStatementNode extends Node {
+
+    private final ExpressionNode expression;
+
+    public ExpressionStatementNode(ExpressionNode expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        expression.execute(frame);
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.ClassScope;
+import flow.interpreter.scope.ObjectShape;
+import flow.interpreter.scope.Scope;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.value.FlowType;
+
+import static flow.interpreter.util.Helpers.getClassName;
+
+/**
+ * Field of a named object, as read and written by {@code object.field}. The slot of the field is cached for the shape
+ * of the last object seen, so objects of the same class find the field without a lookup by name.
+ */
+class FieldReference {
+
+    private record CachedSlot(ObjectShape shape, int slot) {
+    }
+
+    private final String objectName;
+    private final String fieldName;
+    private CachedSlot cachedSlot;
+
+    FieldReference(String objectName, String fieldName) {
+        this.objectName = objectName;
+        this.fieldName = fieldName;
+    }
+
+    Object getValue(Frame frame) {
+        Scope scope = resolveObject(frame);
+        int slot = getSlot(scope);
+
+        return slot >= 0 ? ((ClassScope) scope).getValue(slot) : resolve(scope).getValue();
+    }
+
+    /**
+     * Writes the field, checking that the value has its type if {@code isCheckingType} is set.
+     */
+    void setValue(Frame frame, Object value, boolean isCheckingType) {
+        Scope scope = resolveObject(frame);
+        int slot = getSlot(scope);
+
+        if (slot >= 0) {
+            ClassScope object = (ClassScope) scope;
+            checkType(object.getType(slot), value, isCheckingType);
+            object.setValue(slot, value);
+        } else {
+            Symbol field = resolve(scope);
+            checkType(field.getType(), value, isCheckingType);
+            field.setValue(value);
+        }
+    }
+
+    private void checkType(FlowType type, Object value, boolean isCheckingType) {
+        if (isCheckingType && !type.accepts(FlowType.of(value))) {
+            throw new FlowException("Wrong type of variable `" + fieldName + "`. Expected " + type + " but got " + getClassName(value) + ".");
+        }
+    }
+
+    private Scope resolveObject(Frame frame) {
+        Symbol object = frame.getSymbolTable().resolve(objectName);
+
+        if (object == null) {
+            throw new FlowException("Object `" + objectName + "` is not declared.");
+        }
+
+        return object.getScope();
+    }
+
+    /**
+     * Returns the slot of the field if the scope is that of an object that declared it, or -1.
+     */
+    private int getSlot(Scope scope) {
+        if (scope instanceof ClassScope object) {
+            int slot = getSlot(object.getShape());
+
+            if (slot >= 0 && object.isDefined(slot)) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    // fields holding objects have no slot and are looked up by name, like anything else the object scope reaches
+    private Symbol resolve(Scope scope) {
+        Symbol field = scope.resolve(fieldName);
+
+        if (field == null) {
+            throw new FlowException("Variable `" + fieldName + "` is not declared.");
+        }
+
+        return field;
+    }
+
+    private int getSlot(ObjectShape shape) {
+        CachedSlot cached = cachedSlot;
+
+        if (cached == null || cached.shape() != shape) {
+            cached = new CachedSlot(shape, shape.getSlot(fieldName));
+            cachedSlot = cached;
+        }
+
+        return cached.slot();
+    }
+}
@@ -0,0 +1,98 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.value.FileLines;
+import flow.interpreter.value.FlowType;
+import flow.interpreter.value.Range;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import static flow.interpreter.util.Helpers.getClassName;
+
+public class ForNode extends Node {
+
+    private final String variableName;
+    private final ExpressionNode iterable;
+    private final Node body;
+    private final int slotCount;
+
+    public ForNode(String variableName, ExpressionNode iterable, Node body, int slotCount) {
+        this.variableName = variableName;
+        this.iterable = iterable;
+        this.body = body;
+        this.slotCount = slotCount;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        Object value = iterable.execute(frame);
+
+        if (value instanceof Range range) {
+            return iterate(range, frame);
+        }
+
+        if (value instanceof FileLines lines) {
+            return iterate(lines, frame);
+        }
+
+        String type = value != null ? getClassName(value) : "Unit";
+        throw new FlowException("Cannot iterate over value of type " + type + ".");
+    }
+
+    private Object iterate(Range range, Frame frame) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        symbolTable.pushLocalScope(slotCount);
+
+        try {
+            Symbol cycleVariable = new Symbol(variableName, null, FlowType.INT, true);
+            symbolTable.defineCurrentScopeValue(0, cycleVariable);
+
+            // the counter is a long, so stepping past Int.MAX_VALUE or Int.MIN_VALUE ends the loop instead of wrapping
+            boolean isDescending = range.isDescending();
+            long end = range.end();
+            long step = isDescending ? -range.step() : range.step();
+
+            for (long i = range.start(); isDescending ? i > end : i < end; i += step) {
+                cycleVariable.setInt((int) i);
+
+                Object o = body.execute(frame);
+                if (o != null) {
+                    return o;
+                }
+            }
+        } finally {
+            symbolTable.popScope();
+        }
+
+        return null;
+    }
+
+    private Object iterate(FileLines lines, Frame frame) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        symbolTable.pushLocalScope(slotCount);
+
+        // the file is read one line at a time and closed however the loop ends
+        try (BufferedReader reader = lines.open()) {
+            Symbol cycleVariable = new Symbol(variableName, null, FlowType.STRING, true);
+            symbolTable.defineCurrentScopeValue(0, cycleVariable);
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                cycleVariable.setValue(line);
+
+                Object o = body.execute(frame);
+                if (o != null) {
+                    return o;
+                }
+            }
+        } catch (IOException e) {
+            throw new FlowException("Cannot read from file: " + lines.path());
+        } finally {
+            symbolTable.popScope();
+        }
+
+        return null;
+    }
+}
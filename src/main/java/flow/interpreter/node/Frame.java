@@ -0,0 +1,192 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.output.FileOutputs;
+import flow.interpreter.output.OutputSink;
+import flow.interpreter.scope.SymbolTable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class Frame {
+
+    public static final int DEFAULT_MAX_CALL_DEPTH = 1 << 20;
+    public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    // Java stack a nested call of the node interpreter takes, with room for deeper expressions
+    private static final long STACK_BYTES_PER_CALL = 1024;
+    private static final long BASE_STACK_BYTES = 8L << 20;
+
+    private final SymbolTable symbolTable;
+    private final OutputSink output;
+    private final InputSource input;
+    private final FileOutputs files;
+    private final int maxCallDepth;
+    private final int parallelism;
+    private final long stackSize;
+    // created by the first parallel loop and shared with the frames of its tasks
+    private ExecutorService pool;
+    private int callDepth;
+    private String overflowName;
+    private int overflowDepth;
+
+    public Frame(SymbolTable symbolTable, OutputSink output, InputSource input) {
+        this(symbolTable, output, input, DEFAULT_MAX_CALL_DEPTH);
+    }
+
+    public Frame(SymbolTable symbolTable, OutputSink output, InputSource input, int maxCallDepth) {
+        this(symbolTable, output, input, maxCallDepth, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param parallelism how many threads parallel loops of the execution run on at most
+     */
+    public Frame(SymbolTable symbolTable, OutputSink output, InputSource input, int maxCallDepth, int parallelism) {
+        this(symbolTable, output, input, maxCallDepth, parallelism, 0);
+    }
+
+    /**
+     * @param parallelism how many threads parallel loops of the execution run on at most
+     * @param stackSize   the stack size of the threads of parallel loops, {@code 0} for the default of the JVM
+     */
+    public Frame(SymbolTable symbolTable, OutputSink output, InputSource input, int maxCallDepth, int parallelism,
+                 long stackSize) {
+        this(symbolTable, output, input, new FileOutputs(), maxCallDepth, parallelism, stackSize, null, 0);
+    }
+
+    private Frame(SymbolTable symbolTable, OutputSink output, InputSource input, FileOutputs files, int maxCallDepth,
+                  int parallelism, long stackSize, ExecutorService pool, int callDepth) {
+        this.symbolTable = symbolTable;
+        this.output = output;
+        this.input = input;
+        this.files = files;
+        this.maxCallDepth = maxCallDepth;
+        this.parallelism = parallelism;
+        this.stackSize = stackSize;
+        this.pool = pool;
+        this.callDepth = callDepth;
+    }
+
+    /**
+     * Creates the frame of a task of a parallel loop. The task runs in the current scope on a symbol table of its own,
+     * prints to the given sink and continues at the call depth of this frame.
+     */
+    Frame fork(OutputSink output) {
+        return new Frame(symbolTable.fork(), output, input, files, maxCallDepth, parallelism, stackSize, getPool(),
+                callDepth);
+    }
+
+    /**
+     * Returns the Java stack a thread needs to nest the given number of calls.
+     */
+    public static long stackSize(int maxCallDepth) {
+        return BASE_STACK_BYTES + STACK_BYTES_PER_CALL * maxCallDepth;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    public OutputSink getOutput() {
+        return output;
+    }
+
+    public InputSource getInput() {
+        return input;
+    }
+
+    public FileOutputs getFiles() {
+        return files;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the threads parallel loops run on, starting them on first use. They get the stack the program runs with,
+     * so a maximum call depth holds in the tasks too; the threads of a {@code ForkJoinPool} always get the default one.
+     */
+    ExecutorService getPool() {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(parallelism, task -> {
+                Thread thread = new Thread(null, task, "flow-parallel", stackSize);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return pool;
+    }
+
+    /**
+     * Ends the execution: the threads of parallel loops stop and written files are closed.
+     */
+    void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+
+        files.close();
+    }
+
+    /**
+     * Counts a call of the named method or constructor, failing once the maximum call depth is reached.
+     */
+    public void enterCall(String name) {
+        if (callDepth == maxCallDepth) {
+            throw callDepthExceeded(name);
+        }
+
+        callDepth++;
+    }
+
+    public void exitCall() {
+        callDepth--;
+    }
+
+    public FlowException callDepthExceeded(String name) {
+        return new FlowException("Maximum call depth of " + maxCallDepth + " exceeded in `" + name + "`.");
+    }
+
+    /**
+     * Returns how many calls can still be nested in the current one.
+     */
+    public int getRemainingCallDepth() {
+        return maxCallDepth - callDepth;
+    }
+
+    /**
+     * Remembers where the Java stack ran out. Only the innermost call is kept, and nothing is allocated, since there is
+     * no stack left to do it with; the error is reported by {@link #stackOverflow()} once the stack has unwound.
+     */
+    void noteStackOverflow(String name) {
+        if (overflowName == null) {
+            overflowName = name;
+            overflowDepth = callDepth;
+        }
+    }
+
+    /**
+     * Remembers where the Java stack ran out in compiled code, which counts its calls itself: the named method could
+     * still have nested the given number of calls.
+     */
+    void noteCompiledStackOverflow(String name, int remainingCallDepth) {
+        if (overflowName == null) {
+            overflowName = name;
+            overflowDepth = maxCallDepth - remainingCallDepth;
+        }
+    }
+
+    /**
+     * Reports that the Java stack ran out before the maximum call depth was reached.
+     */
+    FlowException stackOverflow() {
+        // the stack can also run out outside of any method, e.g. in a deeply nested expression
+        String place = overflowName != null ? " in `" + overflowName + "`" : "";
+
+        return new FlowException("Call stack overflow at call depth " + overflowDepth + place + ". Run with a larger maximum call depth, which also gives the program a larger stack.");
+    }
+}
@@ -0,0 +1,120 @@
+package flow.interpreter.node;
+
+import flow.interpreter.compiler.PrimitiveType;
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.ClassScope;
+import flow.interpreter.scope.LexicalAddress;
+import flow.interpreter.scope.Symbol;
+
+public class IdNode extends ExpressionNode {
+
+    private final String name;
+    private final LexicalAddress address;
+
+    public IdNode(String name, LexicalAddress address) {
+        this.name = name;
+        this.address = address;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        ClassScope object = resolveField(frame);
+        if (object != null) {
+            return object.getValue(address.slot());
+        }
+
+        return resolve(frame).getValue();
+    }
+
+    @Override
+    public int executeInt(Frame frame) throws UnexpectedResultException {
+        ClassScope object = resolveField(frame);
+        if (object != null) {
+            if (object.getPrimitiveType(address.slot()) == PrimitiveType.INT) {
+                return object.getInt(address.slot());
+            }
+
+            throw new UnexpectedResultException(object.getValue(address.slot()));
+        }
+
+        Symbol symbol = resolve(frame);
+
+        if (symbol.getPrimitiveType() == PrimitiveType.INT) {
+            return symbol.getInt();
+        }
+
+        throw new UnexpectedResultException(symbol.getValue());
+    }
+
+    @Override
+    public double executeDouble(Frame frame) throws UnexpectedResultException {
+        ClassScope object = resolveField(frame);
+        if (object != null) {
+            if (object.getPrimitiveType(address.slot()) == PrimitiveType.DOUBLE) {
+                return object.getDouble(address.slot());
+            }
+
+            throw new UnexpectedResultException(object.getValue(address.slot()));
+        }
+
+        Symbol symbol = resolve(frame);
+
+        if (symbol.getPrimitiveType() == PrimitiveType.DOUBLE) {
+            return symbol.getDouble();
+        }
+
+        throw new UnexpectedResultException(symbol.getValue());
+    }
+
+    @Override
+    public boolean executeBoolean(Frame frame) throws UnexpectedResultException {
+        ClassScope object = resolveField(frame);
+        if (object != null) {
+            if (object.getPrimitiveType(address.slot()) == PrimitiveType.BOOLEAN) {
+                return object.getBoolean(address.slot());
+            }
+
+            throw new UnexpectedResultException(object.getValue(address.slot()));
+        }
+
+        Symbol symbol = resolve(frame);
+
+        if (symbol.getPrimitiveType() == PrimitiveType.BOOLEAN) {
+            return symbol.getBoolean();
+        }
+
+        throw new UnexpectedResultException(symbol.getValue());
+    }
+
+    /**
+     * Returns the object scope if this is a field that has been declared, which is read without a symbol.
+     */
+    private ClassScope resolveField(Frame frame) {
+        ClassScope object = frame.getSymbolTable().resolveField(address);
+
+        if (object != null && !object.isInitialized(address.slot())) {
+            throw new FlowException("Variable " + name + " is not initialized.");
+        }
+
+        return object;
+    }
+
+    private Symbol resolve(Frame frame) {
+        Symbol symbol = frame.getSymbolTable().resolve(address, name);
+
+        if (symbol == null) {
+            throw new FlowException("Undeclared variable " + name + ".");
+        }
+
+        // QS default value for variables
+        if (!symbol.isInitialized()) {
+            throw new FlowException("Variable " + name + " is not initialized.");
+        }
+
+        return symbol;
+    }
+}
@@ -0,0 +1,37 @@
+package flow.interpreter.node;
+
+import static flow.interpreter.util.Helpers.toCondition;
+
+public class IfNode extends Node {
+
+    private final ExpressionNode condition;
+    private final Node thenBody;
+    private final Node elseBody;
+
+    public IfNode(ExpressionNode condition, Node thenBody, Node elseBody) {
+        this.condition = condition;
+        this.thenBody = thenBody;
+        this.elseBody = elseBody;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        if (test(frame)) {
+            return thenBody.execute(frame);
+        }
+
+        if (elseBody == null) {
+            return null;
+        }
+
+        return elseBody.execute(frame);
+    }
+
+    private boolean test(Frame frame) {
+        try {
+            return condition.executeBoolean(frame);
+        } catch (UnexpectedResultException e) {
+            return toCondition(e.getResult());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package flow.interpreter.node;
+
+public class LiteralNode extends ExpressionNode {
+
+    private final Object value;
+
+    public LiteralNode(Object value) {
+        this.value = value;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        return value;
+    }
+}
@@ -0,0 +1,110 @@
+package flow.interpreter.node;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of a pure method by argument values. The cache holds at most {@code capacity} results; once it is full,
+ * storing a result evicts the least recently used or the oldest one, depending on the eviction policy.
+ */
+public class MemoCache {
+
+    public enum Eviction {
+        /**
+         * Evicts the result that was looked up least recently.
+         */
+        LRU,
+
+        /**
+         * Evicts the result that was stored first.
+         */
+        FIFO;
+
+        public static Eviction fromName(String name) {
+            for (Eviction eviction : values()) {
+                if (eviction.name().equalsIgnoreCase(name)) {
+                    return eviction;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private final int capacity;
+    private final Eviction eviction;
+    private final Map<List<Object>, Object> results;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public MemoCache(int capacity, Eviction eviction) {
+        this.capacity = capacity;
+        this.eviction = eviction;
+        this.results = new LinkedHashMap<>(16, 0.75f, eviction == Eviction.LRU) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                if (size() <= MemoCache.this.capacity) {
+                    return false;
+                }
+
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the result stored for the arguments, or {@code null} if there is none.
+     */
+    public synchronized Object get(List<Object> args) {
+        Object result = results.get(args);
+
+        if (result != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+
+        return result;
+    }
+
+    public synchronized void put(List<Object> args, Object result) {
+        results.put(args, result);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the share of lookups that found a result, or 0 if there were none.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
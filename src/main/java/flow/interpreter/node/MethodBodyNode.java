@@ -0,0 +1,40 @@
+package flow.interpreter.node;
+
+public class MethodBodyNode extends Node {
+
+    private final Node[] statements;
+    private final boolean endsWithReturn;
+
+    public MethodBodyNode(Node[] statements) {
+        this(statements, statements.length > 0 && statements[statements.length - 1] instanceof ReturnNode);
+    }
+
+    /**
+     * Creates a body whose source ends with a return or not, which is kept when unreachable statements were dropped.
+     */
+    public MethodBodyNode(Node[] statements, boolean endsWithReturn) {
+        this.statements = statements;
+        this.endsWithReturn = endsWithReturn;
+    }
+
+    public boolean endsWithReturn() {
+        return endsWithReturn;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        for (Node statement : statements) {
+            if (statement instanceof ReturnNode) {
+                return statement.execute(frame);
+            }
+
+            Object returnedValue = statement.execute(frame);
+
+            if (returnedValue != null) {
+                return returnedValue;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package flow.interpreter.node;
+
+import flow.interpreter.scope.MethodDeclaration;
+
+public class MethodDeclarationNode extends Node {
+
+    private final MethodNode method;
+
+    public MethodDeclarationNode(MethodNode method) {
+        this.method = method;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        frame.getSymbolTable().defineGlobalMethod(new MethodDeclaration(method.getMethodName(), method.getReturnType(), method));
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.*;
+import flow.interpreter.value.FlowType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MethodInvocationNode extends ExpressionNode {
+
+    /**
+     * Method resolved by this call site. It stays valid while the program declares no new class or global method and,
+     * for class methods, while the called object has the same class.
+     */
+    private record CachedTarget(GlobalScope globalScope, int version, FlowType classType, MethodNode method) {
+
+        boolean matches(GlobalScope globalScope, FlowType classType) {
+            return this.globalScope == globalScope && version == globalScope.getVersion() && this.classType == classType;
+        }
+    }
+
+    private final String objectName;
+    private final String methodName;
+    private final ExpressionNode[] args;
+    // false if the type checker proved the arguments match the parameters
+    private final boolean isCheckingArgs;
+    private CachedTarget cachedTarget;
+
+    public MethodInvocationNode(String objectName, String methodName, ExpressionNode[] args, boolean isCheckingArgs) {
+        this.objectName = objectName;
+        this.methodName = methodName;
+        this.args = args;
+        this.isCheckingArgs = isCheckingArgs;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        GlobalScope globalScope = symbolTable.getGlobalScope();
+        Scope currentScope = symbolTable.currentScope();
+        String objectName = this.objectName != null ? this.objectName : getEnclosingObjectName(currentScope);
+
+        // global method
+        if (objectName == null) {
+            return lookupGlobalMethod(globalScope).call(frame, globalScope, evaluateArgs(frame), isCheckingArgs);
+        }
+
+        // class method
+        Symbol object = currentScope.resolve(objectName);
+
+        // check if object exists
+        if (object == null) {
+            throw new FlowException("Object " + objectName + " does not exist.");
+        }
+
+        return lookupClassMethod(globalScope, object.getType()).call(frame, object.getScope(), evaluateArgs(frame), isCheckingArgs);
+    }
+
+    private MethodNode lookupGlobalMethod(GlobalScope globalScope) {
+        CachedTarget target = cachedTarget;
+
+        if (target != null && target.matches(globalScope, null)) {
+            return target.method();
+        }
+
+        MethodDeclaration methodDeclaration = globalScope.getGlobalMethod(methodName);
+
+        if (methodDeclaration == null) {
+            throw new FlowException("Method `" + methodName + "` does not exist.");
+        }
+
+        cachedTarget = new CachedTarget(globalScope, globalScope.getVersion(), null, methodDeclaration.getMethod());
+
+        return methodDeclaration.getMethod();
+    }
+
+    private MethodNode lookupClassMethod(GlobalScope globalScope, FlowType classType) {
+        CachedTarget target = cachedTarget;
+
+        if (target != null && target.matches(globalScope, classType)) {
+            return target.method();
+        }
+
+        ClassDeclaration classDeclaration = globalScope.getClassDeclaration(classType.getName());
+
+        if (classDeclaration == null) {
+            throw new FlowException("Class " + classType + " does not exist.");
+        }
+
+        MethodNode method = classDeclaration.getMethod(methodName);
+
+        if (method == null) {
+            throw new FlowException("Method " + methodName + " does not exist.");
+        }
+
+        cachedTarget = new CachedTarget(globalScope, globalScope.getVersion(), classType, method);
+
+        return method;
+    }
+
+    private static String getEnclosingObjectName(Scope scope) {
+        while (scope != null && scope.getType() != ScopeType.CLASS) {
+            scope = scope.getParent();
+        }
+
+        return scope != null ? scope.getScopeName() : null;
+    }
+
+    private List<Object> evaluateArgs(Frame frame) {
+        List<Object> values = new ArrayList<>(args.length);
+
+        for (ExpressionNode arg : args) {
+            values.add(arg.execute(frame));
+        }
+
+        return values;
+    }
+}
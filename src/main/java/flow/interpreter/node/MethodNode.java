@@ -0,0 +1,196 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.CallDepthExceededException;
+import flow.interpreter.exception.CallStackOverflowError;
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.Scope;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.value.FlowType;
+
+import java.util.List;
+
+import static flow.interpreter.util.Helpers.getClassName;
+
+/**
+ * Compiled method: parameters, declared return type and body, shared by global methods and class methods.
+ */
+public class MethodNode {
+
+    private final String methodName;
+    private final FlowType returnType;
+    private final String[] paramNames;
+    private final FlowType[] paramTypes;
+    private final int[] paramSlots;
+    private final int slotCount;
+    private final MethodBodyNode body;
+    private final boolean endsWithReturn;
+    private CallTarget compiled;
+    private MemoCache memoCache;
+    private boolean isReturnVerified;
+
+    public MethodNode(String methodName, FlowType returnType, String[] paramNames, FlowType[] paramTypes,
+                      int[] paramSlots, int slotCount, MethodBodyNode body) {
+        this.methodName = methodName;
+        this.returnType = returnType;
+        this.paramNames = paramNames;
+        this.paramTypes = paramTypes;
+        this.paramSlots = paramSlots;
+        this.slotCount = slotCount;
+        this.body = body;
+        this.endsWithReturn = body.endsWithReturn();
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public FlowType getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * Installs a compiled implementation. Argument checks still run here, the return value is guaranteed by the
+     * compiler.
+     */
+    public void setCompiled(CallTarget compiled) {
+        this.compiled = compiled;
+    }
+
+    public boolean isCompiled() {
+        return compiled != null;
+    }
+
+    /**
+     * Keeps the results of the method in the given cache. Only pure methods returning a value may be memoized.
+     */
+    public void setMemoCache(MemoCache memoCache) {
+        this.memoCache = memoCache;
+    }
+
+    public MemoCache getMemoCache() {
+        return memoCache;
+    }
+
+    /**
+     * Marks the returns of the method as proved by the type checker, so the returned value is not checked again.
+     */
+    public void setReturnVerified(boolean isReturnVerified) {
+        this.isReturnVerified = isReturnVerified;
+    }
+
+    /**
+     * Calls the method. Arguments are checked against the parameters unless the type checker proved they match.
+     */
+    public Object call(Frame frame, Scope parentScope, List<Object> args, boolean isCheckingArgs) {
+        if (memoCache == null) {
+            return invoke(frame, parentScope, args, isCheckingArgs);
+        }
+
+        Object result = memoCache.get(args);
+
+        if (result == null) {
+            result = invoke(frame, parentScope, args, isCheckingArgs);
+            memoCache.put(args, result);
+        }
+
+        return result;
+    }
+
+    private Object invoke(Frame frame, Scope parentScope, List<Object> args, boolean isCheckingArgs) {
+        frame.enterCall(methodName);
+
+        try {
+            if (isCheckingArgs) {
+                checkArgs(args);
+            }
+
+            if (compiled != null) {
+                return callCompiled(frame, args);
+            }
+
+            return execute(frame, parentScope, args);
+        } catch (StackOverflowError e) {
+            frame.noteStackOverflow(methodName);
+            throw e;
+        } finally {
+            frame.exitCall();
+        }
+    }
+
+    private Object execute(Frame frame, Scope parentScope, List<Object> args) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+
+        Scope methodScope = symbolTable.pushLocalScope(slotCount);
+        methodScope.setParent(parentScope);
+
+        try {
+            defineParams(symbolTable, args);
+
+            return getReturnValue(body.execute(frame));
+        } finally {
+            symbolTable.popScope();
+        }
+    }
+
+    private void checkArgs(List<Object> args) {
+        if (paramNames == null) {
+            return;
+        }
+
+        if (paramNames.length != args.size()) {
+            throw new FlowException("Wrong number of arguments. Expected " + paramNames.length + " but got " + args.size() + ".");
+        }
+
+        for (int i = 0; i < paramNames.length; i++) {
+            FlowType paramType = paramTypes[i];
+            Object argValue = args.get(i);
+
+            // check if argType is same as argValue type
+            if (paramType != FlowType.UNIT && !paramType.accepts(FlowType.of(argValue))) {
+                throw new FlowException("Wrong argument " + paramNames[i] + " type. Expected " + paramType + " but got " + argValue.getClass().getSimpleName() + ".");
+            }
+        }
+    }
+
+    private void defineParams(SymbolTable symbolTable, List<Object> args) {
+        if (paramNames == null) {
+            return;
+        }
+
+        for (int i = 0; i < paramNames.length; i++) {
+            symbolTable.defineCurrentScopeValue(paramSlots[i], new Symbol(paramNames[i], args.get(i), paramTypes[i], true));
+        }
+    }
+
+    private Object callCompiled(Frame frame, List<Object> args) {
+        try {
+            return compiled.call(paramNames == null ? new Object[0] : args.toArray(), frame.getRemainingCallDepth());
+        } catch (CallDepthExceededException e) {
+            throw frame.callDepthExceeded(e.getMethodName());
+        } catch (CallStackOverflowError e) {
+            frame.noteCompiledStackOverflow(e.getMethodName(), e.getRemainingCallDepth());
+            throw e;
+        }
+    }
+
+    private Object getReturnValue(Object returnValue) {
+        if (isReturnVerified) {
+            return returnValue;
+        }
+
+        if (returnType != FlowType.UNIT && !endsWithReturn) {
+            throw new FlowException("Missing return statement in `" + methodName + "` method. Expected return type `" + returnType + "`.");
+        }
+
+        if (returnValue != null) {
+            if (!returnType.accepts(FlowType.of(returnValue))) {
+                throw new FlowException("Return type is not the same as method return type. Expected " + returnType + " but got " + getClassName(returnValue) + ".");
+            }
+        } else if (returnType != FlowType.UNIT) {
+            throw new FlowException("Missing return statement. Expected " + returnType + ".");
+        }
+
+        return returnValue;
+    }
+}
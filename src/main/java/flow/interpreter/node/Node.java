@@ -0,0 +1,9 @@
+package flow.interpreter.node;
+
+public abstract class Node {
+
+    /**
+     * Executes the node. Statements return a non-null value when it has to be propagated as a method return value.
+     */
+    public abstract Object execute(Frame frame);
+}
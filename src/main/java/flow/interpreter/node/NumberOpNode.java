@@ -0,0 +1,193 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+
+import static flow.interpreter.util.Helpers.*;
+
+/**
+ * Arithmetic operator that specializes itself on the operand types it sees. The first evaluation picks the Int,
+ * Double or String variant, which only checks that the operands still have that type; once they change, the node
+ * stays generic for good.
+ */
+public class NumberOpNode extends ExpressionNode {
+
+    private enum State {UNINITIALIZED, INT, DOUBLE, STRING, GENERIC}
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+    private final String op;
+    private final char operator;
+    private State state = State.UNINITIALIZED;
+
+    public NumberOpNode(ExpressionNode left, String op, ExpressionNode right) {
+        this.left = left;
+        this.op = op;
+        this.operator = op.charAt(0);
+        this.right = right;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        return switch (state) {
+            case INT -> executeIntState(frame);
+            case DOUBLE -> executeDoubleState(frame);
+            case STRING -> executeStringState(frame);
+            case UNINITIALIZED -> specialize(left.execute(frame), right.execute(frame));
+            case GENERIC -> compute(left.execute(frame), right.execute(frame));
+        };
+    }
+
+    @Override
+    public int executeInt(Frame frame) throws UnexpectedResultException {
+        if (state != State.INT) {
+            return expectInt(execute(frame));
+        }
+
+        int val1;
+        try {
+            val1 = left.executeInt(frame);
+        } catch (UnexpectedResultException e) {
+            return expectInt(generalize(e.getResult(), right.execute(frame)));
+        }
+
+        int val2;
+        try {
+            val2 = right.executeInt(frame);
+        } catch (UnexpectedResultException e) {
+            return expectInt(generalize(val1, e.getResult()));
+        }
+
+        return intOp(val1, val2);
+    }
+
+    @Override
+    public double executeDouble(Frame frame) throws UnexpectedResultException {
+        if (state != State.DOUBLE) {
+            return expectDouble(execute(frame));
+        }
+
+        double val1;
+        try {
+            val1 = left.executeDouble(frame);
+        } catch (UnexpectedResultException e) {
+            return expectDouble(generalize(e.getResult(), right.execute(frame)));
+        }
+
+        double val2;
+        try {
+            val2 = right.executeDouble(frame);
+        } catch (UnexpectedResultException e) {
+            return expectDouble(generalize(val1, e.getResult()));
+        }
+
+        return doubleOp(val1, val2);
+    }
+
+    private Object executeIntState(Frame frame) {
+        try {
+            return executeInt(frame);
+        } catch (UnexpectedResultException e) {
+            return e.getResult();
+        }
+    }
+
+    private Object executeDoubleState(Frame frame) {
+        try {
+            return executeDouble(frame);
+        } catch (UnexpectedResultException e) {
+            return e.getResult();
+        }
+    }
+
+    private Object executeStringState(Frame frame) {
+        Object val1 = left.execute(frame);
+        Object val2 = right.execute(frame);
+
+        if (val1 instanceof String || val2 instanceof String) {
+            return val1.toString() + val2.toString();
+        }
+
+        return generalize(val1, val2);
+    }
+
+    private Object specialize(Object val1, Object val2) {
+        if (val1 instanceof Integer && val2 instanceof Integer) {
+            state = State.INT;
+        } else if (val1 instanceof Double && val2 instanceof Double) {
+            state = State.DOUBLE;
+        } else if ((val1 instanceof String || val2 instanceof String) && operator == '+') {
+            state = State.STRING;
+        } else {
+            state = State.GENERIC;
+        }
+
+        return compute(val1, val2);
+    }
+
+    private Object generalize(Object val1, Object val2) {
+        state = State.GENERIC;
+
+        return compute(val1, val2);
+    }
+
+    private int intOp(int val1, int val2) {
+        return switch (operator) {
+            case '+' -> val1 + val2;
+            case '-' -> val1 - val2;
+            case '*' -> val1 * val2;
+            case '/' -> val1 / val2;
+            default -> val1 % val2;
+        };
+    }
+
+    private double doubleOp(double val1, double val2) {
+        return switch (operator) {
+            case '+' -> val1 + val2;
+            case '-' -> val1 - val2;
+            case '*' -> val1 * val2;
+            case '/' -> val1 / val2;
+            default -> val1 % val2;
+        };
+    }
+
+    private static int expectInt(Object value) throws UnexpectedResultException {
+        if (value instanceof Integer intValue) {
+            return intValue;
+        }
+
+        throw new UnexpectedResultException(value);
+    }
+
+    private static double expectDouble(Object value) throws UnexpectedResultException {
+        if (value instanceof Double doubleValue) {
+            return doubleValue;
+        }
+
+        throw new UnexpectedResultException(value);
+    }
+
+    private Object compute(Object val1, Object val2) {
+        if (val1 instanceof Integer intValue1 && val2 instanceof Integer intValue2) {
+            return intOp(intValue1, intValue2);
+        }
+
+        if (val1 instanceof Double doubleValue1 && val2 instanceof Double doubleValue2) {
+            return doubleOp(doubleValue1, doubleValue2);
+        }
+
+        // get type of val1 and val2
+        String type1 = getClassName(val1);
+        String type2 = getClassName(val2);
+
+        if (type1.equals("String") || type2.equals("String")) {
+            return getStringOpResult(op, val1.toString(), val2.toString());
+        }
+
+        // check if types are same
+        if (!type1.equals(type2)) {
+            throw new FlowException("Wrong type of arguments in expression. Expected " + type1 + " but got " + type2 + ".");
+        }
+
+        throw new FlowException("Wrong type of arguments in expression. Expected String, Int or Double but got " + type1 + ".");
+    }
+}
@@ -0,0 +1,93 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ObjectDeclarationNode extends Node {
+
+    /**
+     * Class resolved by this declaration, valid while the program declares no new class or global method.
+     */
+    private record CachedClass(GlobalScope globalScope, int version, ClassDeclaration classDeclaration) {
+    }
+
+    private final String objectName;
+    private final String className;
+    private final boolean isDeclaration;
+    private final boolean isMutable;
+    private final ExpressionNode[] args;
+    private CachedClass cachedClass;
+
+    public ObjectDeclarationNode(String objectName, String className, boolean isDeclaration, boolean isMutable, ExpressionNode[] args) {
+        this.objectName = objectName;
+        this.className = className;
+        this.isDeclaration = isDeclaration;
+        this.isMutable = isMutable;
+        this.args = args;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        boolean isMutable = this.isMutable;
+
+        // means assignment
+        if (!isDeclaration) {
+            Symbol symbol = symbolTable.resolve(objectName);
+            if (symbol == null) {
+                throw new FlowException("Cannot assign to undeclared variable " + objectName);
+            }
+
+            if (!symbol.isMutable()) {
+                throw new FlowException("Cannot assign to immutable variable " + objectName);
+            }
+
+            isMutable = true;
+            symbolTable.remove(objectName);
+        }
+
+        ClassDeclaration classDeclaration = lookupClass(symbolTable.getGlobalScope());
+        ConstructorNode constructor = classDeclaration.getConstructor();
+
+        if (constructor == null && args.length > 0) {
+            throw new FlowException("Expected no arguments but got " + args.length + ".");
+        }
+
+        if (symbolTable.currentScope().resolve(objectName) != null) {
+            throw new FlowException("Object " + objectName + " already exists.");
+        }
+
+        List<Object> argValues = new ArrayList<>(args.length);
+        for (ExpressionNode arg : args) {
+            argValues.add(arg.execute(frame));
+        }
+
+        Symbol objectSymbol = new Symbol(objectName, classDeclaration, classDeclaration.getType(), isMutable);
+        symbolTable.defineCurrentScopeValue(objectSymbol);
+
+        classDeclaration.instantiate(frame, objectSymbol, argValues);
+
+        return null;
+    }
+
+    private ClassDeclaration lookupClass(GlobalScope globalScope) {
+        CachedClass cached = cachedClass;
+
+        if (cached != null && cached.globalScope() == globalScope && cached.version() == globalScope.getVersion()) {
+            return cached.classDeclaration();
+        }
+
+        ClassDeclaration classDeclaration = globalScope.getClassDeclaration(className);
+
+        if (classDeclaration == null) {
+            throw new FlowException("Class " + className + " does not exist.");
+        }
+
+        cachedClass = new CachedClass(globalScope, globalScope.getVersion(), classDeclaration);
+
+        return classDeclaration;
+    }
+}
@@ -0,0 +1,215 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.output.StringOutputSink;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.value.FlowType;
+import flow.interpreter.value.Range;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static flow.interpreter.util.Helpers.getClassName;
+
+/**
+ * {@code parallel for} over a range. The range is split into chunks of consecutive values, which run as tasks on the
+ * threads of the execution. While the loop waits for a chunk no thread has started yet, it runs the chunk itself, so
+ * nested loops never wait for threads that all wait themselves. Every task has scopes of its own and prints into a buffer of its own, and the
+ * buffers are written in the order of the range, so the output is that of the sequential loop. The compiler rejects
+ * loops whose body writes anything the tasks share.
+ * <p>
+ * Like the sequential loop, the parallel one ends at the first return or failure in range order: chunks after it stop
+ * at their next value and their output is dropped.
+ */
+public class ParallelForNode extends Node {
+
+    // more chunks than threads, so threads that finish early take over the remaining chunks
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final String variableName;
+    private final ExpressionNode iterable;
+    private final Node body;
+    private final int slotCount;
+
+    public ParallelForNode(String variableName, ExpressionNode iterable, Node body, int slotCount) {
+        this.variableName = variableName;
+        this.iterable = iterable;
+        this.body = body;
+        this.slotCount = slotCount;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        Object value = iterable.execute(frame);
+
+        if (!(value instanceof Range range)) {
+            String type = value != null ? getClassName(value) : "Unit";
+            throw new FlowException("Cannot iterate in parallel over value of type " + type + ".");
+        }
+
+        long count = countValues(range);
+
+        if (count == 0) {
+            return null;
+        }
+
+        ExecutorService pool = frame.getPool();
+        int chunkCount = (int) Math.min(count, (long) frame.getParallelism() * CHUNKS_PER_THREAD);
+        AtomicInteger firstEnded = new AtomicInteger(chunkCount);
+        Chunk[] chunks = new Chunk[chunkCount];
+
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = new Chunk(i, frame.fork(new StringOutputSink()), range,
+                    count * i / chunkCount, count * (i + 1) / chunkCount, firstEnded);
+            pool.execute(chunks[i]);
+        }
+
+        try {
+            for (Chunk chunk : chunks) {
+                chunk.join();
+                frame.getOutput().write(chunk.frame.getOutput().toString());
+
+                if (chunk.failure != null) {
+                    throw chunk.failure;
+                }
+
+                if (chunk.error != null) {
+                    throw chunk.error;
+                }
+
+                if (chunk.result != null) {
+                    return chunk.result;
+                }
+            }
+        } finally {
+            // no task outlives the loop
+            for (Chunk chunk : chunks) {
+                chunk.cancel();
+            }
+        }
+
+        return null;
+    }
+
+    private static long countValues(Range range) {
+        long distance = range.isDescending()
+                ? (long) range.start() - range.end()
+                : (long) range.end() - range.start();
+
+        return distance > 0 ? (distance + range.step() - 1) / range.step() : 0;
+    }
+
+    /**
+     * Values {@code from} (inclusive) to {@code to} (exclusive) of the range, counted from its start.
+     */
+    private final class Chunk implements Runnable {
+
+        private final int index;
+        private final Frame frame;
+        private final Range range;
+        private final long from;
+        private final long to;
+        // index of the first chunk that returned or failed
+        private final AtomicInteger firstEnded;
+        private final AtomicBoolean isStarted = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Object result;
+        private RuntimeException failure;
+        private Error error;
+
+        Chunk(int index, Frame frame, Range range, long from, long to, AtomicInteger firstEnded) {
+            this.index = index;
+            this.frame = frame;
+            this.range = range;
+            this.from = from;
+            this.to = to;
+            this.firstEnded = firstEnded;
+        }
+
+        /**
+         * Runs the chunk, unless a thread already started it.
+         */
+        @Override
+        public void run() {
+            if (!isStarted.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                result = iterate();
+            } catch (RuntimeException e) {
+                failure = e;
+            } catch (StackOverflowError e) {
+                failure = frame.stackOverflow();
+            } catch (Error e) {
+                error = e;
+            } finally {
+                if (result != null || failure != null || error != null) {
+                    firstEnded.accumulateAndGet(index, Math::min);
+                }
+
+                done.countDown();
+            }
+        }
+
+        /**
+         * Waits for the chunk to end, running it on the current thread if no thread started it yet.
+         */
+        void join() {
+            run();
+            awaitDone();
+        }
+
+        /**
+         * Keeps the chunk from starting, or waits for it to end if it already did.
+         */
+        void cancel() {
+            if (isStarted.compareAndSet(false, true)) {
+                done.countDown();
+            }
+
+            awaitDone();
+        }
+
+        private void awaitDone() {
+            boolean isInterrupted = false;
+
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private Object iterate() {
+            SymbolTable symbolTable = frame.getSymbolTable();
+            symbolTable.pushLocalScope(slotCount);
+
+            Symbol cycleVariable = new Symbol(variableName, null, FlowType.INT, true);
+            symbolTable.defineCurrentScopeValue(0, cycleVariable);
+
+            long step = range.isDescending() ? -range.step() : range.step();
+
+            for (long i = from; i < to && firstEnded.get() > index; i++) {
+                cycleVariable.setInt((int) (range.start() + i * step));
+
+                Object o = body.execute(frame);
+                if (o != null) {
+                    return o;
+                }
+            }
+
+            return null;
+        }
+    }
+}
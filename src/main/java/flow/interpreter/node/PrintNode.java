@@ -0,0 +1,36 @@
+package flow.interpreter.node;
+
+import flow.interpreter.output.OutputSink;
+
+public class PrintNode extends ExpressionNode {
+
+    private final ExpressionNode expression;
+    private final boolean newLine;
+
+    public PrintNode(ExpressionNode expression, boolean newLine) {
+        this.expression = expression;
+        this.newLine = newLine;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        String text;
+
+        if (expression != null) {
+            Object obj = expression.execute(frame);
+            text = obj != null ? obj.toString() : "";
+        } else {
+            text = "";
+        }
+
+        OutputSink output = frame.getOutput();
+
+        if (newLine) {
+            output.write("\n");
+        }
+
+        output.write(text);
+
+        return null;
+    }
+}
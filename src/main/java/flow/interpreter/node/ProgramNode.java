@@ -0,0 +1,45 @@
+package flow.interpreter.node;
+
+public class ProgramNode extends Node {
+
+    private final Node[] statements;
+
+    public ProgramNode(Node[] statements) {
+        this.statements = statements;
+    }
+
+    /**
+     * Runs all global statements and flushes the program output. Written files are closed and the threads of parallel
+     * loops stopped also when a statement fails. A Java stack overflow is reported here, after the stack has unwound.
+     */
+    @Override
+    public Object execute(Frame frame) {
+        try {
+            executeStatements(frame);
+        } catch (RuntimeException e) {
+            try {
+                frame.close();
+            } catch (RuntimeException closeError) {
+                e.addSuppressed(closeError);
+            }
+
+            throw e;
+        }
+
+        frame.close();
+        frame.getOutput().write("\n");
+        frame.getOutput().flush();
+
+        return null;
+    }
+
+    private void executeStatements(Frame frame) {
+        try {
+            for (Node statement : statements) {
+                statement.execute(frame);
+            }
+        } catch (StackOverflowError e) {
+            throw frame.stackOverflow();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.value.Range;
+
+import static flow.interpreter.util.Helpers.getClassName;
+
+public class RangeNode extends ExpressionNode {
+
+    private final ExpressionNode start;
+    private final ExpressionNode end;
+    private final ExpressionNode step;
+    private final boolean isDescending;
+
+    public RangeNode(ExpressionNode start, ExpressionNode end, ExpressionNode step, boolean isDescending) {
+        this.start = start;
+        this.end = end;
+        this.step = step;
+        this.isDescending = isDescending;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        int startValue = evaluateBound(start, frame);
+        int endValue = evaluateBound(end, frame);
+        int stepValue = step != null ? evaluateBound(step, frame) : 1;
+
+        return new Range(startValue, endValue, stepValue, isDescending);
+    }
+
+    private static int evaluateBound(ExpressionNode bound, Frame frame) {
+        try {
+            return bound.executeInt(frame);
+        } catch (UnexpectedResultException e) {
+            Object value = e.getResult();
+            String type = value != null ? getClassName(value) : "Unit";
+
+            throw new FlowException("Range bounds must be Int but got " + type + ".");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+
+public class ReadConsoleNode extends ExpressionNode {
+
+    private final boolean wholeLine;
+
+    public ReadConsoleNode(boolean wholeLine) {
+        this.wholeLine = wholeLine;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        // show everything printed so far, such as a prompt, before waiting for input
+        frame.getOutput().flush();
+
+        String text = wholeLine ? frame.getInput().readLine() : frame.getInput().readToken();
+
+        if (text == null)
+            throw new FlowException("Cannot read from console");
+
+        if (wholeLine) {
+            return text;
+        }
+
+        return text.charAt(0);
+    }
+}
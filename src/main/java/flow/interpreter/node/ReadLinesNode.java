@@ -0,0 +1,30 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.value.FileLines;
+
+public class ReadLinesNode extends ExpressionNode {
+
+    private final ExpressionNode path;
+    private final String pathText;
+
+    public ReadLinesNode(ExpressionNode path, String pathText) {
+        this.path = path;
+        this.pathText = pathText;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        Object obj = path.execute(frame);
+
+        if (obj == null)
+            throw new FlowException("Cannot read from file: " + pathText + " is null");
+
+        if (!(obj instanceof String))
+            throw new FlowException("Cannot read from file: " + pathText + " is not a string");
+
+        frame.getFiles().flush(obj.toString());
+
+        return new FileLines(obj.toString());
+    }
+}
@@ -0,0 +1,116 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+
+/**
+ * Relation operator that specializes itself on the operand types it sees, like {@link NumberOpNode}: Int and Double
+ * operands are compared unboxed until a different type shows up, after which the node stays generic.
+ */
+public class RelationOpNode extends ExpressionNode {
+
+    private enum State {UNINITIALIZED, INT, DOUBLE, GENERIC}
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+    private final boolean isEquality;
+
+    // outcome of the relation for a negative, zero and positive comparison result
+    private final boolean whenLess;
+    private final boolean whenEqual;
+    private final boolean whenGreater;
+
+    private State state = State.UNINITIALIZED;
+
+    public RelationOpNode(ExpressionNode left, String relationOp, ExpressionNode right) {
+        this.left = left;
+        this.right = right;
+        this.isEquality = relationOp.equals("==") || relationOp.equals("!=");
+        this.whenLess = relationOp.equals("!=") || relationOp.startsWith("<");
+        this.whenEqual = relationOp.equals("==") || relationOp.equals("<=") || relationOp.equals(">=");
+        this.whenGreater = relationOp.equals("!=") || relationOp.startsWith(">");
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        return executeBoolean(frame);
+    }
+
+    @Override
+    public boolean executeBoolean(Frame frame) {
+        return switch (state) {
+            case INT -> executeIntState(frame);
+            case DOUBLE -> executeDoubleState(frame);
+            case UNINITIALIZED -> specialize(left.execute(frame), right.execute(frame));
+            case GENERIC -> compare(left.execute(frame), right.execute(frame));
+        };
+    }
+
+    private boolean executeIntState(Frame frame) {
+        int val1;
+        try {
+            val1 = left.executeInt(frame);
+        } catch (UnexpectedResultException e) {
+            return generalize(e.getResult(), right.execute(frame));
+        }
+
+        try {
+            return test(Integer.compare(val1, right.executeInt(frame)));
+        } catch (UnexpectedResultException e) {
+            return generalize(val1, e.getResult());
+        }
+    }
+
+    private boolean executeDoubleState(Frame frame) {
+        double val1;
+        try {
+            val1 = left.executeDouble(frame);
+        } catch (UnexpectedResultException e) {
+            return generalize(e.getResult(), right.execute(frame));
+        }
+
+        // Double.compare agrees with Double.equals and Double.compareTo used for boxed values
+        try {
+            return test(Double.compare(val1, right.executeDouble(frame)));
+        } catch (UnexpectedResultException e) {
+            return generalize(val1, e.getResult());
+        }
+    }
+
+    private boolean specialize(Object val1, Object val2) {
+        if (val1 instanceof Integer && val2 instanceof Integer) {
+            state = State.INT;
+        } else if (val1 instanceof Double && val2 instanceof Double) {
+            state = State.DOUBLE;
+        } else {
+            state = State.GENERIC;
+        }
+
+        return compare(val1, val2);
+    }
+
+    private boolean generalize(Object val1, Object val2) {
+        state = State.GENERIC;
+
+        return compare(val1, val2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean compare(Object val1, Object val2) {
+        if (val1.getClass() != val2.getClass()) {
+            String leftClassName = val1.getClass().getSimpleName();
+            String rightClassName = val2.getClass().getSimpleName();
+
+            throw new FlowException("Cannot compare values of different types: " + leftClassName + " and " + rightClassName);
+        }
+
+        if (isEquality) {
+            return val1.equals(val2) ? whenEqual : whenLess;
+        }
+
+        return test(((Comparable<Object>) val1).compareTo(val2));
+    }
+
+    private boolean test(int comparison) {
+        return comparison < 0 ? whenLess : comparison == 0 ? whenEqual : whenGreater;
+    }
+}
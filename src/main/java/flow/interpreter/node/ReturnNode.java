@@ -0,0 +1,23 @@
+package flow.interpreter.node;
+
+public class ReturnNode extends Node {
+
+    private final ExpressionNode expression;
+
+    public ReturnNode(ExpressionNode expression) {
+        this.expression = expression;
+    }
+
+    public ExpressionNode getExpression() {
+        return expression;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        if (expression == null) {
+            return null;
+        }
+
+        return expression.execute(frame);
+    }
+}
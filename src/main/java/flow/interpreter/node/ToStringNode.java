@@ -0,0 +1,23 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+
+public class ToStringNode extends ExpressionNode {
+
+    private final ExpressionNode expression;
+
+    public ToStringNode(ExpressionNode expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        Object value = expression.execute(frame);
+
+        if (value == null) {
+            throw new FlowException("Cannot convert value to string.");
+        }
+
+        return value.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.value.FlowType;
+
+public class TryNode extends Node {
+
+    private final Node tryBody;
+    private final String catchVariableName;
+    private final FlowType catchVariableType;
+    private final Node catchBody;
+    private final int slotCount;
+
+    public TryNode(Node tryBody, String catchVariableName, FlowType catchVariableType, Node catchBody, int slotCount) {
+        this.tryBody = tryBody;
+        this.catchVariableName = catchVariableName;
+        this.catchVariableType = catchVariableType;
+        this.catchBody = catchBody;
+        this.slotCount = slotCount;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        symbolTable.pushLocalScope(slotCount);
+
+        try {
+            return tryBody.execute(frame);
+        } catch (FlowException e) {
+            if (catchBody == null) {
+                frame.getOutput().write("\n\u001B[31mFlowException caught: " + e.getMessage() + "\u001B[0m");
+                return null;
+            }
+
+            if (catchVariableType != FlowType.STRING) {
+                throw new FlowException("Wrong type of arguments in catch expression. Expected String but got " + catchVariableType + ".");
+            }
+
+            symbolTable.defineCurrentScopeValue(0, new Symbol(catchVariableName, e.getMessage(), catchVariableType, true));
+
+            return catchBody.execute(frame);
+        } finally {
+            symbolTable.popScope();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package flow.interpreter.node;
+
+/**
+ * Thrown by a primitive evaluation path when the value has a different type. Carries the boxed value, so the caller
+ * can continue on the generic path without evaluating the node again.
+ */
+public class UnexpectedResultException extends Exception {
+
+    private final Object result;
+
+    public UnexpectedResultException(Object result) {
+        super(null, null, false, false);
+        this.result = result;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+}
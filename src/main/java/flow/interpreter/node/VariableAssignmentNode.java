@@ -0,0 +1,132 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.ClassDeclaration;
+import flow.interpreter.scope.ClassScope;
+import flow.interpreter.scope.LexicalAddress;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.value.FlowType;
+
+import static flow.interpreter.util.Helpers.getClassName;
+
+public class VariableAssignmentNode extends Node {
+
+    private final String name;
+    private final LexicalAddress address;
+    private final ExpressionNode expression;
+    private final String expressionText;
+    // false if the type checker proved the value has the type of the variable
+    private final boolean isCheckingType;
+
+    public VariableAssignmentNode(String name, LexicalAddress address, ExpressionNode expression, String expressionText,
+                                  boolean isCheckingType) {
+        this.name = name;
+        this.address = address;
+        this.expression = expression;
+        this.expressionText = expressionText;
+        this.isCheckingType = isCheckingType;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        ClassScope object = symbolTable.resolveField(address);
+
+        if (object != null) {
+            assignField(frame, object, address.slot());
+            return null;
+        }
+
+        Symbol symbol = symbolTable.resolve(address, name);
+        Object value;
+
+        // a variable keeps its type, so primitive values are assigned without boxing
+        try {
+            if (symbol != null && symbol.getPrimitiveType() != null) {
+                switch (symbol.getPrimitiveType()) {
+                    case INT -> {
+                        symbol.setInt(expression.executeInt(frame));
+                        return null;
+                    }
+                    case DOUBLE -> {
+                        symbol.setDouble(expression.executeDouble(frame));
+                        return null;
+                    }
+                    case BOOLEAN -> {
+                        symbol.setBoolean(expression.executeBoolean(frame));
+                        return null;
+                    }
+                }
+            }
+
+            value = expression.execute(frame);
+        } catch (UnexpectedResultException e) {
+            value = e.getResult();
+        }
+
+        if (symbol == null) {
+            throw new FlowException("Undeclared variable " + name + ".");
+        }
+
+        if (value.getClass() == ClassDeclaration.class) {
+            FlowType oldClassType = ((ClassDeclaration) value).getType();
+            FlowType newClassType = symbol.getType();
+
+            if (!newClassType.accepts(oldClassType)) {
+                throw new FlowException("Wrong type of variable `" + name + "`. Expected " + newClassType + " but got " + oldClassType + ".");
+            }
+
+            Symbol newSymbol = symbolTable.resolve(expressionText);
+            symbol.setScope(newSymbol.getScope());
+
+            return null;
+        }
+
+        if (isCheckingType && !symbol.getType().accepts(FlowType.of(value))) {
+            throw new FlowException("Wrong type of variable `" + name + "`. Expected " + symbol.getType() + " but got " + getClassName(value) + ".");
+        }
+
+        symbol.setValue(value);
+
+        return null;
+    }
+
+    /**
+     * Assigns a field on the object scope holding it, like a variable, but without a symbol.
+     */
+    private void assignField(Frame frame, ClassScope object, int slot) {
+        Object value;
+
+        try {
+            if (object.getPrimitiveType(slot) != null) {
+                switch (object.getPrimitiveType(slot)) {
+                    case INT -> {
+                        object.setInt(slot, expression.executeInt(frame));
+                        return;
+                    }
+                    case DOUBLE -> {
+                        object.setDouble(slot, expression.executeDouble(frame));
+                        return;
+                    }
+                    case BOOLEAN -> {
+                        object.setBoolean(slot, expression.executeBoolean(frame));
+                        return;
+                    }
+                }
+            }
+
+            value = expression.execute(frame);
+        } catch (UnexpectedResultException e) {
+            value = e.getResult();
+        }
+
+        FlowType type = object.getType(slot);
+
+        if (isCheckingType && !type.accepts(FlowType.of(value))) {
+            throw new FlowException("Wrong type of variable `" + name + "`. Expected " + type + " but got " + getClassName(value) + ".");
+        }
+
+        object.setValue(slot, value);
+    }
+}
@@ -0,0 +1,84 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.scope.ClassScope;
+import flow.interpreter.scope.Scope;
+import flow.interpreter.scope.Symbol;
+import flow.interpreter.scope.SymbolTable;
+import flow.interpreter.value.FlowType;
+
+public class VariableDeclarationNode extends Node {
+
+    private final String name;
+    private final FlowType declaredType;
+    private final boolean isMutable;
+    private final ExpressionNode expression;
+    private final int slot;
+    private final int redeclarationDepth;
+
+    // a literal initializer is evaluated once, which mostly pays off for fields initialized on every new object
+    private final Object constantValue;
+    private final FlowType constantType;
+
+    public VariableDeclarationNode(String name, FlowType declaredType, boolean isMutable, ExpressionNode expression,
+                                   int slot, int redeclarationDepth) {
+        this.name = name;
+        this.declaredType = declaredType;
+        this.isMutable = isMutable;
+        this.expression = expression;
+        this.slot = slot;
+        this.redeclarationDepth = redeclarationDepth;
+
+        if (expression instanceof LiteralNode literal && literal.getValue() != null) {
+            this.constantValue = literal.getValue();
+            this.constantType = FlowType.of(constantValue);
+        } else {
+            this.constantValue = null;
+            this.constantType = null;
+        }
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        if (declaredType == null && expression == null) {
+            throw new FlowException("Variable `" + name + "` must have a type or an expression.");
+        }
+
+        Object value;
+        FlowType type;
+
+        if (constantType != null) {
+            value = constantValue;
+            type = constantType;
+        } else {
+            value = expression != null ? expression.execute(frame) : null;
+            type = value == null ? declaredType : FlowType.of(value);
+        }
+
+        SymbolTable symbolTable = frame.getSymbolTable();
+        Scope currentScope = symbolTable.currentScope();
+
+        // only scopes the resolver could not see into are searched by name
+        if (redeclarationDepth >= 0 && isRedeclaration(currentScope.getEnclosing(redeclarationDepth))) {
+            throw new FlowException("Variable `" + name + "` is already declared.");
+        }
+
+        // a field is stored in the slots of its object, the shape of the class knows whether it is mutable
+        if (currentScope instanceof ClassScope object) {
+            object.defineField(slot, value, type);
+        } else {
+            currentScope.define(slot, new Symbol(name, value, type, isMutable));
+        }
+
+        return null;
+    }
+
+    private boolean isRedeclaration(Scope scope) {
+        // objects run the declarations of their fields every time, which find the field by its slot
+        if (redeclarationDepth == 0 && scope instanceof ClassScope object) {
+            return object.isDeclared(slot, name);
+        }
+
+        return scope.resolve(name) != null;
+    }
+}
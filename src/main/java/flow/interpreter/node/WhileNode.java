@@ -0,0 +1,34 @@
+package flow.interpreter.node;
+
+import static flow.interpreter.util.Helpers.toCondition;
+
+public class WhileNode extends Node {
+
+    private final ExpressionNode condition;
+    private final Node body;
+
+    public WhileNode(ExpressionNode condition, Node body) {
+        this.condition = condition;
+        this.body = body;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        while (test(frame)) {
+            Object o = body.execute(frame);
+            if (o != null) {
+                return o;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean test(Frame frame) {
+        try {
+            return condition.executeBoolean(frame);
+        } catch (UnexpectedResultException e) {
+            return toCondition(e.getResult());
+        }
+    }
+}
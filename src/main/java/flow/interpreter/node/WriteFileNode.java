@@ -0,0 +1,36 @@
+package flow.interpreter.node;
+
+import flow.interpreter.exception.FlowException;
+
+public class WriteFileNode extends ExpressionNode {
+
+    private final ExpressionNode path;
+    private final ExpressionNode content;
+    private final boolean isAppend;
+
+    public WriteFileNode(ExpressionNode path, ExpressionNode content, boolean isAppend) {
+        this.path = path;
+        this.content = content;
+        this.isAppend = isAppend;
+    }
+
+    @Override
+    public Object execute(Frame frame) {
+        Object pathValue = path.execute(frame);
+        Object contentValue = content.execute(frame);
+
+        if (pathValue == null)
+            throw new FlowException("Cannot write to file: path is null");
+
+        if (contentValue == null)
+            throw new FlowException("Cannot write to file: content is null");
+
+        if (isAppend) {
+            frame.getFiles().append(pathValue.toString(), contentValue.toString());
+        } else {
+            frame.getFiles().write(pathValue.toString(), contentValue.toString());
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,193 @@
+package flow.interpreter.output;
+
+import flow.interpreter.exception.FlowException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Files written by one execution. Each written file keeps an open channel and a buffer, so repeated writes are
+ * coalesced: writing a file replaces whatever is still buffered for it and appending adds to the buffer, which reaches
+ * the file only when it fills up, before the file is read, or when the execution ends. At most {@code maxOpenFiles}
+ * files are open at a time: beyond that the least recently written one is flushed and closed, and reopened for
+ * appending when it is written again. The tasks of parallel loops share the files of their execution, so access is
+ * synchronized.
+ */
+public class FileOutputs {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_MAX_OPEN_FILES = 256;
+
+    // in access order, so the first file is the least recently used one
+    private final Map<Path, PendingFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final int capacity;
+    private final int maxOpenFiles;
+
+    public FileOutputs() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FileOutputs(int capacity) {
+        this(capacity, DEFAULT_MAX_OPEN_FILES);
+    }
+
+    public FileOutputs(int capacity, int maxOpenFiles) {
+        this.capacity = capacity;
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    /**
+     * Replaces the content of the file.
+     */
+    public synchronized void write(String path, String content) {
+        PendingFile file = open(path);
+
+        file.buffer.setLength(0);
+        file.truncate = true;
+
+        append(file, content);
+    }
+
+    /**
+     * Adds the content to the end of the file.
+     */
+    public synchronized void append(String path, String content) {
+        append(open(path), content);
+    }
+
+    /**
+     * Writes the buffered content of the file, if it has any, so it can be read back.
+     */
+    public synchronized void flush(String path) {
+        PendingFile file = files.get(toKey(path));
+
+        if (file != null) {
+            file.flush();
+        }
+    }
+
+    /**
+     * Writes the buffered content of all files and closes them. Every file is closed even if another one fails.
+     */
+    public synchronized void close() {
+        FlowException failure = null;
+
+        for (PendingFile file : files.values()) {
+            try {
+                file.close();
+            } catch (FlowException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        files.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void append(PendingFile file, String content) {
+        file.buffer.append(content);
+
+        if (file.buffer.length() >= capacity) {
+            file.flush();
+        }
+    }
+
+    private PendingFile open(String path) {
+        Path key = toKey(path);
+        PendingFile file = files.get(key);
+
+        if (file == null) {
+            if (files.size() >= maxOpenFiles) {
+                closeLeastRecentlyUsed();
+            }
+
+            file = new PendingFile(key, path);
+            files.put(key, file);
+        }
+
+        return file;
+    }
+
+    private void closeLeastRecentlyUsed() {
+        Iterator<PendingFile> iterator = files.values().iterator();
+        PendingFile file = iterator.next();
+
+        iterator.remove();
+        file.close();
+    }
+
+    private static Path toKey(String path) {
+        return Paths.get(path).toAbsolutePath().normalize();
+    }
+
+    private static class PendingFile {
+
+        private final String name;
+        private final FileChannel channel;
+        private final StringBuilder buffer = new StringBuilder();
+        private boolean truncate;
+
+        // the channel is opened right away, so a path that cannot be written fails at the first write
+        private PendingFile(Path path, String name) {
+            this.name = name;
+
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+            } catch (IOException e) {
+                throw new FlowException("Cannot write to file: " + name);
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty() && !truncate) {
+                return;
+            }
+
+            try {
+                if (truncate) {
+                    channel.truncate(0);
+                    channel.position(0);
+                }
+
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(buffer.toString());
+
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            } catch (IOException e) {
+                throw new FlowException("Cannot write to file: " + name);
+            }
+
+            buffer.setLength(0);
+            truncate = false;
+        }
+
+        private void close() {
+            try {
+                flush();
+            } finally {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new FlowException("Cannot write to file: " + name);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package flow.interpreter.output;
+
+/**
+ * Discards all output.
+ */
+public class NullOutputSink implements OutputSink {
+
+    public static final NullOutputSink INSTANCE = new NullOutputSink();
+
+    private NullOutputSink() {
+    }
+
+    @Override
+    public void write(String text) {
+    }
+
+    @Override
+    public void flush() {
+    }
+}
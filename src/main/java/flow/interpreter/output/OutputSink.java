@@ -0,0 +1,14 @@
+package flow.interpreter.output;
+
+/**
+ * Destination of the text a program prints.
+ */
+public interface OutputSink {
+
+    void write(String text);
+
+    /**
+     * Passes buffered text on to its destination. Called when the program ends and before it waits for input.
+     */
+    void flush();
+}
@@ -0,0 +1,23 @@
+package flow.interpreter.output;
+
+/**
+ * Keeps all output in memory, for callers that want the output of a program as a string.
+ */
+public class StringOutputSink implements OutputSink {
+
+    private final StringBuilder text = new StringBuilder();
+
+    @Override
+    public void write(String text) {
+        this.text.append(text);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
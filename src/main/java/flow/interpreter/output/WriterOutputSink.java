@@ -0,0 +1,64 @@
+package flow.interpreter.output;
+
+import flow.interpreter.exception.FlowException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams output to a writer. Text is buffered up to a fixed capacity and flushed when the buffer fills up or when
+ * text is written after the flush interval has passed, so a long-running program shows its output as it goes without
+ * writing every print separately.
+ */
+public class WriterOutputSink implements OutputSink {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 100;
+
+    private final Writer writer;
+    private final StringBuilder buffer;
+    private final int capacity;
+    private final long flushIntervalNanos;
+    private long lastFlush = System.nanoTime();
+
+    public WriterOutputSink(OutputStream out) {
+        this(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    public WriterOutputSink(Writer writer) {
+        this(writer, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public WriterOutputSink(Writer writer, int capacity, long flushIntervalMillis) {
+        this.writer = writer;
+        this.buffer = new StringBuilder(capacity);
+        this.capacity = capacity;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    }
+
+    @Override
+    public void write(String text) {
+        buffer.append(text);
+
+        if (buffer.length() >= capacity || System.nanoTime() - lastFlush >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.append(buffer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new FlowException("Cannot write program output: " + e.getMessage());
+        }
+
+        buffer.setLength(0);
+        lastFlush = System.nanoTime();
+    }
+}
@@ -1,67 +1,98 @@
 package flow.interpreter.scope;
 
-import flow.FlowParser;
+import flow.interpreter.node.ConstructorNode;
+import flow.interpreter.node.Frame;
+import flow.interpreter.node.MethodNode;
+import flow.interpreter.node.Node;
+import flow.interpreter.value.FlowType;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
+/**
+ * Compiled class, built once when its declaration runs. It holds everything objects of the class share: the field
+ * initializers, the field layout, the method table and the constructor, so creating an object only allocates its
+ * scope and field values.
+ */
 public class ClassDeclaration {
     private final String className;
-    private final FlowParser.ClassDeclarationContext classDeclarationContext;
+    private final FlowType type;
+    private final List<Node> fields;
+    private final List<MethodNode> methods;
+    private final Map<String, MethodNode> methodTable = new HashMap<>();
+    private final ConstructorNode constructor;
+    private final ObjectShape shape;
 
-
-    public ClassDeclaration(String className, FlowParser.ClassDeclarationContext classDeclarationContext) {
+    public ClassDeclaration(String className, List<Node> fields, List<MethodNode> methods, ConstructorNode constructor, ObjectShape shape) {
         this.className = className;
-        this.classDeclarationContext = classDeclarationContext;
+        this.type = FlowType.forClass(className);
+        this.fields = fields;
+        this.methods = methods;
+        this.constructor = constructor;
+        this.shape = shape;
+
+        // the first method with a given name wins, as it did when methods were searched in declaration order
+        for (MethodNode method : methods) {
+            methodTable.putIfAbsent(method.getMethodName(), method);
+        }
+    }
+
+    /**
+     * Creates the scope of a new object for the given object symbol, runs the field initializers and the constructor
+     * in it and returns it.
+     */
+    public ClassScope instantiate(Frame frame, Symbol object, List<Object> args) {
+        SymbolTable symbolTable = frame.getSymbolTable();
+        ClassScope scope = symbolTable.pushClassScope(shape);
+
+        try {
+            // the object has to be reachable before its constructor runs, which can call methods of the object
+            scope.setScopeName(object.getName());
+            object.setScope(scope);
+
+            for (Node field : fields) {
+                field.execute(frame);
+            }
+
+            if (constructor != null) {
+                constructor.call(frame, args);
+            }
+        } finally {
+            symbolTable.popScope();
+        }
+
+        return scope;
     }
 
     public String getClassName() {
         return className;
     }
 
-    public FlowParser.ClassDeclarationContext getClassDeclarationContext() {
-        return classDeclarationContext;
+    public FlowType getType() {
+        return type;
     }
 
-    // Tested, works
-    public FlowParser.MethodDeclarationContext getMethodDeclarationContext(String methodName) {
-        return classDeclarationContext
-                .classMember()
-                .stream()
-                .map(FlowParser.ClassMemberContext::methodDeclaration)
-                .filter(obj -> Objects.nonNull(obj) && obj.ID().getText().equals(methodName))
-                .findFirst()
-                .orElse(null);
+    public MethodNode getMethod(String methodName) {
+        return methodTable.get(methodName);
     }
 
-    public List<FlowParser.MethodDeclarationContext> getMethodDeclarationContext() {
-        return classDeclarationContext
-                .classMember()
-                .stream()
-                .map(FlowParser.ClassMemberContext::methodDeclaration)
-                .filter(Objects::nonNull)
-                .toList();
+    public List<MethodNode> getMethods() {
+        return methods;
     }
 
-    public FlowParser.ClassConstructorContext getConstructorDeclarationContext() {
-        return classDeclarationContext
-                .classMember()
-                .stream()
-                .map(FlowParser.ClassMemberContext::classConstructor)
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
-
+    public ConstructorNode getConstructor() {
+        return constructor;
     }
 
-    public List<FlowParser.DeclarationContext> getClassFieldsContext() {
-        return classDeclarationContext
-                .classMember()
-                .stream()
-                .map(FlowParser.ClassMemberContext::declaration)
-                .filter(Objects::nonNull)
-                .toList();
+    public List<Node> getFields() {
+        return fields;
     }
 
-
+    /**
+     * Field layout of the scope of each object of this class.
+     */
+    public ObjectShape getShape() {
+        return shape;
+    }
 }
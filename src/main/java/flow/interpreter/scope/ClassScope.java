@@ -1,26 +1,263 @@
 package flow.interpreter.scope;
 
-import java.util.HashMap;
+import flow.interpreter.compiler.PrimitiveType;
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.value.FlowType;
 
+/**
+ * Scope holding the fields of one object. The fields are in the slots given by the shape of its class; methods are
+ * looked up on the class declaration, so the scope of an object holds no per-object method table.
+ * <p>
+ * Field values are kept in arrays of the scope instead of in a symbol per field. Int, Double, Boolean and Char values
+ * are stored unboxed in {@code bits}, like {@link Symbol} does; {@code values} then holds their boxed form once it was
+ * asked for, or {@link #UNBOXED} until then. A slot whose type is {@code null} has not been declared yet. Lookups by
+ * name get a symbol that reads and writes the slot.
+ */
 public class ClassScope extends Scope {
 
-    private final HashMap<String, MethodDeclaration> methodsTable = new HashMap<>();
+    private static final Object UNBOXED = new Object();
+    // shared by the objects of classes without fields
+    private static final FlowType[] NO_TYPES = new FlowType[0];
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final long[] NO_BITS = new long[0];
 
-    public ClassScope(ScopeType type, int genId, Scope parent) {
-        super(type, genId, parent);
-    }
+    private final ObjectShape shape;
+    private final FlowType[] types;
+    private final Object[] values;
+    private final long[] bits;
 
-    public ClassScope(int genId, Scope parent) {
+    public ClassScope(int genId, Scope parent, ObjectShape shape) {
         super(ScopeType.CLASS, genId, parent);
+        this.shape = shape;
+
+        int slotCount = shape.getSlotCount();
+        this.types = slotCount > 0 ? new FlowType[slotCount] : NO_TYPES;
+        this.values = slotCount > 0 ? new Object[slotCount] : NO_VALUES;
+        this.bits = slotCount > 0 ? new long[slotCount] : NO_BITS;
+    }
+
+    public ObjectShape getShape() {
+        return shape;
+    }
+
+    /**
+     * Declares the field in the given slot with its initial value, which may be {@code null}.
+     */
+    public void defineField(int slot, Object value, FlowType type) {
+        if (types[slot] != null) {
+            throw new IllegalArgumentException("Duplicate symbol " + shape.getFieldName(slot));
+        }
+
+        types[slot] = type;
+
+        if (value != null) {
+            store(slot, value);
+        }
+    }
+
+    /**
+     * Checks whether declaring the field in the given slot would redeclare a name visible in this scope, like
+     * {@code resolve(name) != null}, but finds the field by its slot.
+     */
+    public boolean isDeclared(int slot, String name) {
+        if (types[slot] != null || resolveAll().containsKey(name)) {
+            return true;
+        }
+
+        return getParent() != null && getParent().resolve(name) != null;
+    }
+
+    public boolean isDefined(int slot) {
+        return types[slot] != null;
+    }
+
+    public boolean isInitialized(int slot) {
+        return values[slot] != null;
+    }
+
+    public FlowType getType(int slot) {
+        return types[slot];
+    }
+
+    public PrimitiveType getPrimitiveType(int slot) {
+        return types[slot].getPrimitiveType();
+    }
+
+    public Object getValue(int slot) {
+        Object value = values[slot];
+
+        if (value == UNBOXED) {
+            long slotBits = bits[slot];
+
+            value = switch (getPrimitiveType(slot)) {
+                case INT -> (int) slotBits;
+                case DOUBLE -> Double.longBitsToDouble(slotBits);
+                case BOOLEAN -> slotBits != 0;
+                case CHAR -> (char) slotBits;
+            };
+            values[slot] = value;
+        }
+
+        return value;
+    }
+
+    public int getInt(int slot) {
+        return (int) bits[slot];
+    }
+
+    public double getDouble(int slot) {
+        return Double.longBitsToDouble(bits[slot]);
+    }
+
+    public boolean getBoolean(int slot) {
+        return bits[slot] != 0;
+    }
+
+    public void setValue(int slot, Object value) {
+        checkMutable(slot, value);
+
+        if (value == null) {
+            values[slot] = null;
+            return;
+        }
+
+        store(slot, value);
     }
 
-    public void defineMethod(MethodDeclaration method) {
-        methodsTable.put(method.getMethodName(), method);
+    public void setInt(int slot, int value) {
+        checkMutable(slot, value);
+        setBits(slot, value);
     }
 
-    public MethodDeclaration resolveMethod(String name) {
-        return methodsTable.get(name);
+    public void setDouble(int slot, double value) {
+        checkMutable(slot, value);
+        setBits(slot, Double.doubleToRawLongBits(value));
     }
 
+    public void setBoolean(int slot, boolean value) {
+        checkMutable(slot, value);
+        setBits(slot, value ? 1 : 0);
+    }
 
+    private void checkMutable(int slot, Object value) {
+        if (!shape.isMutable(slot) && values[slot] != null) {
+            throw new FlowException("Cannot assign value " + value + " to immutable variable " + shape.getFieldName(slot));
+        }
+    }
+
+    private void setBits(int slot, long value) {
+        bits[slot] = value;
+        values[slot] = UNBOXED;
+    }
+
+    private void store(int slot, Object value) {
+        PrimitiveType primitiveType = getPrimitiveType(slot);
+
+        if (primitiveType != null) {
+            bits[slot] = switch (primitiveType) {
+                case INT -> (Integer) value;
+                case DOUBLE -> Double.doubleToRawLongBits((Double) value);
+                case BOOLEAN -> (Boolean) value ? 1 : 0;
+                case CHAR -> (Character) value;
+            };
+        }
+
+        values[slot] = value;
+    }
+
+    @Override
+    public Symbol getSlot(int slot) {
+        return slot < types.length && types[slot] != null ? new FieldSymbol(slot) : null;
+    }
+
+    @Override
+    public Symbol resolve(String name) {
+        Symbol object = resolveAll().get(name);
+        if (object != null) {
+            return object;
+        }
+
+        int slot = shape.getSlot(name);
+        if (slot >= 0 && types[slot] != null) {
+            return new FieldSymbol(slot);
+        }
+
+        return getParent() != null ? getParent().resolve(name) : null;
+    }
+
+    @Override
+    public void define(int slot, Symbol symbol) throws IllegalArgumentException {
+        defineField(slot, symbol.getValue(), symbol.getType());
+    }
+
+    @Override
+    public void remove(String name) {
+        super.remove(name);
+
+        int slot = shape.getSlot(name);
+        if (slot >= 0) {
+            types[slot] = null;
+            values[slot] = null;
+        }
+    }
+
+    /**
+     * Symbol of a field for code that looks it up by name. It holds no value of its own, so it stays in sync with the
+     * slot however the field is written.
+     */
+    private final class FieldSymbol extends Symbol {
+
+        private final int slot;
+
+        FieldSymbol(int slot) {
+            super(shape.getFieldName(slot), null, types[slot], shape.isMutable(slot));
+            this.slot = slot;
+            setScope(ClassScope.this);
+        }
+
+        @Override
+        public Object getValue() {
+            return ClassScope.this.getValue(slot);
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return ClassScope.this.isInitialized(slot);
+        }
+
+        @Override
+        public int getInt() {
+            return ClassScope.this.getInt(slot);
+        }
+
+        @Override
+        public double getDouble() {
+            return ClassScope.this.getDouble(slot);
+        }
+
+        @Override
+        public boolean getBoolean() {
+            return ClassScope.this.getBoolean(slot);
+        }
+
+        @Override
+        public void setValue(Object value) {
+            ClassScope.this.setValue(slot, value);
+        }
+
+        @Override
+        public void setInt(int value) {
+            ClassScope.this.setInt(slot, value);
+        }
+
+        @Override
+        public void setDouble(double value) {
+            ClassScope.this.setDouble(slot, value);
+        }
+
+        @Override
+        public void setBoolean(boolean value) {
+            ClassScope.this.setBoolean(slot, value);
+        }
+    }
 }
@@ -5,6 +5,7 @@ import java.util.HashMap;
 public class GlobalScope extends Scope {
     private final HashMap<String, ClassDeclaration> classTable = new HashMap<>();
     private final HashMap<String, MethodDeclaration> globalMethodsTable = new HashMap<>();
+    private int version = 0;
 
 
     public GlobalScope() {
@@ -13,6 +14,7 @@ public class GlobalScope extends Scope {
 
     public void addClassDeclaration(ClassDeclaration classDeclaration) {
         classTable.put(classDeclaration.getClassName(), classDeclaration);
+        version++;
     }
 
     public ClassDeclaration getClassDeclaration(String className) {
@@ -21,9 +23,17 @@ public class GlobalScope extends Scope {
 
     public void addGlobalMethod(MethodDeclaration methodDeclaration) {
         globalMethodsTable.put(methodDeclaration.getMethodName(), methodDeclaration);
+        version++;
     }
 
     public MethodDeclaration getGlobalMethod(String methodName) {
         return globalMethodsTable.get(methodName);
     }
+
+    /**
+     * Changes whenever a class or global method is declared, so cached method lookups can tell they are stale.
+     */
+    public int getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,8 @@
+package flow.interpreter.scope;
+
+/**
+ * Location of a variable resolved before execution: how many scopes to walk up from the current scope and the slot
+ * of the variable in that scope. A field is in the slot of an object scope, which holds no symbol for it.
+ */
+public record LexicalAddress(int depth, int slot, boolean isField) {
+}
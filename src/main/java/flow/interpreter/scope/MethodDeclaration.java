@@ -1,6 +1,7 @@
 package flow.interpreter.scope;
 
-import flow.FlowParser;
+import flow.interpreter.node.MethodNode;
+import flow.interpreter.value.FlowType;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -9,18 +10,18 @@ public class MethodDeclaration {
 
 
     private String methodName;
-    private String returnType;
+    private FlowType returnType;
     private final Map<String, String> parameters = new HashMap<>();
-    private FlowParser.MethodDeclarationContext methodDeclarationContext;
+    private MethodNode method;
 
-    public MethodDeclaration(String functionName, String returnType, FlowParser.MethodDeclarationContext methodDeclarationContext) {
+    public MethodDeclaration(String functionName, FlowType returnType, MethodNode method) {
         this.methodName = functionName;
         this.returnType = returnType;
-        this.methodDeclarationContext = methodDeclarationContext;
+        this.method = method;
     }
 
-    public void setMethodDeclarationContext(FlowParser.MethodDeclarationContext methodDeclarationContext) {
-        this.methodDeclarationContext = methodDeclarationContext;
+    public void setMethod(MethodNode method) {
+        this.method = method;
     }
 
     public void addParameter(String parameterName, String parameterType) {
@@ -31,7 +32,7 @@ public class MethodDeclaration {
         return methodName;
     }
 
-    public String getReturnType() {
+    public FlowType getReturnType() {
         return returnType;
     }
 
@@ -39,7 +40,7 @@ public class MethodDeclaration {
         return parameters;
     }
 
-    public FlowParser.MethodDeclarationContext getMethodDeclarationContext() {
-        return methodDeclarationContext;
+    public MethodNode getMethod() {
+        return method;
     }
 }
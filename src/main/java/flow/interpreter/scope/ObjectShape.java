@@ -0,0 +1,48 @@
+package flow.interpreter.scope;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Field layout shared by all objects of a class. It is computed once per class declaration from the slots the resolver
+ * gave the fields, so a field is found by its slot in the object scope instead of by name.
+ */
+public class ObjectShape {
+
+    private final String[] fieldNames;
+    private final boolean[] isMutable;
+    private final Map<String, Integer> fieldSlots;
+
+    /**
+     * @param immutableFields the fields declared with {@code val}
+     */
+    public ObjectShape(Map<String, Integer> fieldSlots, Set<String> immutableFields) {
+        this.fieldSlots = Map.copyOf(fieldSlots);
+        this.fieldNames = new String[fieldSlots.size()];
+        this.isMutable = new boolean[fieldSlots.size()];
+
+        fieldSlots.forEach((name, slot) -> {
+            fieldNames[slot] = name;
+            isMutable[slot] = !immutableFields.contains(name);
+        });
+    }
+
+    /**
+     * Returns the slot of the field, or -1 if the class declares no such field.
+     */
+    public int getSlot(String fieldName) {
+        return fieldSlots.getOrDefault(fieldName, -1);
+    }
+
+    public String getFieldName(int slot) {
+        return fieldNames[slot];
+    }
+
+    public boolean isMutable(int slot) {
+        return isMutable[slot];
+    }
+
+    public int getSlotCount() {
+        return fieldNames.length;
+    }
+}
@@ -1,5 +1,6 @@
 package flow.interpreter.scope;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -9,29 +10,72 @@ public class Scope {
     private ScopeType type;
     private String scopeName;
     private Scope parent;
-    private final Map<String, Symbol> symbolTable = new HashMap<>();
+    // created on the first definition by name, most scopes only ever hold slots
+    private Map<String, Symbol> symbolTable;
+
+    // variables with a lexical address, the name map only holds symbols defined by name (objects)
+    private Symbol[] slots;
+
+    // set once an object scope has this scope in its chain, the symbol table then never reuses it
+    private boolean isCaptured;
 
     public Scope(ScopeType type, final int genId, Scope parent) {
+        this(type, genId, parent, 0);
+    }
+
+    public Scope(ScopeType type, final int genId, Scope parent, int slotCount) {
         this.type = type;
         this.genId = genId;
         this.parent = parent;
+        this.slots = new Symbol[slotCount];
     }
 
     public Map<String, Symbol> resolveAll() {
-        return symbolTable;
+        return symbolTable != null ? symbolTable : Map.of();
     }
 
     public Symbol resolve(String name) {
-        Symbol obj = symbolTable.get(name);
+        Symbol obj = symbolTable != null ? symbolTable.get(name) : null;
         if (obj != null) {
             return obj;
         }
 
+        for (Symbol symbol : slots) {
+            if (symbol != null && symbol.getName().equals(name)) {
+                return symbol;
+            }
+        }
+
         if (parent != null) return parent.resolve(name);
         return null;
     }
 
+    /**
+     * Returns the symbol in the given slot of the scope {@code depth} levels up, or {@code null} if that slot has not
+     * been defined yet.
+     */
+    public Symbol resolve(LexicalAddress address) {
+        return getEnclosing(address.depth()).getSlot(address.slot());
+    }
+
+    public Symbol getSlot(int slot) {
+        return slot < slots.length ? slots[slot] : null;
+    }
+
+    public Scope getEnclosing(int depth) {
+        Scope scope = this;
+        for (int i = depth; i > 0; i--) {
+            scope = scope.parent;
+        }
+
+        return scope;
+    }
+
     public void define(Symbol symbol) throws IllegalArgumentException {
+        if (symbolTable == null) {
+            symbolTable = new HashMap<>();
+        }
+
         if (symbolTable.containsKey(symbol.getName())) {
             throw new IllegalArgumentException("Duplicate symbol " + symbol.getName());
         }
@@ -40,6 +84,51 @@ public class Scope {
         symbolTable.put(symbol.getName(), symbol);
     }
 
+    public void define(int slot, Symbol symbol) throws IllegalArgumentException {
+        if (slot >= slots.length) {
+            slots = Arrays.copyOf(slots, slot + 1);
+        }
+
+        if (slots[slot] != null) {
+            throw new IllegalArgumentException("Duplicate symbol " + symbol.getName());
+        }
+
+        symbol.setScope(this);
+        slots[slot] = symbol;
+    }
+
+    /**
+     * Marks this scope and the scopes enclosing it as reachable from an object, which can outlive them on the stack.
+     */
+    void capture() {
+        for (Scope scope = this; scope != null && !scope.isCaptured; scope = scope.parent) {
+            scope.isCaptured = true;
+        }
+    }
+
+    boolean isCaptured() {
+        return isCaptured;
+    }
+
+    /**
+     * Forgets all symbols, so the symbol table can push this scope again.
+     */
+    void clear() {
+        Arrays.fill(slots, null);
+        symbolTable = null;
+    }
+
+    /**
+     * Prepares a cleared scope to be pushed again under the given parent.
+     */
+    void reuse(Scope parent, int slotCount) {
+        this.parent = parent;
+
+        if (slots.length < slotCount) {
+            slots = new Symbol[slotCount];
+        }
+    }
+
     public Scope getParent() {
         return parent;
     }
@@ -69,6 +158,14 @@ public class Scope {
     }
 
     public void remove(String name) {
-        symbolTable.remove(name);
+        if (symbolTable != null) {
+            symbolTable.remove(name);
+        }
+
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null && slots[i].getName().equals(name)) {
+                slots[i] = null;
+            }
+        }
     }
 }
@@ -1,6 +1,8 @@
 package flow.interpreter.scope;
 
+import flow.interpreter.compiler.PrimitiveType;
 import flow.interpreter.exception.FlowException;
+import flow.interpreter.value.FlowType;
 
 import java.util.Objects;
 
@@ -8,25 +10,63 @@ public class Symbol {
 
     private Scope scope;
     private final String name;
-    private final String type;
+    private final FlowType type;
 
     private boolean isMutable = false;
+
+    // Int, Double, Boolean and Char values are stored unboxed in bits, value then only caches the boxed form
+    private final PrimitiveType primitiveType;
+    private long bits;
     private Object value;
+    private boolean isInitialized;
 
 
-    public Symbol(String name, Object value, String type, boolean isMutable) {
+    public Symbol(String name, Object value, FlowType type, boolean isMutable) {
         this.name = name;
-        this.value = value;
         this.type = type;
         this.isMutable = isMutable;
+        this.primitiveType = type != null ? type.getPrimitiveType() : null;
+
+        if (value != null) {
+            store(value);
+        }
     }
 
 
     public Object getValue() {
+        if (value == null && isInitialized) {
+            value = switch (primitiveType) {
+                case INT -> (int) bits;
+                case DOUBLE -> Double.longBitsToDouble(bits);
+                case BOOLEAN -> bits != 0;
+                case CHAR -> (char) bits;
+            };
+        }
+
         return value;
     }
 
-    public String getType() {
+    public PrimitiveType getPrimitiveType() {
+        return primitiveType;
+    }
+
+    public boolean isInitialized() {
+        return isInitialized;
+    }
+
+    public int getInt() {
+        return (int) bits;
+    }
+
+    public double getDouble() {
+        return Double.longBitsToDouble(bits);
+    }
+
+    public boolean getBoolean() {
+        return bits != 0;
+    }
+
+    public FlowType getType() {
         return type;
     }
 
@@ -35,10 +75,57 @@ public class Symbol {
     }
 
     public void setValue(Object value) {
-        if (!isMutable() && this.value != null)
+        if (!isMutable() && isInitialized)
             throw new FlowException("Cannot assign value " + value + " to immutable variable " + name);
 
+        if (value == null) {
+            this.value = null;
+            this.isInitialized = false;
+            return;
+        }
+
+        store(value);
+    }
+
+    public void setInt(int value) {
+        if (!isMutable() && isInitialized)
+            throw new FlowException("Cannot assign value " + value + " to immutable variable " + name);
+
+        setBits(value);
+    }
+
+    public void setDouble(double value) {
+        if (!isMutable() && isInitialized)
+            throw new FlowException("Cannot assign value " + value + " to immutable variable " + name);
+
+        setBits(Double.doubleToRawLongBits(value));
+    }
+
+    public void setBoolean(boolean value) {
+        if (!isMutable() && isInitialized)
+            throw new FlowException("Cannot assign value " + value + " to immutable variable " + name);
+
+        setBits(value ? 1 : 0);
+    }
+
+    private void setBits(long bits) {
+        this.bits = bits;
+        this.value = null;
+        this.isInitialized = true;
+    }
+
+    private void store(Object value) {
+        if (primitiveType != null) {
+            bits = switch (primitiveType) {
+                case INT -> (Integer) value;
+                case DOUBLE -> Double.doubleToRawLongBits((Double) value);
+                case BOOLEAN -> (Boolean) value ? 1 : 0;
+                case CHAR -> (Character) value;
+            };
+        }
+
         this.value = value;
+        this.isInitialized = true;
     }
 
     public Scope getScope() {
@@ -51,16 +138,18 @@ public class Symbol {
 
     @Override
     public int hashCode() {
+        Object value = getValue();
 
         if (value == null) {
             return 0;
         }
 
-        return this.value.hashCode();
+        return value.hashCode();
     }
 
     @Override
     public boolean equals(Object o) {
+        Object value = getValue();
 
         if (value == o) {
             return true;
@@ -72,12 +161,12 @@ public class Symbol {
 
         Symbol that = (Symbol) o;
 
-        return this.value.equals(that.value);
+        return value.equals(that.getValue());
     }
 
     @Override
     public String toString() {
-        return String.valueOf(value);
+        return String.valueOf(getValue());
     }
 
 
@@ -1,88 +1,104 @@
 package flow.interpreter.scope;
 
 
-import java.util.ArrayList;
-import java.util.Stack;
+import java.util.Arrays;
 
 
+/**
+ * Scopes of a running program, kept on an array stack with the global scope at the bottom. A local scope popped off
+ * the stack is cleared and pushed again by the next block or call at the same depth, so loops and calls do not
+ * allocate new scopes; only scopes an object can still reach are left alone.
+ */
 public class SymbolTable {
 
-    private final Stack<Scope> scopeStack = new Stack<>();
-    protected ArrayList<Scope> allScopes = new ArrayList<>();
-    private final GlobalScope globalScope = new GlobalScope();
+    private final GlobalScope globalScope;
+    private Scope[] scopeStack = new Scope[16];
+    private int top = 0;
     private int genId = 0; // for generating unique symbol names
 
 
     public SymbolTable() {
-        scopeStack.push(globalScope);
-        allScopes.add(globalScope);
+        this.globalScope = new GlobalScope();
+        scopeStack[0] = globalScope;
     }
 
-    public Scope pushLocalScope() {
-        Scope parent = scopeStack.peek();
-        Scope scope = new Scope(ScopeType.LOCAL, nextGenId(), parent);
-
-        scopeStack.push(scope);
-        allScopes.add(scope);
-
-        return scope;
+    private SymbolTable(GlobalScope globalScope, Scope scope, int genId) {
+        this.globalScope = globalScope;
+        this.genId = genId;
+        scopeStack[0] = scope;
     }
 
-    public Scope pushLocalScope(ScopeType type) {
-        Scope parent = scopeStack.peek();
-        Scope scope = new Scope(type, nextGenId(), parent);
+    /**
+     * Creates the symbol table of a task running alongside this one. The task starts in the current scope, sees
+     * everything it reaches and pushes its own scopes on top of it, so the scopes of this table are left untouched.
+     */
+    public SymbolTable fork() {
+        return new SymbolTable(globalScope, currentScope(), genId);
+    }
 
-        scopeStack.push(scope);
-        allScopes.add(scope);
+    public Scope pushLocalScope(int slotCount) {
+        Scope parent = scopeStack[top];
 
-        return scope;
-    }
+        if (++top == scopeStack.length) {
+            scopeStack = Arrays.copyOf(scopeStack, top * 2);
+        }
 
-    public ClassScope pushClassScope() {
-        Scope parent = scopeStack.peek();
-        ClassScope scope = new ClassScope(ScopeType.CLASS, nextGenId(), parent);
+        Scope scope = scopeStack[top];
 
-        scopeStack.push(scope);
-        allScopes.add(scope);
+        if (scope != null) {
+            scope.reuse(parent, slotCount);
+        } else {
+            scope = new Scope(ScopeType.LOCAL, nextGenId(), parent, slotCount);
+            scopeStack[top] = scope;
+        }
 
         return scope;
     }
 
+    public ClassScope pushClassScope(ObjectShape shape) {
+        Scope parent = scopeStack[top];
+
+        // the object keeps its scope, and with it the scopes it was created in, after they are popped
+        parent.capture();
+
+        if (++top == scopeStack.length) {
+            scopeStack = Arrays.copyOf(scopeStack, top * 2);
+        }
 
-    public Scope pushLocalScope(Scope scope) {
-        scopeStack.push(scope);
+        ClassScope scope = new ClassScope(nextGenId(), parent, shape);
+        scopeStack[top] = scope;
 
         return scope;
     }
 
     public void popScope() {
-        scopeStack.pop();
-    }
+        Scope scope = scopeStack[top];
 
-    public Scope currentScope() {
-        if (scopeStack.size() > 0) {
-            return scopeStack.peek();
+        if (scope.getType() == ScopeType.LOCAL && !scope.isCaptured()) {
+            scope.clear();
+        } else {
+            scopeStack[top] = null;
         }
 
-        return allScopes.get(0);
+        top--;
     }
 
-    public Scope getScope(int genId) {
-        for (Scope scope : scopeStack) {
-            if (scope.getGenId() == genId) return scope;
-        }
-        return null;
+    public Scope currentScope() {
+        return scopeStack[top];
     }
 
-    public void clear() {
-        scopeStack.clear();
-        allScopes.clear();
+    public GlobalScope getGlobalScope() {
+        return globalScope;
     }
 
     public void defineCurrentScopeValue(Symbol symbol) {
         currentScope().define(symbol);
     }
 
+    public void defineCurrentScopeValue(int slot, Symbol symbol) {
+        currentScope().define(slot, symbol);
+    }
+
     public void defineGlobalScopeValue(Symbol symbol) {
         globalScope.define(symbol);
     }
@@ -99,6 +115,38 @@ public class SymbolTable {
         return currentScope().resolve(name);
     }
 
+    /**
+     * Resolves a variable by its lexical address, falling back to a lookup by name for unresolved variables and for
+     * slots whose declaration has not run yet.
+     */
+    public Symbol resolve(LexicalAddress address, String name) {
+        Scope scope = currentScope();
+
+        if (address != null) {
+            Symbol symbol = scope.resolve(address);
+
+            if (symbol != null) {
+                return symbol;
+            }
+        }
+
+        return scope.resolve(name);
+    }
+
+    /**
+     * Returns the object scope holding the field at the given address, or {@code null} if the address is not that of
+     * a field or the field has not been declared yet. Fields have no symbols, they are read and written on the scope.
+     */
+    public ClassScope resolveField(LexicalAddress address) {
+        if (address == null || !address.isField()) {
+            return null;
+        }
+
+        return currentScope().getEnclosing(address.depth()) instanceof ClassScope object && object.isDefined(address.slot())
+                ? object
+                : null;
+    }
+
     public void remove(String name) {
         currentScope().remove(name);
     }
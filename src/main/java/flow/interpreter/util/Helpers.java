@@ -3,26 +3,27 @@ package flow.interpreter.util;
 // declare static class
 
 import flow.interpreter.exception.FlowException;
+import flow.interpreter.value.FlowType;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Scanner;
 
 public class Helpers {
     public static String getClassName(Object object) {
-        String simpleName = object.getClass().getSimpleName();
-
-        return switch (simpleName) {
-            case "Integer" -> "Int";
-            case "Double" -> "Double";
-            case "Boolean" -> "Boolean";
-            case "String" -> "String";
-            case "Character" -> "Char";
-            case "Void" -> "Unit";
-            default -> simpleName;
-        };
+        return FlowType.of(object).getName();
+    }
+
+    /**
+     * Returns the value of an {@code if} or {@code while} condition, which has to be a Boolean.
+     */
+    public static boolean toCondition(Object value) {
+        if (value instanceof Boolean condition) {
+            return condition;
+        }
 
+        String type = value != null ? getClassName(value) : "Unit";
+        throw new FlowException("Condition must be Boolean but got " + type + ".");
     }
 
     public static Object getObjectDefaultValue(String type) {
@@ -97,38 +98,4 @@ public class Helpers {
             throw new FlowException("Cannot read from file: " + path);
         }
     }
-
-    public static void writeToFile(String path, String content) {
-        try {
-            Files.writeString(Paths.get(path), content);
-        } catch (IOException e) {
-            throw new FlowException("Cannot write to file: " + path);
-        }
-    }
-
-    public static String readLnFromConsole() {
-        try {
-            Scanner scanner = new Scanner(System.in);
-            String s = scanner.nextLine();
-
-            scanner.close();
-
-            return s;
-        } catch (Exception e) {
-            throw new FlowException("Cannot read from console");
-        }
-    }
-
-    public static Character readFromConsole() {
-        try {
-            Scanner scanner = new Scanner(System.in);
-            char s = scanner.next().charAt(0);
-
-            scanner.close();
-
-            return s;
-        } catch (Exception e) {
-            throw new FlowException("Cannot read from console");
-        }
-    }
 }
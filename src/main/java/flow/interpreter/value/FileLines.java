@@ -0,0 +1,29 @@
+package flow.interpreter.value;
+
+import flow.interpreter.exception.FlowException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Lines of a file, as returned by {@code lines(path)}. Nothing is read until a for loop iterates over the value, which
+ * then streams the file one line at a time, so files of any size take constant memory.
+ */
+public record FileLines(String path) {
+
+    public BufferedReader open() {
+        try {
+            return Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new FlowException("Cannot read from file: " + path);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "lines(" + path + ")";
+    }
+}
@@ -0,0 +1,104 @@
+package flow.interpreter.value;
+
+import flow.interpreter.compiler.PrimitiveType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runtime type of a Flow value. Built-in types are singletons and every declared class owns one descriptor, so type
+ * checks compare descriptors by identity instead of comparing type names.
+ */
+public final class FlowType {
+
+    public static final FlowType INT = new FlowType("Int", PrimitiveType.INT);
+    public static final FlowType DOUBLE = new FlowType("Double", PrimitiveType.DOUBLE);
+    public static final FlowType BOOLEAN = new FlowType("Boolean", PrimitiveType.BOOLEAN);
+    public static final FlowType CHAR = new FlowType("Char", PrimitiveType.CHAR);
+    public static final FlowType STRING = new FlowType("String", null);
+    public static final FlowType RANGE = new FlowType("Range", null);
+    public static final FlowType UNIT = new FlowType("Unit", null);
+
+    private static final Map<String, FlowType> BUILT_IN = new HashMap<>();
+
+    static {
+        for (FlowType type : new FlowType[]{INT, DOUBLE, BOOLEAN, CHAR, STRING, RANGE, UNIT}) {
+            BUILT_IN.put(type.name, type);
+        }
+    }
+
+    // values that are not Flow values, such as objects read as variables, are named after their Java class
+    private static final ClassValue<FlowType> JAVA_TYPES = new ClassValue<>() {
+        @Override
+        protected FlowType computeValue(Class<?> type) {
+            if (type == Integer.class) return INT;
+            if (type == Double.class) return DOUBLE;
+            if (type == Boolean.class) return BOOLEAN;
+            if (type == Character.class) return CHAR;
+            if (type == String.class) return STRING;
+            if (type == Range.class) return RANGE;
+            if (type == Void.class) return UNIT;
+
+            return new FlowType(type.getSimpleName(), null);
+        }
+    };
+
+    private final String name;
+    private final PrimitiveType primitiveType;
+    private final boolean isClass;
+
+    private FlowType(String name, PrimitiveType primitiveType) {
+        this(name, primitiveType, false);
+    }
+
+    private FlowType(String name, PrimitiveType primitiveType, boolean isClass) {
+        this.name = name;
+        this.primitiveType = primitiveType;
+        this.isClass = isClass;
+    }
+
+    /**
+     * Returns the built-in type with the given name, or {@code null} if there is none.
+     */
+    public static FlowType named(String name) {
+        return name != null ? BUILT_IN.get(name) : null;
+    }
+
+    /**
+     * Returns the type of a non-null value.
+     */
+    public static FlowType of(Object value) {
+        return JAVA_TYPES.get(value.getClass());
+    }
+
+    /**
+     * Creates the descriptor of a declared class.
+     */
+    public static FlowType forClass(String className) {
+        return new FlowType(className, null, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the primitive representation of the type, or {@code null} if values of the type are stored as objects.
+     */
+    public PrimitiveType getPrimitiveType() {
+        return primitiveType;
+    }
+
+    /**
+     * Checks whether values of the given type can be stored as this type. Besides the same descriptor, this accepts
+     * another declaration of a class with the same name, as classes were matched by name before.
+     */
+    public boolean accepts(FlowType type) {
+        return this == type || (isClass && type != null && type.isClass && name.equals(type.name));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
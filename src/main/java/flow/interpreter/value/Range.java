@@ -0,0 +1,24 @@
+package flow.interpreter.value;
+
+import flow.interpreter.exception.FlowException;
+
+/**
+ * Flow {@code Range} value. Ranges are never materialized: a for loop walks them with a primitive counter, so they
+ * take constant memory regardless of their length. Like {@code a..b}, a descending {@code a downTo b} excludes
+ * {@code b}.
+ */
+public record Range(int start, int end, int step, boolean isDescending) {
+
+    public Range {
+        if (step <= 0) {
+            throw new FlowException("Range step must be positive but got " + step + ".");
+        }
+    }
+
+    @Override
+    public String toString() {
+        String range = start + (isDescending ? " downTo " : "..") + end;
+
+        return step == 1 ? range : range + " step " + step;
+    }
+}
@@ -0,0 +1,89 @@
+package flow.interpreter.visitor;
+
+import flow.FlowBaseVisitor;
+import flow.FlowParser;
+import flow.interpreter.node.*;
+import flow.interpreter.scope.ClassDeclaration;
+import flow.interpreter.scope.ObjectShape;
+import flow.interpreter.value.FlowType;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+public class ClassCompilerVisitor extends FlowBaseVisitor<Node> {
+
+    private final CompilerVisitor parent;
+
+
+    public ClassCompilerVisitor(CompilerVisitor parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Node visitClassDeclaration(FlowParser.ClassDeclarationContext ctx) {
+        List<Node> fields = new ArrayList<>();
+        List<MethodNode> methods = new ArrayList<>();
+        ConstructorNode constructor = null;
+        // the first declaration of a field decides whether it is mutable, a second one fails when it runs
+        Set<String> declaredFields = new HashSet<>();
+        Set<String> immutableFields = new HashSet<>();
+
+        for (FlowParser.ClassMemberContext member : ctx.classMember()) {
+            if (member.declaration() != null) {
+                FlowParser.VariableDeclarationContext variable = member.declaration().variableDeclaration();
+                if (variable != null && declaredFields.add(variable.ID().getText())
+                        && !Objects.equals(variable.VARIABLE().getText(), "var")) {
+                    immutableFields.add(variable.ID().getText());
+                }
+
+                fields.add(parent.visit(member.declaration()));
+            } else if (member.methodDeclaration() != null) {
+                methods.add(parent.compileMethod(member.methodDeclaration()));
+            } else if (constructor == null) {
+                constructor = compileConstructor(ctx.ID().getText(), member.classConstructor());
+            }
+        }
+
+        return new ClassDeclarationNode(new ClassDeclaration(ctx.ID().getText(), fields, methods, constructor,
+                new ObjectShape(parent.getResolver().getFieldSlots(ctx), immutableFields)));
+    }
+
+    private ConstructorNode compileConstructor(String className, FlowParser.ClassConstructorContext ctx) {
+        FlowParser.MethodParamsContext params = ctx.methodParams();
+
+        String[] paramNames = params == null ?
+                new String[0] :
+                params.ID().stream().map(TerminalNode::getText).toArray(String[]::new);
+        FlowType[] paramTypes = params == null ? new FlowType[0] : parent.compileTypes(params);
+
+        Resolver resolver = parent.getResolver();
+
+        return new ConstructorNode(className, paramNames, paramTypes, resolver.getParamSlots(params), resolver.getSlotCount(ctx),
+                parent.visit(ctx.controlStructureBody()));
+    }
+
+    @Override
+    public Node visitObjectDeclaration(FlowParser.ObjectDeclarationContext ctx) {
+        String objectName = ctx.ID(0).getText();
+        String className = ctx.ID(1).getText();
+        boolean isDeclaration = ctx.VARIABLE() != null;
+        boolean isMutable = isDeclaration && Objects.equals(ctx.VARIABLE().getText(), "var");
+
+        return new ObjectDeclarationNode(objectName, className, isDeclaration, isMutable, parent.compileArgs(ctx.methodArgs()));
+    }
+
+    @Override
+    public Node visitClassObjectVariableSetter(FlowParser.ClassObjectVariableSetterContext ctx) {
+        return new ClassObjectVariableSetterNode(ctx.ID(0).getText(), ctx.ID(1).getText(),
+                parent.compileExpression(ctx.expression()), !parent.isTypeVerified(ctx));
+    }
+
+    @Override
+    public Node visitClassObjectVariableGetter(FlowParser.ClassObjectVariableGetterContext ctx) {
+        return new ClassObjectVariableGetterNode(ctx.ID(0).getText(), ctx.ID(1).getText());
+    }
+}
@@ -0,0 +1,447 @@
+package flow.interpreter.visitor;
+
+
+import flow.FlowBaseVisitor;
+import flow.FlowParser;
+import flow.interpreter.compiler.ParallelSafety;
+import flow.interpreter.compiler.TypeChecker;
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.node.*;
+import flow.interpreter.value.FlowType;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Lowers the parse tree into a tree of executable nodes. Runs once per program, so everything that can be
+ * extracted from the parse tree (names, operators, literal values) is resolved here instead of on every evaluation.
+ * Constant expressions and code that can never run are simplified away with a {@link ConstantFolder}, and runtime type
+ * checks that a {@link TypeChecker} proved to pass are left out.
+ */
+public class CompilerVisitor extends FlowBaseVisitor<Node> {
+
+    private final IoStatementCompilerVisitor ioStatementCompilerVisitor;
+    private final ClassCompilerVisitor classCompilerVisitor;
+    private final Map<FlowParser.MethodDeclarationContext, MethodNode> methods = new HashMap<>();
+    // literal values of the vals declared so far
+    private final Map<FlowParser.VariableDeclarationContext, Object> constants = new HashMap<>();
+    private Resolver resolver;
+    private ConstantFolder folder = new ConstantFolder();
+    private final boolean isCheckingTypes;
+    private TypeChecker typeChecker;
+    private ParallelSafety parallelSafety;
+
+
+    public CompilerVisitor() {
+        this(true);
+    }
+
+    /**
+     * @param isCheckingTypes whether programs are type checked before they are compiled. Without it every type check
+     *                        runs when the program runs, which suits programs that see declarations of earlier ones.
+     */
+    public CompilerVisitor(boolean isCheckingTypes) {
+        this.ioStatementCompilerVisitor = new IoStatementCompilerVisitor(this);
+        this.classCompilerVisitor = new ClassCompilerVisitor(this);
+        this.isCheckingTypes = isCheckingTypes;
+    }
+
+    /**
+     * Compiles a program. Programs compiled by the same compiler run one after another in the same global scope.
+     */
+    public ProgramNode compile(FlowParser.ProgramContext ctx) {
+        resolver = Resolver.resolve(ctx, resolver);
+        methods.clear();
+        constants.clear();
+        folder = new ConstantFolder();
+        typeChecker = isCheckingTypes ? TypeChecker.check(ctx) : null;
+        parallelSafety = ParallelSafety.analyze(ctx);
+
+        return (ProgramNode) visit(ctx);
+    }
+
+    public Resolver getResolver() {
+        return resolver;
+    }
+
+    /**
+     * Returns what the last compiled program was simplified by.
+     */
+    public ConstantFolder getConstantFolder() {
+        return folder;
+    }
+
+    /**
+     * Returns the type errors of the last compiled program.
+     */
+    public List<String> getTypeErrors() {
+        return typeChecker != null ? typeChecker.getErrors() : List.of();
+    }
+
+    /**
+     * Checks whether the type checker proved that the runtime type check of a statement or method passes.
+     */
+    public boolean isTypeVerified(ParseTree ctx) {
+        return typeChecker != null && typeChecker.isVerified(ctx);
+    }
+
+    /**
+     * Returns the compiled node of a global or class method declared in the last compiled program.
+     */
+    public MethodNode getMethod(FlowParser.MethodDeclarationContext ctx) {
+        return methods.get(ctx);
+    }
+
+    public ExpressionNode compileExpression(FlowParser.ExpressionContext ctx) {
+        return (ExpressionNode) visit(ctx);
+    }
+
+    public ExpressionNode[] compileArgs(FlowParser.MethodArgsContext ctx) {
+        if (ctx == null || ctx.expression() == null) {
+            return new ExpressionNode[0];
+        }
+
+        return ctx.expression()
+                .stream()
+                .map(this::compileExpression)
+                .toArray(ExpressionNode[]::new);
+    }
+
+    public Node[] compileStatements(List<? extends FlowParser.StatementContext> statements) {
+        return statements
+                .stream()
+                .map(this::visit)
+                .toArray(Node[]::new);
+    }
+
+    /**
+     * Compiles the statements of a block, dropping those after a statement that always ends it.
+     */
+    private Node[] compileBlockStatements(List<? extends FlowParser.StatementContext> statements,
+                                          Predicate<Node> isEndingBlock) {
+        List<Node> nodes = new ArrayList<>(statements.size());
+
+        for (FlowParser.StatementContext statement : statements) {
+            Node node = visit(statement);
+            nodes.add(node);
+
+            if (isEndingBlock.test(node)) {
+                folder.countRemovedStatements(statements.size() - nodes.size());
+                break;
+            }
+        }
+
+        return nodes.toArray(Node[]::new);
+    }
+
+    @Override
+    public Node visitProgram(FlowParser.ProgramContext ctx) {
+        Node[] statements = ctx.globalStatement()
+                .stream()
+                .map(this::visit)
+                .toArray(Node[]::new);
+
+        return new ProgramNode(statements);
+    }
+
+    @Override
+    public Node visitGlobalStatement(FlowParser.GlobalStatementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitStatement(FlowParser.StatementContext ctx) {
+        if (ctx.methodInvocation() != null) {
+            return new ExpressionStatementNode(visitMethodInvocation(ctx.methodInvocation()));
+        }
+
+        if (ctx.iOStatement() != null) {
+            return new ExpressionStatementNode((ExpressionNode) visit(ctx.iOStatement()));
+        }
+
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitDeclaration(FlowParser.DeclarationContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitLoopStatement(FlowParser.LoopStatementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitControlStructureBody(FlowParser.ControlStructureBodyContext ctx) {
+        Node[] statements = compileBlockStatements(ctx.statement(), ConstantFolder::endsBlock);
+
+        return Resolver.hasScope(ctx) ? new BlockNode(statements, resolver.getSlotCount(ctx)) : new BlockNode(statements);
+    }
+
+    @Override
+    public Node visitVariableDeclaration(FlowParser.VariableDeclarationContext ctx) {
+        String varName = ctx.ID().getText();
+        FlowType type = ctx.TYPE() != null ? FlowType.named(ctx.TYPE().getText()) : null;
+        boolean isMutable = Objects.equals(ctx.VARIABLE().getText(), "var");
+        ExpressionNode expression = ctx.expression() != null ? compileExpression(ctx.expression()) : null;
+
+        if (!isMutable && expression instanceof LiteralNode literal) {
+            constants.put(ctx, literal.getValue());
+        }
+
+        return new VariableDeclarationNode(varName, type, isMutable, expression,
+                resolver.getSlot(ctx), resolver.getRedeclarationDepth(ctx));
+    }
+
+    @Override
+    public MethodInvocationNode visitMethodInvocation(FlowParser.MethodInvocationContext ctx) {
+        String objectName = ctx.ID().size() == 2 ? ctx.ID(0).getText() : null;
+        String methodName = ctx.ID(ctx.ID().size() - 1).getText();
+
+        return new MethodInvocationNode(objectName, methodName, compileArgs(ctx.methodArgs()), !isTypeVerified(ctx));
+    }
+
+    public FlowType[] compileTypes(FlowParser.MethodParamsContext ctx) {
+        return ctx.TYPE().stream().map(type -> FlowType.named(type.getText())).toArray(FlowType[]::new);
+    }
+
+    public MethodNode compileMethod(FlowParser.MethodDeclarationContext ctx) {
+        String methodName = ctx.ID().getText();
+        FlowType returnType = ctx.TYPE() != null ? FlowType.named(ctx.TYPE().getText()) : FlowType.UNIT;
+
+        String[] paramNames = null;
+        FlowType[] paramTypes = null;
+
+        FlowParser.MethodParamsContext params = ctx.methodParams();
+        if (params != null) {
+            paramNames = params.ID().stream().map(TerminalNode::getText).toArray(String[]::new);
+            paramTypes = compileTypes(params);
+        }
+
+        MethodBodyNode body = (MethodBodyNode) visit(ctx.methodStructureBody());
+        MethodNode method = new MethodNode(methodName, returnType, paramNames, paramTypes,
+                resolver.getParamSlots(params), resolver.getSlotCount(ctx), body);
+        method.setReturnVerified(isTypeVerified(ctx));
+        methods.put(ctx, method);
+
+        return method;
+    }
+
+    @Override
+    public Node visitMethodDeclaration(FlowParser.MethodDeclarationContext ctx) {
+        return new MethodDeclarationNode(compileMethod(ctx));
+    }
+
+    @Override
+    public Node visitMethodStructureBody(FlowParser.MethodStructureBodyContext ctx) {
+        List<FlowParser.StatementContext> statements = ctx.methodBodyStatement()
+                .stream()
+                .map(FlowParser.MethodBodyStatementContext::statement)
+                .toList();
+        boolean endsWithReturn = !statements.isEmpty() && statements.get(statements.size() - 1).returnStatement() != null;
+
+        // a method body returns at its first top-level return, whatever the value
+        return new MethodBodyNode(compileBlockStatements(statements, ReturnNode.class::isInstance), endsWithReturn);
+    }
+
+    @Override
+    public Node visitReturnStatement(FlowParser.ReturnStatementContext ctx) {
+        return new ReturnNode(ctx.expression() != null ? compileExpression(ctx.expression()) : null);
+    }
+
+    @Override
+    public Node visitVariableAssignment(FlowParser.VariableAssignmentContext ctx) {
+        return new VariableAssignmentNode(ctx.ID().getText(), resolver.getAddress(ctx), compileExpression(ctx.expression()),
+                ctx.expression().getText(), !isTypeVerified(ctx));
+    }
+
+    @Override
+    public Node visitIdExpression(FlowParser.IdExpressionContext ctx) {
+        FlowParser.VariableDeclarationContext declaration = resolver.getValDeclaration(ctx);
+
+        if (declaration != null && constants.containsKey(declaration)) {
+            return folder.propagate(constants.get(declaration));
+        }
+
+        return new IdNode(ctx.ID().getText(), resolver.getAddress(ctx));
+    }
+
+    @Override
+    public Node visitIntExpression(FlowParser.IntExpressionContext ctx) {
+        return new LiteralNode(Integer.parseInt(ctx.INT().getText()));
+    }
+
+    @Override
+    public Node visitStringExpression(FlowParser.StringExpressionContext ctx) {
+        String value = ctx.STRING().getText();
+        return new LiteralNode(value.substring(1, value.length() - 1));
+    }
+
+    @Override
+    public Node visitCharExpression(FlowParser.CharExpressionContext ctx) {
+        return new LiteralNode(ctx.CHAR().getText().charAt(1));
+    }
+
+    @Override
+    public Node visitBooleanExpression(FlowParser.BooleanExpressionContext ctx) {
+        return new LiteralNode(Boolean.parseBoolean(ctx.BOOLEAN().getText()));
+    }
+
+    @Override
+    public Node visitDoubleExpression(FlowParser.DoubleExpressionContext ctx) {
+        return new LiteralNode(Double.parseDouble(ctx.DOUBLE().getText()));
+    }
+
+    @Override
+    public Node visitParenthesesExpression(FlowParser.ParenthesesExpressionContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public Node visitMethodInvocationExpression(FlowParser.MethodInvocationExpressionContext ctx) {
+        return visitMethodInvocation(ctx.methodInvocation());
+    }
+
+    @Override
+    public Node visitClassObjectVariableGetterExpression(FlowParser.ClassObjectVariableGetterExpressionContext ctx) {
+        return visit(ctx.classObjectVariableGetter());
+    }
+
+    @Override
+    public Node visitIOStatementExpression(FlowParser.IOStatementExpressionContext ctx) {
+        return visit(ctx.iOStatement());
+    }
+
+    @Override
+    public Node visitNumberOpExpression(FlowParser.NumberOpExpressionContext ctx) {
+        ExpressionNode left = compileExpression(ctx.expression(0));
+        ExpressionNode right = compileExpression(ctx.expression(1));
+
+        return folder.fold(new NumberOpNode(left, ctx.numbersOp().getText(), right), left, right);
+    }
+
+    @Override
+    public Node visitRelationOpExpression(FlowParser.RelationOpExpressionContext ctx) {
+        ExpressionNode left = compileExpression(ctx.expression(0));
+        ExpressionNode right = compileExpression(ctx.expression(1));
+
+        return folder.fold(new RelationOpNode(left, ctx.relationOp().getText(), right), left, right);
+    }
+
+    @Override
+    public Node visitConvertToStringExpression(FlowParser.ConvertToStringExpressionContext ctx) {
+        ExpressionNode expression = compileExpression(ctx.expression());
+
+        return folder.fold(new ToStringNode(expression), expression);
+    }
+
+    @Override
+    public Node visitIfStatement(FlowParser.IfStatementContext ctx) {
+        ExpressionNode condition = compileExpression(ctx.expression());
+        Boolean knownCondition = folder.resolveCondition(condition);
+
+        // only the branch that is taken is compiled
+        if (knownCondition != null) {
+            if (knownCondition) {
+                return visit(ctx.controlStructureBody(0));
+            }
+
+            return ctx.controlStructureBody().size() > 1 ? visit(ctx.controlStructureBody(1)) : new BlockNode(new Node[0]);
+        }
+
+        Node elseBody = ctx.controlStructureBody().size() > 1 ? visit(ctx.controlStructureBody(1)) : null;
+
+        return new IfNode(
+                condition,
+                visit(ctx.controlStructureBody(0)),
+                elseBody
+        );
+    }
+
+    @Override
+    public Node visitRangeExpression(FlowParser.RangeExpressionContext ctx) {
+        ExpressionNode step = ctx.STEP() != null ? compileExpression(ctx.expression(2)) : null;
+
+        return new RangeNode(
+                compileExpression(ctx.expression(0)),
+                compileExpression(ctx.expression(1)),
+                step,
+                ctx.DOWN_TO() != null
+        );
+    }
+
+    @Override
+    public Node visitForStatement(FlowParser.ForStatementContext ctx) {
+        if (ctx.parallelModifier() != null) {
+            String sharedWrite = parallelSafety.findSharedWrite(ctx);
+
+            if (sharedWrite != null) {
+                throw new FlowException("Cannot run the loop over `" + ctx.ID().getText() + "` at line "
+                        + ctx.getStart().getLine() + " in parallel: its body " + sharedWrite + ".");
+            }
+
+            return new ParallelForNode(
+                    ctx.ID().getText(),
+                    compileExpression(ctx.expression()),
+                    visit(ctx.controlStructureBody()),
+                    resolver.getSlotCount(ctx)
+            );
+        }
+
+        return new ForNode(
+                ctx.ID().getText(),
+                compileExpression(ctx.expression()),
+                visit(ctx.controlStructureBody()),
+                resolver.getSlotCount(ctx)
+        );
+    }
+
+    @Override
+    public Node visitWhileStatement(FlowParser.WhileStatementContext ctx) {
+        return new WhileNode(compileExpression(ctx.expression()), visit(ctx.controlStructureBody()));
+    }
+
+    @Override
+    public Node visitTryStatement(FlowParser.TryStatementContext ctx) {
+        Node tryBody = visit(ctx.controlStructureBody(0));
+
+        if (ctx.controlStructureBody().size() == 1) {
+            return new TryNode(tryBody, null, null, null, resolver.getSlotCount(ctx));
+        }
+
+        return new TryNode(tryBody, ctx.ID().getText(), FlowType.named(ctx.TYPE().getText()), visit(ctx.controlStructureBody(1)), resolver.getSlotCount(ctx));
+    }
+
+    @Override
+    public Node visitIOStatement(FlowParser.IOStatementContext ctx) {
+        return ioStatementCompilerVisitor.visitIOStatement(ctx);
+    }
+
+    @Override
+    public Node visitClassDeclaration(FlowParser.ClassDeclarationContext ctx) {
+        return classCompilerVisitor.visitClassDeclaration(ctx);
+    }
+
+    @Override
+    public Node visitObjectDeclaration(FlowParser.ObjectDeclarationContext ctx) {
+        return classCompilerVisitor.visitObjectDeclaration(ctx);
+    }
+
+    @Override
+    public Node visitClassObjectVariableSetter(FlowParser.ClassObjectVariableSetterContext ctx) {
+        return classCompilerVisitor.visitClassObjectVariableSetter(ctx);
+    }
+
+    @Override
+    public Node visitClassObjectVariableGetter(FlowParser.ClassObjectVariableGetterContext ctx) {
+        return classCompilerVisitor.visitClassObjectVariableGetter(ctx);
+    }
+
+}
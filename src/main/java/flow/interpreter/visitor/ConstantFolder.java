@@ -0,0 +1,96 @@
+package flow.interpreter.visitor;
+
+import flow.interpreter.node.*;
+
+/**
+ * Simplifies the node tree while it is compiled. Operators and conversions over literals are evaluated once, reads of
+ * {@code val}s initialized with literals become literals, {@code if} statements with a literal condition are replaced
+ * by the branch they take, and statements after a return that always ends the block are dropped. Anything that fails
+ * when evaluated is left as it is, so the error is still reported when the program runs.
+ */
+public class ConstantFolder {
+
+    private int foldedExpressions;
+    private int propagatedConstants;
+    private int removedBranches;
+    private int removedStatements;
+
+    /**
+     * Evaluates an operator or conversion whose operands are all literals.
+     *
+     * @return a literal holding the value, or the node itself if an operand is not a literal or the evaluation fails
+     */
+    public ExpressionNode fold(ExpressionNode node, ExpressionNode... operands) {
+        for (ExpressionNode operand : operands) {
+            if (!(operand instanceof LiteralNode)) {
+                return node;
+            }
+        }
+
+        Object value;
+
+        try {
+            // literal operands never touch the frame
+            value = node.execute(null);
+        } catch (RuntimeException e) {
+            return node;
+        }
+
+        if (value == null) {
+            return node;
+        }
+
+        foldedExpressions++;
+
+        return new LiteralNode(value);
+    }
+
+    public LiteralNode propagate(Object value) {
+        propagatedConstants++;
+
+        return new LiteralNode(value);
+    }
+
+    /**
+     * Returns the value of an {@code if} condition that is a Boolean literal, counting the branch that is dropped, or
+     * {@code null} if the value is not known.
+     */
+    public Boolean resolveCondition(ExpressionNode condition) {
+        if (condition instanceof LiteralNode literal && literal.getValue() instanceof Boolean value) {
+            removedBranches++;
+            return value;
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks whether a statement of a block always ends it. A block continues after a return whose value is missing,
+     * which method calls and input or output may produce, so only returns of values that always exist end it.
+     */
+    public static boolean endsBlock(Node statement) {
+        if (!(statement instanceof ReturnNode returnNode)) {
+            return false;
+        }
+
+        ExpressionNode expression = returnNode.getExpression();
+
+        return expression instanceof LiteralNode
+                || expression instanceof IdNode
+                || expression instanceof NumberOpNode
+                || expression instanceof RelationOpNode
+                || expression instanceof ToStringNode
+                || expression instanceof RangeNode;
+    }
+
+    public void countRemovedStatements(int count) {
+        removedStatements += count;
+    }
+
+    @Override
+    public String toString() {
+        return "[OPTIMIZER] folded " + foldedExpressions + " expressions, propagated " + propagatedConstants
+                + " constants, removed " + removedBranches + " branches and " + removedStatements
+                + " unreachable statements\n";
+    }
+}
@@ -0,0 +1,79 @@
+package flow.interpreter.visitor;
+
+import flow.FlowBaseVisitor;
+import flow.FlowParser;
+import flow.interpreter.node.*;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+public class IoStatementCompilerVisitor extends FlowBaseVisitor<Node> {
+
+    private final CompilerVisitor parent;
+
+    public IoStatementCompilerVisitor(CompilerVisitor parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Node visitIOStatement(FlowParser.IOStatementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitReadStatement(FlowParser.ReadStatementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitWriteStatement(FlowParser.WriteStatementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitReadConsoleStatement(FlowParser.ReadConsoleStatementContext ctx) {
+        return new ReadConsoleNode(false);
+    }
+
+    @Override
+    public Node visitReadLineConsoleStatement(FlowParser.ReadLineConsoleStatementContext ctx) {
+        return new ReadConsoleNode(true);
+    }
+
+    @Override
+    public Node visitReadFileStatement(FlowParser.ReadFileStatementContext ctx) {
+        ParseTree path = ctx.getChild(2);
+
+        return new ReadFileNode(compileArgument(path), path.getText());
+    }
+
+    @Override
+    public Node visitReadLinesStatement(FlowParser.ReadLinesStatementContext ctx) {
+        ParseTree path = ctx.getChild(2);
+
+        return new ReadLinesNode(compileArgument(path), path.getText());
+    }
+
+    @Override
+    public Node visitWriteFileStatement(FlowParser.WriteFileStatementContext ctx) {
+        return new WriteFileNode(compileArgument(ctx.getChild(2)), compileArgument(ctx.getChild(4)), ctx.APPEND_FILE() != null);
+    }
+
+    @Override
+    public Node visitPrintStatement(FlowParser.PrintStatementContext ctx) {
+        ExpressionNode expression = ctx.expression() != null ? parent.compileExpression(ctx.expression()) : null;
+
+        return new PrintNode(expression, ctx.PRINTLN() != null);
+    }
+
+    /**
+     * File statements accept either a string literal or an expression in each argument position.
+     */
+    private ExpressionNode compileArgument(ParseTree argument) {
+        if (argument instanceof TerminalNode) {
+            String text = argument.getText();
+            return new LiteralNode(text.substring(1, text.length() - 1));
+        }
+
+        return parent.compileExpression((FlowParser.ExpressionContext) argument);
+    }
+}
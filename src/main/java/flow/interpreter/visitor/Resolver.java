@@ -0,0 +1,423 @@
+package flow.interpreter.visitor;
+
+import flow.FlowBaseVisitor;
+import flow.FlowParser;
+import flow.interpreter.scope.LexicalAddress;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeProperty;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves variables once after parsing. Mirrors the scopes the node tree pushes at runtime and gives every variable
+ * a slot in its scope, so variable reads, assignments and declarations address symbols by (depth, slot) instead of
+ * walking the scope chain by name.
+ * <p>
+ * Names that cannot be resolved statically stay unresolved and are looked up by name at runtime: objects, and
+ * anything a class body reaches past its object scope, whose parent is the scope the object was created in.
+ * Global variables and fields get their slots up front, because methods can run before or after their declaration;
+ * an empty slot at runtime also falls back to the lookup by name.
+ */
+public class Resolver extends FlowBaseVisitor<Void> {
+
+    private enum Kind {GLOBAL, CLASS, METHOD, LOCAL}
+
+    private static class StaticScope {
+        final Kind kind;
+        final StaticScope parent;
+
+        // all slots of the scope, filled in declaration order for local scopes and up front for global and class scopes
+        final Map<String, Integer> slots = new HashMap<>();
+        final Set<String> objects = new HashSet<>();
+        // names declared so far in textual order
+        final Set<String> declared = new HashSet<>();
+
+        StaticScope(Kind kind, StaticScope parent) {
+            this.kind = kind;
+            this.parent = parent;
+        }
+
+        int slot(String name) {
+            return slots.computeIfAbsent(name, key -> slots.size());
+        }
+    }
+
+    private final ParseTreeProperty<LexicalAddress> addresses = new ParseTreeProperty<>();
+    private final ParseTreeProperty<Integer> slots = new ParseTreeProperty<>();
+    private final ParseTreeProperty<Integer> redeclarationDepths = new ParseTreeProperty<>();
+    private final ParseTreeProperty<int[]> paramSlots = new ParseTreeProperty<>();
+    private final ParseTreeProperty<Integer> slotCounts = new ParseTreeProperty<>();
+    private final ParseTreeProperty<Map<String, Integer>> fieldSlots = new ParseTreeProperty<>();
+    private final ParseTreeProperty<FlowParser.VariableDeclarationContext> declarations = new ParseTreeProperty<>();
+    // latest variable declaration of each name in the local, method and global scopes of this program
+    private final Map<StaticScope, Map<String, FlowParser.VariableDeclarationContext>> scopeDeclarations = new HashMap<>();
+
+    private StaticScope globalScope;
+    private StaticScope currentScope;
+
+    public static Resolver resolve(FlowParser.ProgramContext program) {
+        return resolve(program, null);
+    }
+
+    /**
+     * Resolves a program that runs in the global scope left behind by the program {@code previous} was made for, as
+     * the entries of an interactive session do. Globals declared by earlier programs keep their slots.
+     */
+    public static Resolver resolve(FlowParser.ProgramContext program, Resolver previous) {
+        Resolver resolver = new Resolver();
+
+        if (previous != null) {
+            resolver.globalScope = previous.globalScope;
+        }
+
+        resolver.visit(program);
+
+        return resolver;
+    }
+
+    /**
+     * Returns the address of the variable read by an id expression or written by an assignment, or {@code null} if
+     * it has to be looked up by name.
+     */
+    public LexicalAddress getAddress(ParseTree ctx) {
+        return addresses.get(ctx);
+    }
+
+    /**
+     * Returns the slot of a declared variable in its scope.
+     */
+    public int getSlot(FlowParser.VariableDeclarationContext ctx) {
+        return slots.get(ctx);
+    }
+
+    /**
+     * Returns how many scopes up the by-name check for an already declared variable has to start, or -1 if the
+     * declaration is known not to clash with a visible variable.
+     */
+    public int getRedeclarationDepth(FlowParser.VariableDeclarationContext ctx) {
+        return redeclarationDepths.get(ctx);
+    }
+
+    /**
+     * Returns the {@code val} declaration an id expression reads, if the read is known to run after the declaration
+     * in the same program and the variable therefore holds the value it was initialized with, otherwise {@code null}.
+     */
+    public FlowParser.VariableDeclarationContext getValDeclaration(FlowParser.IdExpressionContext ctx) {
+        FlowParser.VariableDeclarationContext declaration = declarations.get(ctx);
+
+        return declaration != null && declaration.VARIABLE().getText().equals("val") ? declaration : null;
+    }
+
+    public int[] getParamSlots(FlowParser.MethodParamsContext ctx) {
+        return ctx != null ? paramSlots.get(ctx) : new int[0];
+    }
+
+    /**
+     * Returns the number of slots of the scope created by a block, loop, try statement, method, constructor or class.
+     */
+    public int getSlotCount(ParseTree ctx) {
+        return slotCounts.get(ctx);
+    }
+
+    /**
+     * Returns the slots of the fields of a class, which are the slots of its class scope.
+     */
+    public Map<String, Integer> getFieldSlots(FlowParser.ClassDeclarationContext ctx) {
+        return fieldSlots.get(ctx);
+    }
+
+    private StaticScope pushScope(Kind kind, StaticScope parent) {
+        currentScope = new StaticScope(kind, parent);
+        return currentScope;
+    }
+
+    private void popScope(ParseTree owner, StaticScope scope, StaticScope previous) {
+        slotCounts.put(owner, scope.slots.size());
+        currentScope = previous;
+    }
+
+    /**
+     * Allocates the slots of variables declared directly in a global or class scope.
+     */
+    private static void declareUpFront(StaticScope scope, FlowParser.DeclarationContext ctx) {
+        if (ctx.variableDeclaration() != null) {
+            scope.slot(ctx.variableDeclaration().ID().getText());
+        } else if (ctx.objectDeclaration().VARIABLE() != null) {
+            scope.objects.add(ctx.objectDeclaration().ID(0).getText());
+        }
+    }
+
+    private LexicalAddress lookup(String name) {
+        int depth = 0;
+
+        for (StaticScope scope = currentScope; scope != null; scope = scope.parent, depth++) {
+            boolean isUpFront = scope.kind == Kind.GLOBAL || scope.kind == Kind.CLASS;
+
+            if (isUpFront ? scope.objects.contains(name) : scope.declared.contains(name) && scope.objects.contains(name)) {
+                return null;
+            }
+
+            if (isUpFront ? scope.slots.containsKey(name) : scope.declared.contains(name)) {
+                return new LexicalAddress(depth, scope.slots.get(name), scope.kind == Kind.CLASS);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the declaration a name resolves to among the declarations seen so far. Fields, objects, and globals read
+     * from a method, which may run before the global is declared, are not resolved.
+     */
+    private FlowParser.VariableDeclarationContext findDeclaration(String name) {
+        boolean isInMethod = false;
+
+        for (StaticScope scope = currentScope; scope != null; scope = scope.parent) {
+            if (scope.kind == Kind.CLASS) {
+                return null;
+            }
+
+            if (scope.declared.contains(name)) {
+                if (scope.objects.contains(name) || (scope.kind == Kind.GLOBAL && isInMethod)) {
+                    return null;
+                }
+
+                return scopeDeclarations.getOrDefault(scope, Map.of()).get(name);
+            }
+
+            isInMethod |= scope.kind == Kind.METHOD;
+        }
+
+        return null;
+    }
+
+    /**
+     * A declaration fails if the name is visible anywhere in the scope chain. Inside a method the global scope and
+     * everything past a class scope can change between calls, so those are still checked by name at runtime.
+     */
+    private int redeclarationDepth(String name) {
+        int depth = 0;
+        boolean isInMethod = false;
+
+        for (StaticScope scope = currentScope; scope != null; scope = scope.parent, depth++) {
+            if (scope.kind == Kind.CLASS || (scope.kind == Kind.GLOBAL && isInMethod)) {
+                return depth;
+            }
+
+            if (scope.declared.contains(name)) {
+                return 0;
+            }
+
+            isInMethod |= scope.kind == Kind.METHOD;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Void visitProgram(FlowParser.ProgramContext ctx) {
+        if (globalScope == null) {
+            globalScope = pushScope(Kind.GLOBAL, null);
+        } else {
+            currentScope = globalScope;
+        }
+
+        for (FlowParser.GlobalStatementContext statement : ctx.globalStatement()) {
+            if (statement.statement() != null && statement.statement().declaration() != null) {
+                declareUpFront(globalScope, statement.statement().declaration());
+            }
+        }
+
+        visitChildren(ctx);
+        slotCounts.put(ctx, globalScope.slots.size());
+
+        return null;
+    }
+
+    @Override
+    public Void visitClassDeclaration(FlowParser.ClassDeclarationContext ctx) {
+        StaticScope previous = currentScope;
+        StaticScope classScope = pushScope(Kind.CLASS, null);
+
+        for (FlowParser.ClassMemberContext member : ctx.classMember()) {
+            if (member.declaration() != null) {
+                declareUpFront(classScope, member.declaration());
+            }
+        }
+
+        visitChildren(ctx);
+        fieldSlots.put(ctx, classScope.slots);
+        popScope(ctx, classScope, previous);
+
+        return null;
+    }
+
+    @Override
+    public Void visitMethodDeclaration(FlowParser.MethodDeclarationContext ctx) {
+        StaticScope previous = currentScope;
+        StaticScope methodScope = pushScope(Kind.METHOD, previous.kind == Kind.CLASS ? previous : globalScope);
+
+        declareParams(methodScope, ctx.methodParams());
+
+        // method body statements run directly in the method scope
+        for (FlowParser.MethodBodyStatementContext statement : ctx.methodStructureBody().methodBodyStatement()) {
+            visit(statement);
+        }
+
+        popScope(ctx, methodScope, previous);
+
+        return null;
+    }
+
+    @Override
+    public Void visitClassConstructor(FlowParser.ClassConstructorContext ctx) {
+        StaticScope previous = currentScope;
+        StaticScope constructorScope = pushScope(Kind.METHOD, previous);
+
+        declareParams(constructorScope, ctx.methodParams());
+        visit(ctx.controlStructureBody());
+
+        popScope(ctx, constructorScope, previous);
+
+        return null;
+    }
+
+    private void declareParams(StaticScope scope, FlowParser.MethodParamsContext params) {
+        if (params == null) {
+            return;
+        }
+
+        List<TerminalNode> ids = params.ID();
+        int[] paramSlots = new int[ids.size()];
+
+        for (int i = 0; i < ids.size(); i++) {
+            String name = ids.get(i).getText();
+
+            paramSlots[i] = scope.slot(name);
+            scope.declared.add(name);
+        }
+
+        this.paramSlots.put(params, paramSlots);
+    }
+
+    /**
+     * Checks whether a block needs a scope of its own. Blocks that declare no variable or object directly run in the
+     * enclosing scope, as nothing could be defined in their scope.
+     */
+    public static boolean hasScope(FlowParser.ControlStructureBodyContext ctx) {
+        for (FlowParser.StatementContext statement : ctx.statement()) {
+            if (statement.declaration() != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Void visitControlStructureBody(FlowParser.ControlStructureBodyContext ctx) {
+        if (!hasScope(ctx)) {
+            return visitChildren(ctx);
+        }
+
+        StaticScope previous = currentScope;
+        StaticScope blockScope = pushScope(Kind.LOCAL, previous);
+
+        visitChildren(ctx);
+        popScope(ctx, blockScope, previous);
+
+        return null;
+    }
+
+    @Override
+    public Void visitForStatement(FlowParser.ForStatementContext ctx) {
+        // the iterated value is evaluated before the loop scope is pushed
+        visit(ctx.expression());
+
+        StaticScope previous = currentScope;
+        StaticScope loopScope = pushScope(Kind.LOCAL, previous);
+
+        loopScope.slot(ctx.ID().getText());
+        loopScope.declared.add(ctx.ID().getText());
+
+        visit(ctx.controlStructureBody());
+        popScope(ctx, loopScope, previous);
+
+        return null;
+    }
+
+    @Override
+    public Void visitTryStatement(FlowParser.TryStatementContext ctx) {
+        StaticScope previous = currentScope;
+        StaticScope tryScope = pushScope(Kind.LOCAL, previous);
+
+        visit(ctx.controlStructureBody(0));
+
+        // the catch variable is defined in the try scope once an exception is caught
+        if (ctx.controlStructureBody().size() > 1) {
+            tryScope.slot(ctx.ID().getText());
+            tryScope.declared.add(ctx.ID().getText());
+
+            visit(ctx.controlStructureBody(1));
+        }
+
+        popScope(ctx, tryScope, previous);
+
+        return null;
+    }
+
+    @Override
+    public Void visitVariableDeclaration(FlowParser.VariableDeclarationContext ctx) {
+        String name = ctx.ID().getText();
+
+        // the value is evaluated before the variable is defined
+        if (ctx.expression() != null) {
+            visit(ctx.expression());
+        }
+
+        redeclarationDepths.put(ctx, currentScope.kind == Kind.CLASS ? 0 : redeclarationDepth(name));
+        slots.put(ctx, currentScope.slot(name));
+        currentScope.declared.add(name);
+
+        if (currentScope.kind != Kind.CLASS) {
+            scopeDeclarations.computeIfAbsent(currentScope, key -> new HashMap<>()).put(name, ctx);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Void visitObjectDeclaration(FlowParser.ObjectDeclarationContext ctx) {
+        visitChildren(ctx);
+
+        if (ctx.VARIABLE() != null) {
+            String name = ctx.ID(0).getText();
+
+            currentScope.objects.add(name);
+            currentScope.declared.add(name);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Void visitVariableAssignment(FlowParser.VariableAssignmentContext ctx) {
+        visit(ctx.expression());
+        addresses.put(ctx, lookup(ctx.ID().getText()));
+
+        return null;
+    }
+
+    @Override
+    public Void visitIdExpression(FlowParser.IdExpressionContext ctx) {
+        addresses.put(ctx, lookup(ctx.ID().getText()));
+        declarations.put(ctx, findDeclaration(ctx.ID().getText()));
+
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package flow.interpreter.vm;
+
+import flow.interpreter.compiler.PrimitiveType;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class Disassembler {
+
+    private Disassembler() {
+    }
+
+    public static String dump(VmFunction function) {
+        StringBuilder out = new StringBuilder();
+
+        String params = Arrays.stream(function.getParamTypes())
+                .map(PrimitiveType::getFlowName)
+                .collect(Collectors.joining(", "));
+
+        out.append("fun ").append(function.getName())
+                .append("(").append(params).append("): ").append(function.getReturnType().getFlowName())
+                .append("  registers=").append(function.getRegisterCount())
+                .append(" constants=").append(function.getConstants().length)
+                .append("\n");
+
+        int[] code = function.getCode();
+        int pc = 0;
+
+        while (pc < code.length) {
+            int opcode = code[pc];
+            String operands = Opcode.operands(opcode);
+
+            out.append(String.format("  %04d  %-6s", pc, Opcode.name(opcode)));
+
+            for (int i = 0; i < operands.length(); i++) {
+                int value = code[pc + 1 + i];
+                out.append(i == 0 ? " " : ", ").append(formatOperand(function, operands.charAt(i), value));
+            }
+
+            out.append("\n");
+            pc += 1 + operands.length();
+        }
+
+        return out.toString();
+    }
+
+    private static String formatOperand(VmFunction function, char kind, int value) {
+        return switch (kind) {
+            case 'R' -> "r" + value;
+            case 'K' -> "k" + value + " (" + Double.longBitsToDouble(function.getConstants()[value]) + ")";
+            case 'F' -> "f" + value + " (" + function.getCallees()[value].getName() + ")";
+            case 'L' -> String.format("%04d", value);
+            default -> String.valueOf(value);
+        };
+    }
+}
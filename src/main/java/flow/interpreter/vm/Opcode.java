@@ -0,0 +1,108 @@
+package flow.interpreter.vm;
+
+/**
+ * Instruction set of the register VM. Each instruction is an opcode word followed by its operands; operand kinds are
+ * R (register of the current frame), I (immediate), K (constant pool index), F (callee index) and L (code position).
+ */
+public final class Opcode {
+
+    public static final int MOVE = 0;
+    public static final int LOADI = 1;
+    public static final int LOADK = 2;
+    public static final int IADD = 3;
+    public static final int ISUB = 4;
+    public static final int IMUL = 5;
+    public static final int IDIV = 6;
+    public static final int IREM = 7;
+    public static final int DADD = 8;
+    public static final int DSUB = 9;
+    public static final int DMUL = 10;
+    public static final int DDIV = 11;
+    public static final int DREM = 12;
+    public static final int INCI = 13;
+    public static final int JMP = 14;
+    public static final int JZ = 15;
+    public static final int JIEQ = 16;
+    public static final int JINE = 17;
+    public static final int JILT = 18;
+    public static final int JILE = 19;
+    public static final int JIGT = 20;
+    public static final int JIGE = 21;
+    public static final int JDEQ = 22;
+    public static final int JDNE = 23;
+    public static final int JDLT = 24;
+    public static final int JDLE = 25;
+    public static final int JDGT = 26;
+    public static final int JDGE = 27;
+    public static final int CALL = 28;
+    public static final int RET = 29;
+
+    private static final String[] NAMES = {
+            "MOVE", "LOADI", "LOADK",
+            "IADD", "ISUB", "IMUL", "IDIV", "IREM",
+            "DADD", "DSUB", "DMUL", "DDIV", "DREM",
+            "INCI", "JMP", "JZ",
+            "JIEQ", "JINE", "JILT", "JILE", "JIGT", "JIGE",
+            "JDEQ", "JDNE", "JDLT", "JDLE", "JDGT", "JDGE",
+            "CALL", "RET"
+    };
+
+    private static final String[] OPERANDS = {
+            "RR", "RI", "RK",
+            "RRR", "RRR", "RRR", "RRR", "RRR",
+            "RRR", "RRR", "RRR", "RRR", "RRR",
+            "RI", "L", "RL",
+            "RRL", "RRL", "RRL", "RRL", "RRL", "RRL",
+            "RRL", "RRL", "RRL", "RRL", "RRL", "RRL",
+            "RFRI", "R"
+    };
+
+    private Opcode() {
+    }
+
+    public static String name(int opcode) {
+        return NAMES[opcode];
+    }
+
+    /**
+     * Operand kinds of the instruction, one character per operand word.
+     */
+    public static String operands(int opcode) {
+        return OPERANDS[opcode];
+    }
+
+    /**
+     * Conditional jump taken when {@code left relationOp right} holds, for Int-like or Double operands.
+     */
+    public static int jumpIf(String relationOp, boolean isDouble) {
+        int base = isDouble ? JDEQ : JIEQ;
+
+        return base + switch (relationOp) {
+            case "==" -> 0;
+            case "!=" -> 1;
+            case "<" -> 2;
+            case "<=" -> 3;
+            case ">" -> 4;
+            case ">=" -> 5;
+            default -> throw new IllegalArgumentException("Unknown relation operator: " + relationOp);
+        };
+    }
+
+    /**
+     * Conditional jump taken when {@code left relationOp right} does not hold.
+     */
+    public static int jumpUnless(String relationOp, boolean isDouble) {
+        int jump = jumpIf(relationOp, isDouble);
+        int base = isDouble ? JDEQ : JIEQ;
+
+        // EQ/NE, LT/GE and LE/GT are the negated pairs
+        return base + switch (jump - base) {
+            case 0 -> 1;
+            case 1 -> 0;
+            case 2 -> 5;
+            case 3 -> 4;
+            case 4 -> 3;
+            default -> 2;
+        };
+    }
+}
@@ -0,0 +1,193 @@
+package flow.interpreter.vm;
+
+import flow.interpreter.compiler.PrimitiveType;
+import flow.interpreter.exception.CallDepthExceededException;
+
+import java.util.Arrays;
+
+import static flow.interpreter.vm.Opcode.*;
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Double.longBitsToDouble;
+
+/**
+ * Register VM interpreter. All frames share one {@code long[]} register file: a callee's register window starts at
+ * the caller's first argument register, so arguments are passed without copying. Calls and returns are handled inside
+ * the dispatch loop, so Flow recursion does not consume Java stack.
+ * <p>
+ * Int, Char and Boolean values are kept as sign-extended ints, Double values as their raw bits.
+ */
+public final class Vm {
+
+    private Vm() {
+    }
+
+    /**
+     * Runs the function, which may nest at most {@code maxDepth} further calls.
+     */
+    public static Object call(VmFunction function, Object[] args, int maxDepth) {
+        long[] registers = new long[Math.max(256, function.registerCount * 4)];
+        PrimitiveType[] paramTypes = function.getParamTypes();
+
+        for (int i = 0; i < paramTypes.length; i++) {
+            registers[i] = toRegister(paramTypes[i], args[i]);
+        }
+
+        return fromRegister(function.getReturnType(), run(function, registers, maxDepth));
+    }
+
+    private static long toRegister(PrimitiveType type, Object value) {
+        return switch (type) {
+            case INT -> (Integer) value;
+            case DOUBLE -> doubleToRawLongBits((Double) value);
+            case BOOLEAN -> (Boolean) value ? 1 : 0;
+            case CHAR -> (Character) value;
+        };
+    }
+
+    private static Object fromRegister(PrimitiveType type, long value) {
+        return switch (type) {
+            case INT -> (int) value;
+            case DOUBLE -> longBitsToDouble(value);
+            case BOOLEAN -> value != 0;
+            case CHAR -> (char) value;
+        };
+    }
+
+    private static long run(VmFunction entry, long[] r, int maxDepth) {
+        VmFunction function = entry;
+        int[] code = function.code;
+        long[] k = function.constants;
+        int pc = 0;
+        int bp = 0;
+
+        // per suspended frame: return pc, base pointer and destination register
+        int[] frames = new int[48];
+        VmFunction[] callers = new VmFunction[16];
+        int depth = 0;
+
+        for (; ; ) {
+            switch (code[pc]) {
+                case MOVE -> {
+                    r[bp + code[pc + 1]] = r[bp + code[pc + 2]];
+                    pc += 3;
+                }
+                case LOADI -> {
+                    r[bp + code[pc + 1]] = code[pc + 2];
+                    pc += 3;
+                }
+                case LOADK -> {
+                    r[bp + code[pc + 1]] = k[code[pc + 2]];
+                    pc += 3;
+                }
+                case IADD -> {
+                    r[bp + code[pc + 1]] = (int) (r[bp + code[pc + 2]] + r[bp + code[pc + 3]]);
+                    pc += 4;
+                }
+                case ISUB -> {
+                    r[bp + code[pc + 1]] = (int) (r[bp + code[pc + 2]] - r[bp + code[pc + 3]]);
+                    pc += 4;
+                }
+                case IMUL -> {
+                    r[bp + code[pc + 1]] = (int) (r[bp + code[pc + 2]] * r[bp + code[pc + 3]]);
+                    pc += 4;
+                }
+                case IDIV -> {
+                    r[bp + code[pc + 1]] = (int) r[bp + code[pc + 2]] / (int) r[bp + code[pc + 3]];
+                    pc += 4;
+                }
+                case IREM -> {
+                    r[bp + code[pc + 1]] = (int) r[bp + code[pc + 2]] % (int) r[bp + code[pc + 3]];
+                    pc += 4;
+                }
+                case DADD -> {
+                    r[bp + code[pc + 1]] = doubleToRawLongBits(longBitsToDouble(r[bp + code[pc + 2]]) + longBitsToDouble(r[bp + code[pc + 3]]));
+                    pc += 4;
+                }
+                case DSUB -> {
+                    r[bp + code[pc + 1]] = doubleToRawLongBits(longBitsToDouble(r[bp + code[pc + 2]]) - longBitsToDouble(r[bp + code[pc + 3]]));
+                    pc += 4;
+                }
+                case DMUL -> {
+                    r[bp + code[pc + 1]] = doubleToRawLongBits(longBitsToDouble(r[bp + code[pc + 2]]) * longBitsToDouble(r[bp + code[pc + 3]]));
+                    pc += 4;
+                }
+                case DDIV -> {
+                    r[bp + code[pc + 1]] = doubleToRawLongBits(longBitsToDouble(r[bp + code[pc + 2]]) / longBitsToDouble(r[bp + code[pc + 3]]));
+                    pc += 4;
+                }
+                case DREM -> {
+                    r[bp + code[pc + 1]] = doubleToRawLongBits(longBitsToDouble(r[bp + code[pc + 2]]) % longBitsToDouble(r[bp + code[pc + 3]]));
+                    pc += 4;
+                }
+                case INCI -> {
+                    r[bp + code[pc + 1]] = (int) (r[bp + code[pc + 1]] + code[pc + 2]);
+                    pc += 3;
+                }
+                case JMP -> pc = code[pc + 1];
+                case JZ -> pc = r[bp + code[pc + 1]] == 0 ? code[pc + 2] : pc + 3;
+                case JIEQ -> pc = r[bp + code[pc + 1]] == r[bp + code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case JINE -> pc = r[bp + code[pc + 1]] != r[bp + code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case JILT -> pc = r[bp + code[pc + 1]] < r[bp + code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case JILE -> pc = r[bp + code[pc + 1]] <= r[bp + code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case JIGT -> pc = r[bp + code[pc + 1]] > r[bp + code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case JIGE -> pc = r[bp + code[pc + 1]] >= r[bp + code[pc + 2]] ? code[pc + 3] : pc + 4;
+                case JDEQ -> pc = compare(r[bp + code[pc + 1]], r[bp + code[pc + 2]]) == 0 ? code[pc + 3] : pc + 4;
+                case JDNE -> pc = compare(r[bp + code[pc + 1]], r[bp + code[pc + 2]]) != 0 ? code[pc + 3] : pc + 4;
+                case JDLT -> pc = compare(r[bp + code[pc + 1]], r[bp + code[pc + 2]]) < 0 ? code[pc + 3] : pc + 4;
+                case JDLE -> pc = compare(r[bp + code[pc + 1]], r[bp + code[pc + 2]]) <= 0 ? code[pc + 3] : pc + 4;
+                case JDGT -> pc = compare(r[bp + code[pc + 1]], r[bp + code[pc + 2]]) > 0 ? code[pc + 3] : pc + 4;
+                case JDGE -> pc = compare(r[bp + code[pc + 1]], r[bp + code[pc + 2]]) >= 0 ? code[pc + 3] : pc + 4;
+                case CALL -> {
+                    VmFunction callee = function.callees[code[pc + 2]];
+                    int calleeBp = bp + code[pc + 3];
+
+                    if (depth == maxDepth) {
+                        throw new CallDepthExceededException(callee.getMethodName());
+                    }
+
+                    if (3 * depth + 3 > frames.length) {
+                        frames = Arrays.copyOf(frames, frames.length * 2);
+                        callers = Arrays.copyOf(callers, callers.length * 2);
+                    }
+
+                    frames[3 * depth] = pc + 5;
+                    frames[3 * depth + 1] = bp;
+                    frames[3 * depth + 2] = code[pc + 1];
+                    callers[depth] = function;
+                    depth++;
+
+                    if (calleeBp + callee.registerCount > r.length) {
+                        r = Arrays.copyOf(r, Math.max(r.length * 2, calleeBp + callee.registerCount));
+                    }
+
+                    function = callee;
+                    code = callee.code;
+                    k = callee.constants;
+                    bp = calleeBp;
+                    pc = 0;
+                }
+                case RET -> {
+                    long value = r[bp + code[pc + 1]];
+
+                    if (depth == 0) {
+                        return value;
+                    }
+
+                    depth--;
+                    function = callers[depth];
+                    callers[depth] = null;
+                    code = function.code;
+                    k = function.constants;
+                    pc = frames[3 * depth];
+                    bp = frames[3 * depth + 1];
+                    r[bp + frames[3 * depth + 2]] = value;
+                }
+                default -> throw new IllegalStateException("Unknown opcode " + code[pc] + " at " + pc + " in " + function.getName());
+            }
+        }
+    }
+
+    private static int compare(long left, long right) {
+        return Double.compare(longBitsToDouble(left), longBitsToDouble(right));
+    }
+}
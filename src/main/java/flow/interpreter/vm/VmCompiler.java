@@ -0,0 +1,61 @@
+package flow.interpreter.vm;
+
+import flow.FlowParser;
+import flow.interpreter.compiler.MethodCandidate;
+import flow.interpreter.compiler.MethodCandidates;
+import flow.interpreter.compiler.UnsupportedConstructException;
+import flow.interpreter.node.MethodNode;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Compiles methods over primitive values into register VM code and installs them into the corresponding
+ * {@link MethodNode}s. Eligibility is the same as for the JVM engine: methods that use anything else stay with the
+ * node interpreter, and calls between VM functions never leave the VM dispatch loop.
+ */
+public class VmCompiler {
+
+    /**
+     * @return compiled functions in declaration order
+     */
+    public List<VmFunction> compile(FlowParser.ProgramContext program, Function<FlowParser.MethodDeclarationContext, MethodNode> methods) {
+        MethodCandidates candidates = MethodCandidates.collect(program, methods);
+
+        // functions exist before any code is generated, so calls can reference callees declared later
+        Map<MethodCandidate, VmFunction> functions = new HashMap<>();
+        for (MethodCandidate candidate : candidates.getActive()) {
+            functions.put(candidate, new VmFunction(functionName(candidate), candidate.getParamTypes(), candidate.getReturnType()));
+        }
+
+        // rejecting a method can invalidate its callers, so repeat until every remaining method compiles
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (MethodCandidate candidate : List.copyOf(candidates.getActive())) {
+                try {
+                    new VmMethodCompiler(candidate, candidates, functions).compileInto(functions.get(candidate));
+                } catch (UnsupportedConstructException e) {
+                    candidates.reject(candidate);
+                    changed = true;
+                }
+            }
+        }
+
+        List<VmFunction> compiled = new ArrayList<>();
+
+        for (MethodCandidate candidate : candidates.getActive()) {
+            VmFunction function = functions.get(candidate);
+
+            candidate.getMethod().setCompiled((args, maxDepth) -> Vm.call(function, args, maxDepth));
+            compiled.add(function);
+        }
+
+        return compiled;
+    }
+
+    private static String functionName(MethodCandidate candidate) {
+        return candidate.getOwner() != null ? candidate.getOwner() + "." + candidate.getMethodName() : candidate.getMethodName();
+    }
+}
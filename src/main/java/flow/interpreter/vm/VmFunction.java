@@ -0,0 +1,58 @@
+package flow.interpreter.vm;
+
+import flow.interpreter.compiler.PrimitiveType;
+
+/**
+ * Compiled method of the register VM: instruction stream, constant pool and the callees referenced by CALL.
+ */
+public class VmFunction {
+
+    private final String name;
+    private final PrimitiveType[] paramTypes;
+    private final PrimitiveType returnType;
+    int[] code;
+    long[] constants;
+    VmFunction[] callees;
+    int registerCount;
+
+    VmFunction(String name, PrimitiveType[] paramTypes, PrimitiveType returnType) {
+        this.name = name;
+        this.paramTypes = paramTypes;
+        this.returnType = returnType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the name of the method without its class, as errors name it.
+     */
+    public String getMethodName() {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    public PrimitiveType[] getParamTypes() {
+        return paramTypes;
+    }
+
+    public PrimitiveType getReturnType() {
+        return returnType;
+    }
+
+    public int[] getCode() {
+        return code;
+    }
+
+    public long[] getConstants() {
+        return constants;
+    }
+
+    public VmFunction[] getCallees() {
+        return callees;
+    }
+
+    public int getRegisterCount() {
+        return registerCount;
+    }
+}
@@ -0,0 +1,550 @@
+package flow.interpreter.vm;
+
+import flow.FlowBaseVisitor;
+import flow.FlowParser;
+import flow.interpreter.compiler.MethodCandidate;
+import flow.interpreter.compiler.MethodCandidates;
+import flow.interpreter.compiler.PrimitiveType;
+import flow.interpreter.compiler.UnsupportedConstructException;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.RuleNode;
+
+import java.util.*;
+
+import static flow.interpreter.vm.Opcode.*;
+
+/**
+ * Translates one method body into register VM code. Locals and temporaries are allocated stack-like, so every
+ * register at or above {@code nextRegister} is dead; call arguments are placed there and become the callee's
+ * register window. Expressions return the register holding their value, statements return {@code null}.
+ */
+class VmMethodCompiler extends FlowBaseVisitor<VmMethodCompiler.Operand> {
+
+    record Operand(PrimitiveType type, int register) {
+    }
+
+    private record Local(PrimitiveType type, int register, boolean isMutable) {
+    }
+
+    private static class Label {
+        int position = -1;
+        final List<Integer> fixups = new ArrayList<>();
+    }
+
+    private final MethodCandidate candidate;
+    private final MethodCandidates candidates;
+    private final Map<MethodCandidate, VmFunction> functions;
+    private final Deque<Map<String, Local>> scopes = new ArrayDeque<>();
+
+    private int[] code = new int[64];
+    private int length = 0;
+    private final List<Long> constants = new ArrayList<>();
+    private final List<VmFunction> callees = new ArrayList<>();
+    private int nextRegister = 0;
+    private int registerCount = 0;
+
+    // register the next expression should write its value to, -1 for a fresh temporary
+    private int destination = -1;
+
+    VmMethodCompiler(MethodCandidate candidate, MethodCandidates candidates, Map<MethodCandidate, VmFunction> functions) {
+        this.candidate = candidate;
+        this.candidates = candidates;
+        this.functions = functions;
+    }
+
+    void compileInto(VmFunction function) {
+        scopes.push(new HashMap<>());
+
+        String[] paramNames = candidate.getParamNames();
+        PrimitiveType[] paramTypes = candidate.getParamTypes();
+        for (int i = 0; i < paramNames.length; i++) {
+            define(paramNames[i], paramTypes[i], true);
+        }
+
+        FlowParser.MethodStructureBodyContext body = candidate.getContext().methodStructureBody();
+        int statementCount = body.methodBodyStatement().size();
+
+        if (statementCount == 0 || body.methodBodyStatement(statementCount - 1).statement().returnStatement() == null) {
+            throw new UnsupportedConstructException("Missing trailing return statement.");
+        }
+
+        for (FlowParser.MethodBodyStatementContext statement : body.methodBodyStatement()) {
+            visitStatement(statement.statement());
+
+            if (statement.statement().returnStatement() != null) {
+                break;
+            }
+        }
+
+        function.code = Arrays.copyOf(code, length);
+        function.constants = constants.stream().mapToLong(Long::longValue).toArray();
+        function.callees = callees.toArray(new VmFunction[0]);
+        function.registerCount = Math.max(registerCount, 1);
+    }
+
+    private void emit(int... words) {
+        if (length + words.length > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, length + words.length));
+        }
+
+        System.arraycopy(words, 0, code, length, words.length);
+        length += words.length;
+    }
+
+    private void emitJump(Label target, int... words) {
+        emit(words);
+        emit(target.position);
+
+        if (target.position < 0) {
+            target.fixups.add(length - 1);
+        }
+    }
+
+    private void mark(Label label) {
+        label.position = length;
+
+        for (int fixup : label.fixups) {
+            code[fixup] = length;
+        }
+    }
+
+    private int allocate() {
+        registerCount = Math.max(registerCount, nextRegister + 1);
+        return nextRegister++;
+    }
+
+    private int takeDestination() {
+        int register = destination;
+        destination = -1;
+        return register;
+    }
+
+    private int target(int destination) {
+        return destination >= 0 ? destination : allocate();
+    }
+
+    private Local define(String name, PrimitiveType type, boolean isMutable) {
+        Local local = new Local(type, allocate(), isMutable);
+        scopes.peek().put(name, local);
+
+        return local;
+    }
+
+    private Local resolve(String name) {
+        for (Map<String, Local> scope : scopes) {
+            Local local = scope.get(name);
+            if (local != null) {
+                return local;
+            }
+        }
+
+        return null;
+    }
+
+    private Operand compileExpression(FlowParser.ExpressionContext ctx) {
+        destination = -1;
+        return visit(ctx);
+    }
+
+    private Operand compileExpressionInto(FlowParser.ExpressionContext ctx, int register) {
+        destination = register;
+        return visit(ctx);
+    }
+
+    private static UnsupportedConstructException unsupported(ParseTree ctx) {
+        return new UnsupportedConstructException("Cannot compile `" + ctx.getText() + "`.");
+    }
+
+    @Override
+    public Operand visitStatement(FlowParser.StatementContext ctx) {
+        int mark = nextRegister;
+
+        if (ctx.methodInvocation() != null) {
+            destination = -1;
+            visitMethodInvocation(ctx.methodInvocation());
+        } else if (ctx.declaration() != null && ctx.declaration().variableDeclaration() != null) {
+            visitVariableDeclaration(ctx.declaration().variableDeclaration());
+
+            // the declared local stays allocated until the end of its block
+            return null;
+        } else if (ctx.variableAssignment() != null || ctx.loopStatement() != null
+                || ctx.returnStatement() != null || ctx.ifStatement() != null) {
+            visit(ctx.getChild(0));
+        } else {
+            throw unsupported(ctx);
+        }
+
+        nextRegister = mark;
+        return null;
+    }
+
+    @Override
+    public Operand visitLoopStatement(FlowParser.LoopStatementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Operand visitControlStructureBody(FlowParser.ControlStructureBodyContext ctx) {
+        int mark = nextRegister;
+        scopes.push(new HashMap<>());
+
+        for (FlowParser.StatementContext statement : ctx.statement()) {
+            visitStatement(statement);
+
+            // statements after a return are never executed
+            if (statement.returnStatement() != null) {
+                break;
+            }
+        }
+
+        scopes.pop();
+        nextRegister = mark;
+        return null;
+    }
+
+    @Override
+    public Operand visitVariableDeclaration(FlowParser.VariableDeclarationContext ctx) {
+        String name = ctx.ID().getText();
+
+        // the interpreter rejects declarations of names that are already visible
+        if (ctx.expression() == null || resolve(name) != null || candidate.isDeclaredOutside(name)) {
+            throw unsupported(ctx);
+        }
+
+        int register = allocate();
+        Operand value = compileExpressionInto(ctx.expression(), register);
+
+        nextRegister = register + 1;
+        scopes.peek().put(name, new Local(value.type(), register, ctx.VARIABLE().getText().equals("var")));
+
+        return null;
+    }
+
+    @Override
+    public Operand visitVariableAssignment(FlowParser.VariableAssignmentContext ctx) {
+        Local local = resolve(ctx.ID().getText());
+
+        if (local == null || !local.isMutable()) {
+            throw unsupported(ctx);
+        }
+
+        if (compileExpressionInto(ctx.expression(), local.register()).type() != local.type()) {
+            throw unsupported(ctx);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Operand visitReturnStatement(FlowParser.ReturnStatementContext ctx) {
+        if (ctx.expression() == null) {
+            throw unsupported(ctx);
+        }
+
+        Operand value = compileExpression(ctx.expression());
+
+        if (value.type() != candidate.getReturnType()) {
+            throw unsupported(ctx);
+        }
+
+        emit(RET, value.register());
+        return null;
+    }
+
+    @Override
+    public Operand visitIfStatement(FlowParser.IfStatementContext ctx) {
+        Label elseLabel = new Label();
+        int mark = nextRegister;
+
+        if (ctx.expression() instanceof FlowParser.RelationOpExpressionContext relation) {
+            jumpUnless(relation.expression(0), relation.relationOp().getText(), relation.expression(1), elseLabel);
+        } else {
+            Operand condition = compileExpression(ctx.expression());
+
+            if (condition.type() != PrimitiveType.BOOLEAN) {
+                throw unsupported(ctx.expression());
+            }
+
+            emitJump(elseLabel, JZ, condition.register());
+        }
+
+        nextRegister = mark;
+        visit(ctx.controlStructureBody(0));
+
+        if (ctx.controlStructureBody().size() == 1) {
+            mark(elseLabel);
+            return null;
+        }
+
+        Label endLabel = new Label();
+        emitJump(endLabel, JMP);
+        mark(elseLabel);
+        visit(ctx.controlStructureBody(1));
+        mark(endLabel);
+
+        return null;
+    }
+
+    @Override
+    public Operand visitWhileStatement(FlowParser.WhileStatementContext ctx) {
+        Label conditionLabel = new Label();
+        Label endLabel = new Label();
+        int mark = nextRegister;
+
+        mark(conditionLabel);
+
+        if (ctx.expression() instanceof FlowParser.RelationOpExpressionContext relation) {
+            jumpUnless(relation.expression(0), relation.relationOp().getText(), relation.expression(1), endLabel);
+        } else {
+            Operand condition = compileExpression(ctx.expression());
+
+            if (condition.type() != PrimitiveType.BOOLEAN) {
+                throw unsupported(ctx.expression());
+            }
+
+            emitJump(endLabel, JZ, condition.register());
+        }
+
+        nextRegister = mark;
+        visit(ctx.controlStructureBody());
+        emitJump(conditionLabel, JMP);
+        mark(endLabel);
+
+        return null;
+    }
+
+    @Override
+    public Operand visitForStatement(FlowParser.ForStatementContext ctx) {
+        // only plain ascending Int ranges are compiled; downTo, step, Range values and parallel loops run on the node tree
+        if (ctx.parallelModifier() != null || !(ctx.expression() instanceof FlowParser.RangeExpressionContext range)
+                || range.DOWN_TO() != null || range.STEP() != null) {
+            throw unsupported(ctx);
+        }
+
+        int mark = nextRegister;
+        scopes.push(new HashMap<>());
+
+        // the loop variable is reassigned from a hidden counter, so writes to it in the body do not affect iteration
+        int counter = allocate();
+        if (compileExpressionInto(range.expression(0), counter).type() != PrimitiveType.INT) {
+            throw unsupported(range);
+        }
+
+        int end = allocate();
+        if (compileExpressionInto(range.expression(1), end).type() != PrimitiveType.INT) {
+            throw unsupported(range);
+        }
+
+        nextRegister = end + 1;
+        Local variable = define(ctx.ID().getText(), PrimitiveType.INT, true);
+
+        Label conditionLabel = new Label();
+        Label endLabel = new Label();
+
+        mark(conditionLabel);
+        emitJump(endLabel, JIGE, counter, end);
+        emit(MOVE, variable.register(), counter);
+
+        visit(ctx.controlStructureBody());
+
+        emit(INCI, counter, 1);
+        emitJump(conditionLabel, JMP);
+        mark(endLabel);
+
+        scopes.pop();
+        nextRegister = mark;
+        return null;
+    }
+
+    /**
+     * Evaluates {@code left relationOp right} and jumps to {@code target} when it is false.
+     */
+    private void jumpUnless(FlowParser.ExpressionContext left, String relationOp, FlowParser.ExpressionContext right, Label target) {
+        compareAndJump(left, relationOp, right, target, false);
+    }
+
+    private void compareAndJump(FlowParser.ExpressionContext left, String relationOp, FlowParser.ExpressionContext right,
+                                Label target, boolean jumpIfTrue) {
+        int mark = nextRegister;
+        Operand leftValue = compileExpression(left);
+        Operand rightValue = compileExpression(right);
+
+        if (leftValue.type() != rightValue.type()) {
+            throw unsupported(left.getParent());
+        }
+
+        boolean isDouble = leftValue.type() == PrimitiveType.DOUBLE;
+        int opcode = jumpIfTrue ? Opcode.jumpIf(relationOp, isDouble) : Opcode.jumpUnless(relationOp, isDouble);
+
+        emitJump(target, opcode, leftValue.register(), rightValue.register());
+        nextRegister = mark;
+    }
+
+    @Override
+    public Operand visitIntExpression(FlowParser.IntExpressionContext ctx) {
+        int register = target(takeDestination());
+        emit(LOADI, register, Integer.parseInt(ctx.INT().getText()));
+
+        return new Operand(PrimitiveType.INT, register);
+    }
+
+    @Override
+    public Operand visitDoubleExpression(FlowParser.DoubleExpressionContext ctx) {
+        int register = target(takeDestination());
+        long bits = Double.doubleToRawLongBits(Double.parseDouble(ctx.DOUBLE().getText()));
+
+        int index = constants.indexOf(bits);
+        if (index < 0) {
+            index = constants.size();
+            constants.add(bits);
+        }
+
+        emit(LOADK, register, index);
+
+        return new Operand(PrimitiveType.DOUBLE, register);
+    }
+
+    @Override
+    public Operand visitBooleanExpression(FlowParser.BooleanExpressionContext ctx) {
+        int register = target(takeDestination());
+        emit(LOADI, register, Boolean.parseBoolean(ctx.BOOLEAN().getText()) ? 1 : 0);
+
+        return new Operand(PrimitiveType.BOOLEAN, register);
+    }
+
+    @Override
+    public Operand visitCharExpression(FlowParser.CharExpressionContext ctx) {
+        int register = target(takeDestination());
+        emit(LOADI, register, ctx.CHAR().getText().charAt(1));
+
+        return new Operand(PrimitiveType.CHAR, register);
+    }
+
+    @Override
+    public Operand visitIdExpression(FlowParser.IdExpressionContext ctx) {
+        int destination = takeDestination();
+        Local local = resolve(ctx.ID().getText());
+
+        if (local == null) {
+            throw unsupported(ctx);
+        }
+
+        // locals are read in place unless the value has to land in a specific register
+        if (destination < 0 || destination == local.register()) {
+            return new Operand(local.type(), local.register());
+        }
+
+        emit(MOVE, destination, local.register());
+        return new Operand(local.type(), destination);
+    }
+
+    @Override
+    public Operand visitParenthesesExpression(FlowParser.ParenthesesExpressionContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public Operand visitNumberOpExpression(FlowParser.NumberOpExpressionContext ctx) {
+        int destination = takeDestination();
+        int mark = nextRegister;
+
+        Operand left = compileExpression(ctx.expression(0));
+        Operand right = compileExpression(ctx.expression(1));
+
+        if (left.type() != right.type() || (left.type() != PrimitiveType.INT && left.type() != PrimitiveType.DOUBLE)) {
+            throw unsupported(ctx);
+        }
+
+        boolean isDouble = left.type() == PrimitiveType.DOUBLE;
+        int opcode = switch (ctx.numbersOp().getText()) {
+            case "+" -> isDouble ? DADD : IADD;
+            case "-" -> isDouble ? DSUB : ISUB;
+            case "*" -> isDouble ? DMUL : IMUL;
+            case "/" -> isDouble ? DDIV : IDIV;
+            case "%" -> isDouble ? DREM : IREM;
+            default -> throw unsupported(ctx);
+        };
+
+        // operands are read before the result is written, so the result may reuse their temporaries
+        nextRegister = mark;
+        int register = target(destination);
+        emit(opcode, register, left.register(), right.register());
+
+        return new Operand(left.type(), register);
+    }
+
+    @Override
+    public Operand visitRelationOpExpression(FlowParser.RelationOpExpressionContext ctx) {
+        int destination = takeDestination();
+        Label trueLabel = new Label();
+        Label endLabel = new Label();
+
+        compareAndJump(ctx.expression(0), ctx.relationOp().getText(), ctx.expression(1), trueLabel, true);
+
+        int register = target(destination);
+        emit(LOADI, register, 0);
+        emitJump(endLabel, JMP);
+        mark(trueLabel);
+        emit(LOADI, register, 1);
+        mark(endLabel);
+
+        return new Operand(PrimitiveType.BOOLEAN, register);
+    }
+
+    @Override
+    public Operand visitMethodInvocationExpression(FlowParser.MethodInvocationExpressionContext ctx) {
+        return visitMethodInvocation(ctx.methodInvocation());
+    }
+
+    @Override
+    public Operand visitMethodInvocation(FlowParser.MethodInvocationContext ctx) {
+        int destination = takeDestination();
+
+        if (ctx.ID().size() != 1) {
+            throw unsupported(ctx);
+        }
+
+        MethodCandidate callee = candidates.resolveCall(candidate, ctx.ID(0).getText());
+
+        if (callee == null) {
+            throw unsupported(ctx);
+        }
+
+        PrimitiveType[] paramTypes = callee.getParamTypes();
+        int argCount = ctx.methodArgs() != null ? ctx.methodArgs().expression().size() : 0;
+
+        if (argCount != paramTypes.length) {
+            throw unsupported(ctx);
+        }
+
+        // arguments go to consecutive registers above everything live, which become the callee's window
+        int base = nextRegister;
+        for (int i = 0; i < argCount; i++) {
+            int register = allocate();
+
+            if (compileExpressionInto(ctx.methodArgs().expression(i), register).type() != paramTypes[i]) {
+                throw unsupported(ctx);
+            }
+
+            nextRegister = register + 1;
+        }
+
+        VmFunction function = functions.get(callee);
+        int index = callees.indexOf(function);
+        if (index < 0) {
+            index = callees.size();
+            callees.add(function);
+        }
+
+        nextRegister = base;
+        int register = target(destination);
+        emit(CALL, register, index, base, argCount);
+
+        return new Operand(callee.getReturnType(), register);
+    }
+
+    @Override
+    public Operand visitChildren(RuleNode node) {
+        throw unsupported(node);
+    }
+}
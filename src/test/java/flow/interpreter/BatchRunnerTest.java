@@ -0,0 +1,80 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BatchRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void runs_files_with_state_of_their_own() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            Files.writeString(directory.resolve("p" + (char) ('a' + i) + ".flow"), """
+                    var total = 0;
+                    for (i in 0..%d) {
+                        total = total + i;
+                    }
+                    print(total);
+                    """.formatted(i * 100));
+        }
+        Files.writeString(directory.resolve("z.flow"), "print(1);\nprint(1 / 0);");
+        Files.writeString(directory.resolve("notes.txt"), "print(2);");
+
+        List<Path> files = BatchRunner.findFiles(directory.toString());
+        List<BatchRunner.Result> passed = new ArrayList<>();
+        List<BatchRunner.Result> results = new BatchRunner(new CompileOptions(), 0, 4).run(files, passed::add);
+
+        assertEquals(21, results.size());
+        assertEquals(results, passed);
+        for (int i = 0; i < 20; i++) {
+            int n = i * 100;
+            assertEquals(directory.resolve("p" + (char) ('a' + i) + ".flow"), results.get(i).file());
+            assertEquals(n * (n - 1) / 2 + "\n", results.get(i).output());
+            assertNull(results.get(i).error());
+        }
+        assertEquals("1", results.get(20).output());
+        assertEquals("/ by zero", results.get(20).error());
+        assertEquals("[SUMMARY] 21 files, 20 ok, 1 failed", BatchRunner.summarize(results, 0).lines().findFirst().get()
+                .replaceAll(" in .*", ""));
+    }
+
+    @Test
+    void failure_of_a_file_does_not_stop_the_batch() throws IOException {
+        int depth = 200_000;
+        Files.writeString(directory.resolve("a.flow"), "print(1);");
+        Files.writeString(directory.resolve("b.flow"), "print(" + "(".repeat(depth) + "1" + ")".repeat(depth) + ");");
+        Files.writeString(directory.resolve("c.flow"), "print(3);");
+
+        List<BatchRunner.Result> results = new BatchRunner(new CompileOptions(), 0, 2)
+                .run(BatchRunner.findFiles(directory.toString()), result -> {
+                });
+
+        assertEquals(List.of("1\n", "", "3\n"), results.stream().map(BatchRunner.Result::output).toList());
+        assertNull(results.get(0).error());
+        assertEquals("Stack overflow while compiling or running the program.", results.get(1).error());
+        assertNull(results.get(2).error());
+    }
+
+    @Test
+    void finds_files_matching_glob() throws IOException {
+        Files.createDirectories(directory.resolve("a/b"));
+        Files.writeString(directory.resolve("a/one.flow"), "");
+        Files.writeString(directory.resolve("a/b/two.flow"), "");
+        Files.writeString(directory.resolve("a/b/three.txt"), "");
+
+        assertEquals(List.of(directory.resolve("a/b/two.flow"), directory.resolve("a/one.flow")),
+                BatchRunner.findFiles(directory + "/a/**.flow"));
+        assertEquals(List.of(directory.resolve("a/b/two.flow")), BatchRunner.findFiles(directory + "/a/*/*.flow"));
+    }
+}
@@ -0,0 +1,109 @@
+package flow.interpreter;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.output.StringOutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CallDepthTest {
+
+    private static final String SUM = """
+            fun sum(n: Int, label: String): Int {
+                if (n == 0) {
+                    return 0;
+                }
+                return n + sum(n - 1, label);
+            }
+            """;
+
+    @Test
+    void deep_recursion_with_larger_call_depth() {
+        String program = SUM + "print(sum(100000, \"deep\"));";
+        StringOutputSink output = new StringOutputSink();
+
+        FlowInterpreter.execute(program, Engine.TREE, output, InputSource.of(""), 200_000);
+
+        assertEquals("705082704\n", output.toString());
+    }
+
+    @Test
+    void recursion_beyond_call_depth_fails() {
+        String program = SUM + "print(sum(2000, \"deep\"));";
+
+        FlowException e = assertThrows(FlowException.class, () -> FlowInterpreter.execute(program, Engine.TREE,
+                new StringOutputSink(), InputSource.of(""), 1000));
+
+        assertEquals("Maximum call depth of 1000 exceeded in `sum`.", e.getMessage());
+    }
+
+    @Test
+    void vm_recursion_beyond_call_depth_fails() {
+        String program = """
+                fun sum(n: Int): Int {
+                    if (n == 0) {
+                        return 0;
+                    }
+                    return n + sum(n - 1);
+                }
+                print(sum(2000));
+                """;
+
+        FlowException e = assertThrows(FlowException.class, () -> FlowInterpreter.execute(program, Engine.VM,
+                new StringOutputSink(), InputSource.of(""), 1000));
+
+        assertEquals("Maximum call depth of 1000 exceeded in `sum`.", e.getMessage());
+    }
+
+    @Test
+    void jvm_recursion_stops_at_call_depth() {
+        String program = """
+                fun down(n: Int): Int {
+                    if (n == 0) {
+                        return 0;
+                    }
+                    return down(n - 1) + 1;
+                }
+                print(down(5000));
+                """;
+        StringOutputSink output = new StringOutputSink();
+
+        FlowInterpreter.execute(program, Engine.JVM, output, InputSource.of(""), 5001);
+        FlowException e = assertThrows(FlowException.class, () -> FlowInterpreter.execute(program, Engine.JVM,
+                new StringOutputSink(), InputSource.of(""), 5000));
+
+        assertEquals("5000\n", output.toString());
+        assertEquals("Maximum call depth of 5000 exceeded in `down`.", e.getMessage());
+    }
+
+    @Test
+    void jvm_stack_overflow_reports_depth_of_compiled_calls() throws InterruptedException {
+        String program = """
+                fun down(n: Int): Int {
+                    if (n == 0) {
+                        return 0;
+                    }
+                    return down(n - 1) + 1;
+                }
+                print(down(1000000));
+                """;
+        RuntimeException[] failure = new RuntimeException[1];
+
+        // a small stack runs out long before the default maximum call depth
+        Thread thread = new Thread(null, () -> failure[0] = assertThrows(FlowException.class,
+                () -> FlowInterpreter.execute(program, Engine.JVM)), "small-stack", 1 << 20);
+        thread.start();
+        thread.join();
+
+        Matcher matcher = Pattern.compile("Call stack overflow at call depth (\\d+) in `down`\\..*")
+                .matcher(failure[0].getMessage());
+        assertTrue(matcher.matches());
+        assertTrue(Integer.parseInt(matcher.group(1)) > 100);
+    }
+}
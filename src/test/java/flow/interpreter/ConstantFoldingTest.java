@@ -0,0 +1,83 @@
+package flow.interpreter;
+
+import flow.interpreter.visitor.CompilerVisitor;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConstantFoldingTest {
+
+    private static String simplify(String program) {
+        CompilerVisitor compiler = new CompilerVisitor();
+        compiler.compile(ProgramParser.parse(CharStreams.fromString(program)));
+
+        return compiler.getConstantFolder().toString();
+    }
+
+    @Test
+    void folds_constants_and_removes_dead_code() {
+        String program = """
+                val debug = 1 == 0;
+                val scale = 2 * 3 + 1;
+                if (debug) {
+                    println(readFile("missing.txt"));
+                } else {
+                    println(toString(scale) + "x");
+                }
+                fun twice(n: Int): Int {
+                    if (n > 0) {
+                        return n + n;
+                        println("unreachable");
+                    }
+                    return 0;
+                }
+                print(twice(scale));
+                """;
+
+        String expected = """
+
+                7x14
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+        assertEquals("[OPTIMIZER] folded 5 expressions, propagated 3 constants, removed 1 branches and 1 unreachable statements\n",
+                simplify(program));
+    }
+
+    @Test
+    void keeps_statements_after_return_without_value() {
+        String program = """
+                fun nothing(): Unit {
+                }
+                fun count(): Int {
+                    if (true) {
+                        return nothing();
+                        print(1);
+                    }
+                    return 2;
+                }
+                print(count());
+                """;
+
+        String expected = """
+                12
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void leaves_failing_expressions_to_runtime() {
+        String program = """
+                var reached = false;
+                reached = true;
+                print(10 / 0);
+                """;
+
+        assertThrows(ArithmeticException.class, () -> FlowInterpreter.execute(program));
+        assertEquals("[OPTIMIZER] folded 0 expressions, propagated 0 constants, removed 0 branches and 0 unreachable statements\n",
+                simplify(program));
+    }
+}
@@ -0,0 +1,69 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FileLinesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void iterate_over_file_lines() throws IOException {
+        Path file = Files.writeString(directory.resolve("input.txt"), "alpha\nbeta\n\ngamma");
+
+        String program = """
+                var count = 0;
+                for (line in lines("%s")) {
+                    count = count + 1;
+                    print(line + ";");
+                }
+                print(count);
+                """.formatted(file.toString().replace("\\", "/"));
+
+        String expected = """
+                alpha;beta;;gamma;4
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void return_from_loop_over_file_lines() throws IOException {
+        Path file = Files.writeString(directory.resolve("input.txt"), "first\nsecond\n");
+
+        String program = """
+                fun firstLine(path: String): String {
+                    for (line in lines(path)) {
+                        return line;
+                    }
+                    return "";
+                }
+                print(firstLine("%s"));
+                """.formatted(file.toString().replace("\\", "/"));
+
+        String expected = """
+                first
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void missing_file_throws_exception() {
+        String program = """
+                for (line in lines("%s")) {
+                    print(line);
+                }
+                """.formatted(directory.resolve("missing.txt").toString().replace("\\", "/"));
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+}
@@ -0,0 +1,142 @@
+package flow.interpreter;
+
+import flow.interpreter.output.FileOutputs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static flow.interpreter.output.FileOutputs.DEFAULT_CAPACITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FileOutputsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_file_in_loop_keeps_last_content() throws IOException {
+        Path file = directory.resolve("out.txt");
+
+        String program = """
+                for (i in 0..100) {
+                    writeFile("%s", "line " + i);
+                }
+                """.formatted(toFlowPath(file));
+
+        FlowInterpreter.execute(program);
+
+        assertEquals("line 99", Files.readString(file));
+    }
+
+    @Test
+    void append_file_adds_to_existing_content() throws IOException {
+        Path file = Files.writeString(directory.resolve("out.txt"), "start;");
+
+        String program = """
+                for (i in 0..3) {
+                    appendFile("%s", i + ";");
+                }
+                """.formatted(toFlowPath(file));
+
+        FlowInterpreter.execute(program);
+
+        assertEquals("start;0;1;2;", Files.readString(file));
+    }
+
+    @Test
+    void written_file_can_be_read_back() {
+        String path = toFlowPath(directory.resolve("out.txt"));
+
+        String program = """
+                writeFile("%1$s", "a");
+                appendFile("%1$s", "b");
+                print(readFile("%1$s"));
+                writeFile("%1$s", "c");
+                for (line in lines("%1$s")) {
+                    print(line);
+                }
+                """.formatted(path);
+
+        String expected = """
+                abc
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void written_files_are_flushed_on_error() throws IOException {
+        Path file = directory.resolve("out.txt");
+
+        String program = """
+                appendFile("%s", "before error");
+                print(readFile("%s"));
+                """.formatted(toFlowPath(file), toFlowPath(directory.resolve("missing.txt")));
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+        assertEquals("before error", Files.readString(file));
+    }
+
+    @Test
+    void buffer_is_written_when_full() throws IOException {
+        Path file = directory.resolve("out.txt");
+        FileOutputs files = new FileOutputs(4);
+
+        files.append(file.toString(), "ab");
+        assertEquals("", Files.readString(file));
+
+        files.append(file.toString(), "cd");
+        assertEquals("abcd", Files.readString(file));
+
+        files.write(file.toString(), "e");
+        files.close();
+        assertEquals("e", Files.readString(file));
+    }
+
+    @Test
+    void files_beyond_open_limit_are_closed_and_reopened() throws IOException {
+        FileOutputs files = new FileOutputs(DEFAULT_CAPACITY, 2);
+        String a = directory.resolve("a.txt").toString();
+        String b = directory.resolve("b.txt").toString();
+        String c = directory.resolve("c.txt").toString();
+
+        files.write(a, "a1");
+        files.write(b, "b1");
+        files.append(c, "c1");
+        assertEquals("a1", Files.readString(Path.of(a)));
+
+        files.append(a, "a2");
+        files.write(b, "b2");
+        files.append(c, "c2");
+        files.close();
+
+        assertEquals("a1a2", Files.readString(Path.of(a)));
+        assertEquals("b2", Files.readString(Path.of(b)));
+        assertEquals("c1c2", Files.readString(Path.of(c)));
+    }
+
+    @Test
+    void program_writes_more_files_than_open_limit() throws IOException {
+        String program = """
+                for (i in 0..%d) {
+                    appendFile("%s/f" + i + ".txt", "first ");
+                }
+                for (i in 0..%1$d) {
+                    appendFile("%2$s/f" + i + ".txt", toString(i));
+                }
+                """.formatted(FileOutputs.DEFAULT_MAX_OPEN_FILES + 50, toFlowPath(directory));
+
+        FlowInterpreter.execute(program);
+
+        assertEquals("first 0", Files.readString(directory.resolve("f0.txt")));
+        assertEquals("first 300", Files.readString(directory.resolve("f300.txt")));
+    }
+
+    private static String toFlowPath(Path path) {
+        return path.toString().replace("\\", "/");
+    }
+}
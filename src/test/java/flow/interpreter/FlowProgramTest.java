@@ -0,0 +1,91 @@
+package flow.interpreter;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.output.StringOutputSink;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FlowProgramTest {
+
+    private static final String PROGRAM = """
+            class Counter {
+                var count = 0;
+                fun add(n: Int): Unit {
+                    count = count + n;
+                }
+            }
+            fun name(): String {
+                return readLine();
+            }
+            var total = new Counter();
+            val who = name();
+            for (i in 0..1000) {
+                total.add(i);
+            }
+            print(who + " " + toString(total.count));
+            """;
+
+    private static String run(FlowProgram program, String input) {
+        StringOutputSink output = new StringOutputSink();
+        program.run(new ExecutionContext(output, InputSource.of(input)));
+
+        return output.toString();
+    }
+
+    @Test
+    void runs_again_with_fresh_globals() {
+        FlowProgram program = Flow.compile(PROGRAM);
+
+        assertEquals("first 499500\n", run(program, "first\n"));
+        assertEquals("second 499500\n", run(program, "second\n"));
+    }
+
+    @Test
+    void runs_on_several_threads_at_once() throws Exception {
+        FlowProgram program = Flow.compile(PROGRAM, Engine.VM);
+        List<Future<String>> outputs = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 64; i++) {
+                String input = "run" + i + "\n";
+                outputs.add(executor.submit(() -> run(program, input)));
+            }
+        }
+
+        for (int i = 0; i < outputs.size(); i++) {
+            assertEquals("run" + i + " 499500\n", outputs.get(i).get());
+        }
+    }
+
+    @Test
+    void reports_compile_problems() {
+        assertThrows(ParseCancellationException.class, () -> Flow.compile("print(1"));
+        assertEquals(List.of("Line 2: Wrong type of variable `count`. Expected Int but got String."),
+                Flow.compile("var count: Int = 0;\ncount = \"many\";").getTypeErrors());
+    }
+
+    @Test
+    void uses_only_the_given_compile_options() {
+        String program = "val scale = 2 * 3;\nprint(scale);";
+        ByteArrayOutputStream disassembly = new ByteArrayOutputStream();
+
+        Flow.compile(program, new CompileOptions().withDisassembly(new PrintStream(disassembly, true)));
+
+        assertEquals("[OPTIMIZER] folded 1 expressions, propagated 1 constants, removed 0 branches and 0 unreachable "
+                + "statements\n", disassembly.toString());
+        assertThrows(FlowException.class, () -> Flow.compile("var count: Int = 0;\ncount = \"many\";",
+                new CompileOptions().withTypeChecking(true)));
+    }
+}
@@ -0,0 +1,92 @@
+package flow.interpreter;
+
+import flow.interpreter.input.InputSource;
+import flow.interpreter.output.StringOutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InputSourceTest {
+
+    @Test
+    void read_lines_from_input_source() {
+        String program = """
+                var first = readLine();
+                var second = readLine();
+                print(second + first);
+                """;
+
+        assertEquals("""
+                worldhello
+                """, execute(program, "hello\nworld\n"));
+    }
+
+    @Test
+    void read_characters_and_rest_of_line() {
+        String program = """
+                var a = read();
+                var b = read();
+                var rest = readLine();
+                print(a);
+                print(b);
+                print(rest);
+                """;
+
+        assertEquals("""
+                xy end
+                """, execute(program, "  xa\ty end\n"));
+    }
+
+    @Test
+    void read_all_lines_of_large_input() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append(i).append("\r\n");
+        }
+
+        String program = """
+                var last = "";
+                for (i in 0..10000) {
+                    last = readLine();
+                }
+                print(last);
+                """;
+
+        assertEquals("""
+                9999
+                """, execute(program, input.toString()));
+    }
+
+    @Test
+    void read_after_end_of_input_throws_exception() {
+        String program = """
+                readLine();
+                readLine();
+                """;
+
+        assertThrows(RuntimeException.class, () -> execute(program, "only line"));
+    }
+
+    @Test
+    void lines_span_buffer_boundaries() {
+        InputSource input = new InputSource(new StringReader("abcdef\n\nghi"), 4);
+
+        assertEquals("abcdef", input.readLine());
+        assertEquals("", input.readLine());
+        assertEquals("ghi", input.readToken());
+        assertNull(input.readLine());
+    }
+
+    private static String execute(String program, String input) {
+        StringOutputSink output = new StringOutputSink();
+
+        assertTrue(FlowInterpreter.execute(program, Engine.TREE, output, InputSource.of(input)));
+
+        return output.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JvmEngineTest {
+
+    @Test
+    void recursive_method() {
+        String program = """
+                fun fib(n: Int): Int {
+                    if (n <= 1) {
+                        return n;
+                    }
+                    return fib(n - 1) + fib(n - 2);
+                }
+                print(fib(20));
+                """;
+
+        String expected = """
+                6765
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program, Engine.JVM));
+    }
+
+    @Test
+    void loops_and_doubles() {
+        String program = """
+                fun average(n: Int): Double {
+                    var sum = 0.0;
+                    var count = 0.0;
+                    for (i in 0..n) {
+                        sum = sum + 2.5;
+                        count = count + 1.0;
+                    }
+                    while (count < 0.0) {
+                        count = count - 1.0;
+                    }
+                    return sum / count;
+                }
+                print(average(4));
+                """;
+
+        String expected = """
+                2.5
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program, Engine.JVM));
+    }
+
+    @Test
+    void class_methods_and_interpreted_callers() {
+        String program = """
+                class Calculator {
+                    fun square(x: Int): Int {
+                        return x * x;
+                    }
+                    fun describe(x: Int): String {
+                        return "square of " + x + " is " + square(x);
+                    }
+                }
+                val calculator = new Calculator();
+                print(calculator.describe(7));
+                """;
+
+        String expected = """
+                square of 7 is 49
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program, Engine.JVM));
+    }
+
+    @Test
+    void argument_checks_are_kept() {
+        String program = """
+                fun twice(x: Int): Int {
+                    return x * 2;
+                }
+                try {
+                    twice(1.5);
+                } catch (message: String) {
+                    print(message);
+                }
+                """;
+
+        assertEquals(FlowInterpreter.execute(program, Engine.TREE), FlowInterpreter.execute(program, Engine.JVM));
+    }
+}
@@ -0,0 +1,160 @@
+package flow.interpreter;
+
+import flow.FlowParser;
+import flow.interpreter.compiler.PurityAnalysis;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.node.MemoCache;
+import flow.interpreter.node.MethodNode;
+import flow.interpreter.output.StringOutputSink;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoizationTest {
+
+    private static Set<String> pureMethods(String program) {
+        FlowParser.ProgramContext tree = ProgramParser.parse(CharStreams.fromString(program));
+
+        return PurityAnalysis.analyze(tree).stream().map(ctx -> ctx.ID().getText()).collect(Collectors.toSet());
+    }
+
+    @Test
+    void finds_pure_methods() {
+        String program = """
+                var counter = 0;
+                fun square(n: Int): Int {
+                    return n * n;
+                }
+                fun sumOfSquares(n: Int): Int {
+                    var sum = 0;
+                    for (i in 0..n) {
+                        sum = sum + square(i);
+                    }
+                    return sum;
+                }
+                fun isEven(n: Int): Boolean {
+                    if (n == 0) {
+                        return true;
+                    }
+                    return isOdd(n - 1);
+                }
+                fun isOdd(n: Int): Boolean {
+                    if (n == 0) {
+                        return false;
+                    }
+                    return isEven(n - 1);
+                }
+                fun log(n: Int): Int {
+                    print(n);
+                    return n;
+                }
+                fun logSquare(n: Int): Int {
+                    return log(n) * n;
+                }
+                fun count(n: Int): Int {
+                    counter = counter + n;
+                    return n;
+                }
+                fun readCounter(n: Int): Int {
+                    return counter + n;
+                }
+                fun counter(n: Int): Int {
+                    var counter = n;
+                    return counter;
+                }
+                class Box {
+                    val size = 2;
+                    fun double(n: Int): Int {
+                        return n + n;
+                    }
+                    fun scaled(n: Int): Int {
+                        return size * double(n);
+                    }
+                }
+                """;
+
+        assertEquals(Set.of("square", "sumOfSquares", "isEven", "isOdd", "double"), pureMethods(program));
+    }
+
+    @Test
+    void memoizes_pure_methods() {
+        String program = """
+                fun fib(n: Int): Int {
+                    if (n <= 1) {
+                        return n;
+                    }
+                    return fib(n - 1) + fib(n - 2);
+                }
+                print(fib(40));
+                """;
+
+        // the compiling engines leave memoized methods to the node tree, so every call goes through the cache
+        for (Engine engine : Engine.values()) {
+            StringOutputSink output = new StringOutputSink();
+
+            List<MethodNode> memoized = FlowInterpreter.execute(program, engine, output, InputSource.of(""),
+                    new Memoization(100, MemoCache.Eviction.LRU));
+
+            assertEquals("102334155\n", output.toString());
+            assertEquals(1, memoized.size());
+            assertFalse(memoized.get(0).isCompiled());
+
+            MemoCache cache = memoized.get(0).getMemoCache();
+            assertEquals(41, cache.size());
+            assertEquals(38, cache.getHits());
+            assertEquals(0, cache.getEvictions());
+        }
+    }
+
+    @Test
+    void does_not_memoize_impure_methods() {
+        String program = """
+                fun log(n: Int): Int {
+                    print(n);
+                    return n;
+                }
+                log(1);
+                log(1);
+                """;
+        StringOutputSink output = new StringOutputSink();
+
+        List<MethodNode> memoized = FlowInterpreter.execute(program, Engine.TREE, output, InputSource.of(""),
+                new Memoization(100, MemoCache.Eviction.LRU));
+
+        assertEquals("11\n", output.toString());
+        assertTrue(memoized.isEmpty());
+    }
+
+    @Test
+    void evicts_by_policy() {
+        MemoCache lru = new MemoCache(2, MemoCache.Eviction.LRU);
+        MemoCache fifo = new MemoCache(2, MemoCache.Eviction.FIFO);
+
+        for (MemoCache cache : List.of(lru, fifo)) {
+            cache.put(List.of(1), 1);
+            cache.put(List.of(2), 4);
+            cache.get(List.of(1));
+            cache.put(List.of(3), 9);
+        }
+
+        assertEquals(1, lru.get(List.of(1)));
+        assertNull(lru.get(List.of(2)));
+        assertNull(fifo.get(List.of(1)));
+        assertEquals(4, fifo.get(List.of(2)));
+        assertEquals(1, lru.getEvictions());
+        assertEquals(2.0 / 3, lru.getHitRate());
+    }
+
+    @Test
+    void parses_settings() {
+        assertEquals(new Memoization(1000, MemoCache.Eviction.LRU), Memoization.parse("1000"));
+        assertEquals(new Memoization(10, MemoCache.Eviction.FIFO), Memoization.parse("10:fifo"));
+        assertNull(Memoization.parse("10:random"));
+        assertNull(Memoization.parse("0"));
+    }
+}
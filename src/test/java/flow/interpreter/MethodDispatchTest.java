@@ -0,0 +1,95 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MethodDispatchTest {
+
+    @Test
+    void call_site_follows_object_class() {
+        String program = """
+                class A {
+                    fun name(): String {
+                        return "A";
+                    }
+                }
+                class B {
+                    fun name(): String {
+                        return "B";
+                    }
+                }
+                var a = new A();
+                fun show() {
+                    print(a.name());
+                }
+                show();
+                show();
+                a = new B();
+                show();
+                """;
+
+        String expected = """
+                AAB
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void first_declared_method_is_called() {
+        String program = """
+                class B {
+                    fun name(): String {
+                        return "first";
+                    }
+                    fun name(): String {
+                        return "second";
+                    }
+                }
+                val b = new B();
+                print(b.name());
+                """;
+
+        String expected = """
+                first
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void recursive_class_method() {
+        String program = """
+                class Calculator {
+                    fun fib(n: Int): Int {
+                        if (n <= 1) {
+                            return n;
+                        }
+                        return fib(n - 1) + fib(n - 2);
+                    }
+                }
+                val calculator = new Calculator();
+                print(calculator.fib(15));
+                """;
+
+        String expected = """
+                610
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void calling_missing_method_throws_exception() {
+        String program = """
+                class A {
+                }
+                val a = new A();
+                a.name();
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+}
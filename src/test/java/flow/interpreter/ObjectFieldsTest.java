@@ -0,0 +1,201 @@
+package flow.interpreter;
+
+import flow.interpreter.exception.FlowException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ObjectFieldsTest {
+
+    @Test
+    void read_and_write_fields() {
+        String program = """
+                class Point {
+                    var x: Int = 0;
+                    var y: Int = 0;
+
+                    fun move(dx: Int): Unit {
+                        x = x + dx;
+                    }
+                }
+
+                var sum = 0;
+                for (i in 0..100) {
+                    val p = new Point();
+                    p.x = i;
+                    p.y = p.x * 2;
+                    p.move(1);
+                    sum = sum + p.x + p.y;
+                }
+                print(sum);
+                """;
+
+        String expected = """
+                14950
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void same_field_access_on_classes_with_different_layouts() {
+        String program = """
+                class A {
+                    var x: Int = 1;
+                    var label: String = "a";
+                }
+
+                class B {
+                    var label: String = "b";
+                    var y: Double = 0.5;
+                    var x: Int = 2;
+                }
+
+                var p = new A();
+
+                fun show(): Unit {
+                    print(p.label + p.x + ";");
+                }
+
+                show();
+                p = new B();
+                show();
+                p.x = 7;
+                show();
+                """;
+
+        String expected = """
+                a1;b2;b7;
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void object_field_is_found_by_name() {
+        String program = """
+                class Inner {
+                    var value: Int = 4;
+                }
+
+                class Outer {
+                    var count: Int = 1;
+                    val inner = new Inner();
+
+                    fun total(): Int {
+                        return count + inner.value;
+                    }
+                }
+
+                val o = new Outer();
+                print(o.total());
+                """;
+
+        String expected = """
+                5
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void every_object_gets_own_initialized_fields() {
+        String program = """
+                class Counter {
+                    var count: Int = 10;
+                    val name: String;
+
+                    constructor(text: String) {
+                        name = text;
+                        increment();
+                    }
+
+                    fun increment(): Unit {
+                        count = count + 1;
+                    }
+                }
+
+                val a = new Counter("a");
+                val b = new Counter("b");
+                a.increment();
+                print(a.name + a.count + b.name + b.count);
+                """;
+
+        String expected = """
+                a12b11
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void fields_keep_values_of_every_type() {
+        String program = """
+                class Sample {
+                    var count = 1;
+                    var ratio = 0.5;
+                    var isOn = true;
+                    var letter = 'a';
+                    var name = "n";
+
+                    fun update(): Unit {
+                        count = count + 1;
+                        ratio = ratio * 3.0;
+                        isOn = count > 5;
+                        name = name + toString(count);
+                    }
+                }
+
+                val s = new Sample();
+                s.update();
+                s.count = s.count + 10;
+                s.update();
+                print(toString(s.count) + " " + toString(s.ratio) + " " + toString(s.isOn) + " " + toString(s.letter) + " " + s.name);
+                """;
+
+        assertEquals("13 4.5 true a n213\n", FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void immutable_field_cannot_be_assigned() {
+        String inMethod = """
+                class A {
+                    val id = 1;
+                    fun reset(): Unit {
+                        id = 2;
+                    }
+                }
+
+                val a = new A();
+                a.reset();
+                """;
+        String onObject = """
+                class A {
+                    val id = 1;
+                }
+
+                val a = new A();
+                a.id = 2;
+                """;
+
+        assertEquals("Cannot assign value 2 to immutable variable id",
+                assertThrows(FlowException.class, () -> FlowInterpreter.execute(inMethod)).getMessage());
+        assertEquals("Cannot assign value 2 to immutable variable id",
+                assertThrows(FlowException.class, () -> FlowInterpreter.execute(onObject)).getMessage());
+    }
+
+    @Test
+    void undeclared_field_throws_exception() {
+        String program = """
+                class A {
+                    var x: Int = 1;
+                }
+
+                val a = new A();
+                print(a.y);
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+}
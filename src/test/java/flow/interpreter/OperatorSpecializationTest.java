@@ -0,0 +1,70 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OperatorSpecializationTest {
+
+    @Test
+    void repeated_int_double_and_string_operations() {
+        String program = """
+                var text = "";
+                var total = 0.0;
+                var count = 0;
+                for (i in 0..4) {
+                    text = text + i;
+                    total = total + 0.25;
+                    count = count + (i % 2);
+                    print(i * 2 >= 4);
+                    print(" ");
+                }
+                print(text + " " + total + " " + count);
+                """;
+
+        String expected = """
+                false false true true 0123 1.0 2
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void comparing_strings_and_booleans() {
+        String program = """
+                val a = "abc";
+                val b = "abd";
+                print(a < b);
+                print(a == b);
+                print(true != false);
+                """;
+
+        String expected = """
+                truefalsetrue
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void mixing_int_and_double_throws_exception() {
+        String program = """
+                val a = 1;
+                val b = 2.0;
+                print(a * b);
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void subtracting_strings_throws_exception() {
+        String program = """
+                val a = "a";
+                print(a - "b");
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+}
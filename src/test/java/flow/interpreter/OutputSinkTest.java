@@ -0,0 +1,58 @@
+package flow.interpreter;
+
+import flow.interpreter.output.NullOutputSink;
+import flow.interpreter.output.StringOutputSink;
+import flow.interpreter.output.WriterOutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OutputSinkTest {
+
+    private static final String PROGRAM = """
+            for (i in 0..3) {
+                println("line " + i);
+            }
+            """;
+
+    @Test
+    void program_output_is_captured() {
+        StringOutputSink output = new StringOutputSink();
+
+        assertTrue(FlowInterpreter.execute(PROGRAM, Engine.TREE, output));
+        assertEquals("\nline 0\nline 1\nline 2\n", output.toString());
+    }
+
+    @Test
+    void writer_sink_flushes_when_buffer_is_full() {
+        StringWriter writer = new StringWriter();
+        WriterOutputSink output = new WriterOutputSink(writer, 8, 60_000);
+
+        output.write("line 0");
+        assertEquals("", writer.toString());
+
+        output.write("\nline 1");
+        assertEquals("line 0\nline 1", writer.toString());
+
+        output.write("!");
+        output.flush();
+        assertEquals("line 0\nline 1!", writer.toString());
+    }
+
+    @Test
+    void writer_sink_receives_whole_program_output() {
+        StringWriter writer = new StringWriter();
+
+        FlowInterpreter.execute(PROGRAM, Engine.TREE, new WriterOutputSink(writer));
+
+        assertEquals("\nline 0\nline 1\nline 2\n", writer.toString());
+    }
+
+    @Test
+    void null_sink_discards_output() {
+        assertTrue(FlowInterpreter.execute(PROGRAM, Engine.TREE, NullOutputSink.INSTANCE));
+    }
+}
@@ -0,0 +1,182 @@
+package flow.interpreter;
+
+import flow.interpreter.exception.FlowException;
+import flow.interpreter.input.InputSource;
+import flow.interpreter.output.StringOutputSink;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelForTest {
+
+    private static String execute(String program, int parallelism) {
+        StringOutputSink output = new StringOutputSink();
+
+        Flow.compile(program).run(new ExecutionContext(output, InputSource.of("")).withParallelism(parallelism));
+
+        return output.toString();
+    }
+
+    @Test
+    void prints_in_range_order() {
+        String program = """
+                fun square(n: Int): Int {
+                    return n * n;
+                }
+                val offset = 1;
+                parallel for (i in 20 downTo 0 step 3) {
+                    var value = square(i) + offset;
+                    print(toString(value) + " ");
+                }
+                """;
+
+        assertEquals("401 290 197 122 65 26 5 \n", execute(program, 4));
+        assertEquals("401 290 197 122 65 26 5 \n", execute(program, 1));
+    }
+
+    @Test
+    void returns_first_value_in_range_order() {
+        String program = """
+                fun firstAbove(limit: Int): Int {
+                    parallel for (i in 0..1000) {
+                        if (i * i > limit) {
+                            return i;
+                        }
+                        print(i);
+                    }
+                    return -1;
+                }
+                print(" " + toString(firstAbove(20)));
+                """;
+
+        assertEquals("01234 5\n", execute(program, 4));
+    }
+
+    @Test
+    void reports_failure_after_output_of_earlier_values() {
+        String program = """
+                parallel for (i in 0..100) {
+                    print(10 / (5 - i));
+                }
+                """;
+        StringOutputSink output = new StringOutputSink();
+        ExecutionContext context = new ExecutionContext(output, InputSource.of("")).withParallelism(4);
+
+        assertThrows(ArithmeticException.class, () -> Flow.compile(program).run(context));
+        assertEquals("223510", output.toString());
+    }
+
+    @Test
+    void allows_objects_of_the_task() {
+        String program = """
+                class Counter {
+                    var count = 0;
+                    fun add(n: Int): Unit {
+                        count = count + n;
+                    }
+                }
+                parallel for (i in 0..4) {
+                    var counter = new Counter();
+                    counter.add(i);
+                    counter.add(i);
+                    print(counter.count);
+                }
+                """;
+
+        assertEquals("0246\n", execute(program, 2));
+    }
+
+    @Test
+    void runs_nested_loops_on_a_single_thread() {
+        String program = """
+                fun count(n: Int): Int {
+                    parallel for (j in 0..n) {
+                        print(j);
+                    }
+                    return n;
+                }
+                parallel for (i in 0..4) {
+                    print(" " + toString(count(i)) + " ");
+                }
+                """;
+
+        assertEquals(" 0 0 1 01 2 012 3 \n", execute(program, 1));
+    }
+
+    @Test
+    void tasks_nest_calls_up_to_the_maximum_call_depth() {
+        String program = """
+                fun down(n: Int): Int {
+                    if (n == 0) {
+                        return 0;
+                    }
+                    return down(n - 1) + 1;
+                }
+                parallel for (i in 0..2) {
+                    print(toString(down(100000 + i)) + " ");
+                }
+                """;
+
+        for (Engine engine : Engine.values()) {
+            StringOutputSink output = new StringOutputSink();
+
+            Flow.compile(program, engine).run(new ExecutionContext(output, InputSource.of(""))
+                    .withMaxCallDepth(200000).withParallelism(2));
+
+            assertEquals("100000 100001 \n", output.toString(), engine.name());
+        }
+    }
+
+    @Test
+    void parallel_can_name_variables_and_methods() {
+        String program = """
+                fun parallel(n: Int): Int {
+                    return n + 1;
+                }
+                var parallel = parallel(1);
+                parallel = parallel + 1;
+                parallel for (i in 0..parallel) {
+                    print(i);
+                }
+                """;
+
+        assertEquals("012\n", execute(program, 2));
+    }
+
+    @Test
+    void rejects_writes_to_shared_state() {
+        String outerVariable = """
+                var total = 0;
+                parallel for (i in 0..10) {
+                    total = total + i;
+                }
+                """;
+        String outerObject = """
+                class Counter {
+                    var count = 0;
+                    fun add(n: Int): Unit {
+                        count = count + n;
+                    }
+                }
+                var counter = new Counter();
+                parallel for (i in 0..10) {
+                    counter.add(i);
+                }
+                """;
+        String file = """
+                parallel for (i in 0..10) {
+                    appendFile("out.txt", toString(i));
+                }
+                """;
+
+        assertEquals("Cannot run the loop over `i` at line 2 in parallel: its body assigns `total`, which is declared "
+                + "outside of the loop, at line 3.", assertThrows(FlowException.class,
+                () -> FlowInterpreter.execute(outerVariable)).getMessage());
+        assertEquals("Cannot run the loop over `i` at line 8 in parallel: its body assigns `count`, a field of an object "
+                + "declared outside of the loop, at line 4.", assertThrows(FlowException.class,
+                () -> FlowInterpreter.execute(outerObject)).getMessage());
+        assertEquals("Cannot run the loop over `i` at line 1 in parallel: its body writes a file at line 2.",
+                assertThrows(FlowException.class, () -> FlowInterpreter.execute(file)).getMessage());
+    }
+}
@@ -0,0 +1,71 @@
+package flow.interpreter;
+
+import flow.interpreter.exception.FlowException;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParsingTest {
+
+    @Test
+    void compound_if_conditions() {
+        String program = """
+                val flag = 3 > 2;
+                for (i in 0..6) {
+                    if (i % 2 == 0) {
+                        print(i);
+                    } else {
+                        if (flag) {
+                            print("-");
+                        }
+                    }
+                }
+                """;
+
+        String expected = """
+                0-2-4-
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void conditions_must_be_boolean() {
+        String ifProgram = """
+                if (5) {
+                    print(1);
+                }
+                """;
+        String whileProgram = """
+                var text = "x";
+                while (text + "y") {
+                    print(2);
+                }
+                """;
+
+        assertEquals("Condition must be Boolean but got Int.", assertThrows(FlowException.class,
+                () -> FlowInterpreter.execute(ifProgram)).getMessage());
+        assertEquals("Condition must be Boolean but got String.", assertThrows(FlowException.class,
+                () -> FlowInterpreter.execute(whileProgram)).getMessage());
+    }
+
+    @Test
+    void syntax_error_is_reported_after_successful_parse() {
+        assertEquals("""
+                1
+                """, FlowInterpreter.execute("print(1);"));
+
+        ParseCancellationException e = assertThrows(ParseCancellationException.class,
+                () -> FlowInterpreter.execute("var a = 1\nvar b = 2;"));
+
+        assertEquals("Syntax error at line 2, position 0: missing ';' at 'var'", e.getMessage());
+    }
+
+    @Test
+    void incomplete_program_is_not_executed() {
+        assertNull(FlowInterpreter.execute("var x = 3;\nif (x < 1) {\n"));
+    }
+}
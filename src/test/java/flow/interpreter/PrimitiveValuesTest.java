@@ -0,0 +1,75 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PrimitiveValuesTest {
+
+    @Test
+    void int_and_double_loops() {
+        String program = """
+                var sum = 0;
+                var total = 0.0;
+                for (i in 0..10) {
+                    sum = sum + i;
+                    total = total + 0.5;
+                }
+                var done = false;
+                while (sum > 40) {
+                    sum = sum - 10;
+                    done = sum < 40;
+                }
+                print(sum);
+                print(" ");
+                print(total);
+                print(" ");
+                print(done);
+                """;
+
+        String expected = """
+                35 5.0 true
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void string_concatenation_in_int_expression() {
+        String program = """
+                var text = "n=";
+                val n = 4;
+                text = text + (n * 2);
+                print(text);
+                """;
+
+        String expected = """
+                n=8
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void assigning_double_to_int_variable_throws_exception() {
+        String program = """
+                var a = 1;
+                a = a + 0.5;
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void comparing_different_types_throws_exception() {
+        String program = """
+                val a = 1;
+                if (a < 2.0) {
+                    print(a);
+                }
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+}
@@ -0,0 +1,94 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RangeTest {
+
+    @Test
+    void ascending_and_descending_ranges() {
+        String program = """
+                for (i in 0..3) {
+                    print(i);
+                }
+                print(" ");
+                for (i in 3 downTo 0) {
+                    print(i);
+                }
+                """;
+
+        String expected = """
+                012 321
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void ranges_with_step() {
+        String program = """
+                for (i in 0..10 step 3) {
+                    print(i);
+                }
+                print(" ");
+                for (i in 10 downTo 0 step 4) {
+                    print(i);
+                }
+                """;
+
+        String expected = """
+                0369 1062
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void range_values_in_variables_and_params() {
+        String program = """
+                fun sum(range: Range): Int {
+                    var total = 0;
+                    for (i in range) {
+                        total = total + i;
+                    }
+                    return total;
+                }
+
+                val range: Range = 1..5 step 2;
+                print(range);
+                print(" ");
+                print(sum(range));
+                """;
+
+        String expected = """
+                1..5 step 2 4
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void iterating_over_non_range_throws_exception() {
+        String program = """
+                val n = 5;
+                for (i in n) {
+                    print(i);
+                }
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void non_positive_step_throws_exception() {
+        String program = """
+                for (i in 0..5 step 0) {
+                    print(i);
+                }
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+}
@@ -0,0 +1,42 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReplSessionTest {
+
+    @Test
+    void entries_share_declarations() {
+        ReplSession session = new ReplSession(Engine.TREE);
+
+        assertEquals("\n", session.submit("var a = 1;"));
+        assertNull(session.submit("fun add(x: Int): Int {"));
+        assertNull(session.submit("    return x + a;"));
+        assertEquals("\n", session.submit("}"));
+        assertEquals("\n", session.submit("a = 10;"));
+        assertEquals("12\n", session.submit("print(add(2));"));
+    }
+
+    @Test
+    void redeclaring_variable_of_earlier_entry_throws_exception() {
+        ReplSession session = new ReplSession(Engine.TREE);
+
+        session.submit("val a = 1;");
+
+        assertThrows(RuntimeException.class, () -> session.submit("var a = 2;"));
+        assertEquals("1\n", session.submit("print(a);"));
+    }
+
+    @Test
+    void failed_entry_is_discarded() {
+        ReplSession session = new ReplSession(Engine.TREE);
+
+        assertThrows(RuntimeException.class, () -> session.submit("print(1 +);"));
+        assertNull(session.submit("var b = 2"));
+        assertEquals("\n", session.submit(";"));
+        assertEquals("2\n", session.submit("print(b);"));
+    }
+}
@@ -0,0 +1,156 @@
+package flow.interpreter;
+
+import flow.FlowParser;
+import flow.interpreter.compiler.TypeChecker;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeCheckTest {
+
+    @Test
+    void values_matching_declared_types() {
+        String program = """
+                class Point {
+                    var x = 0;
+                }
+                fun describe(name: String, count: Int, ratio: Double, range: Range): String {
+                    return name + count + ratio + range;
+                }
+                var p = new Point();
+                val q = new Point();
+                p.x = 3;
+                p = q;
+                print(describe("n", p.x, 0.5, 0..2));
+                """;
+
+        String expected = """
+                n00.50..2
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void wrong_argument_type_throws_exception() {
+        String program = """
+                fun f(a: Int): Int {
+                    return a;
+                }
+                print(f("x"));
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void wrong_return_type_throws_exception() {
+        String program = """
+                fun f(a: Int): String {
+                    return a;
+                }
+                print(f(1));
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void assigning_object_of_other_class_throws_exception() {
+        String program = """
+                class A {
+                }
+                class B {
+                }
+                var a = new A();
+                val b = new B();
+                a = b;
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void reports_all_type_errors_before_running() {
+        String program = """
+                class Point {
+                    var x = 0;
+                }
+                fun scale(n: Int, factor: Double): Double {
+                    return factor * 2.0;
+                }
+                fun name(): String {
+                    return 1;
+                }
+                val limit = 10;
+                var p = new Point();
+                limit = 20;
+                p.x = "left";
+                print(p.y);
+                print(scale(1));
+                print(scale("1", 2.0));
+                print(limit + 0.5);
+                print(missing());
+                """;
+
+        TypeChecker checker = TypeChecker.check(ProgramParser.parse(CharStreams.fromString(program)));
+
+        assertEquals(List.of(
+                "Line 8: Return type is not the same as method return type. Expected String but got Int.",
+                "Line 12: Cannot assign to immutable variable limit.",
+                "Line 13: Wrong type of variable `x`. Expected Int but got String.",
+                "Line 14: Variable `y` is not declared.",
+                "Line 15: Wrong number of arguments. Expected 2 but got 1.",
+                "Line 16: Wrong argument n type. Expected Int but got String.",
+                "Line 17: Wrong type of arguments in expression. Expected Int but got Double.",
+                "Line 18: Method `missing` does not exist."
+        ), checker.getErrors());
+    }
+
+    @Test
+    void leaves_unknown_types_to_runtime() {
+        String program = """
+                var label = "none";
+                fun twice(n: Int): Int {
+                    return n + n;
+                }
+                fun readLabel(): Int {
+                    return label;
+                }
+                print(twice(2));
+                print(readLabel());
+                """;
+        FlowParser.ProgramContext tree = ProgramParser.parse(CharStreams.fromString(program));
+
+        TypeChecker checker = TypeChecker.check(tree);
+
+        assertTrue(checker.getErrors().isEmpty());
+        assertTrue(checker.isVerified(tree.globalStatement(1).methodDeclaration()));
+        assertFalse(checker.isVerified(tree.globalStatement(2).methodDeclaration()));
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void reports_conditions_that_are_not_boolean() {
+        String program = """
+                if (5) {
+                    print(1);
+                }
+                var text = "x";
+                while (text + "y") {
+                    print(2);
+                }
+                while (text == "x") {
+                    text = "y";
+                }
+                """;
+
+        assertEquals(List.of(
+                "Line 1: Condition must be Boolean but got Int.",
+                "Line 5: Condition must be Boolean but got String."
+        ), TypeChecker.check(ProgramParser.parse(CharStreams.fromString(program))).getErrors());
+    }
+}
@@ -0,0 +1,167 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VariablesScopeTest {
+
+    @Test
+    void method_reads_global_declared_after_it() {
+        String program = """
+                fun get(): Int {
+                    return x + 1;
+                }
+                val x = 5;
+                print(get());
+                """;
+
+        String expected = """
+                6
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void method_called_before_global_declaration_throws_exception() {
+        String program = """
+                fun get(): Int {
+                    return x;
+                }
+                print(get());
+                val x = 5;
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void nested_blocks_and_loops() {
+        String program = """
+                val a = 1;
+                var sum = 0;
+                for (i in 0..3) {
+                    val b = i;
+                    if (b > 0) {
+                        sum = sum + (a + b);
+                    }
+                }
+                print(sum);
+                """;
+
+        String expected = """
+                5
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void redeclaring_visible_variable_throws_exception() {
+        String program = """
+                val a = 1;
+                if (a == 1) {
+                    val a = 2;
+                }
+                """;
+
+        assertThrows(RuntimeException.class, () -> FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void class_method_reads_fields_and_creation_scope() {
+        String program = """
+                class Counter {
+                    var count = 0;
+                    fun add(n: Int): Int {
+                        count = count + n + offset;
+                        return count;
+                    }
+                }
+                val offset = 10;
+                var counter = new Counter();
+                counter.add(1);
+                print(counter.add(2));
+                """;
+
+        String expected = """
+                23
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void loop_body_scope_starts_empty_every_iteration() {
+        String program = """
+                var total = 0;
+                for (i in 0..1000) {
+                    val square = i * i;
+                    if (i % 2 == 0) {
+                        total = total + square;
+                    }
+                }
+                print(total);
+                """;
+
+        String expected = """
+                166167000
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void object_outlives_block_it_was_created_in() {
+        String program = """
+                class Box {
+                    var value: Int = 0;
+
+                    fun get(): Int {
+                        return value;
+                    }
+                }
+
+                var kept = new Box();
+                for (i in 0..3) {
+                    val box = new Box();
+                    box.value = i + 10;
+                    if (i == 1) {
+                        kept = box;
+                    }
+                }
+                for (j in 0..3) {
+                    val other = j * 100;
+                    print(kept.get() + other + ";");
+                }
+                """;
+
+        String expected = """
+                11;111;211;
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+
+    @Test
+    void recursive_calls_keep_their_own_variables() {
+        String program = """
+                fun sum(n: Int): Int {
+                    if (n == 0) {
+                        return 0;
+                    }
+                    val rest = sum(n - 1);
+                    return n + rest;
+                }
+                print(sum(100));
+                """;
+
+        String expected = """
+                5050
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program));
+    }
+}
@@ -0,0 +1,92 @@
+package flow.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VmEngineTest {
+
+    @Test
+    void recursive_method() {
+        String program = """
+                fun fib(n: Int): Int {
+                    if (n <= 1) {
+                        return n;
+                    }
+                    return fib(n - 1) + fib(n - 2);
+                }
+                print(fib(20));
+                """;
+
+        String expected = """
+                6765
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program, Engine.VM));
+    }
+
+    @Test
+    void deep_recursion() {
+        String program = """
+                fun sum(n: Int): Int {
+                    if (n == 0) {
+                        return 0;
+                    }
+                    return n + sum(n - 1);
+                }
+                print(sum(100000));
+                """;
+
+        String expected = """
+                705082704
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program, Engine.VM));
+    }
+
+    @Test
+    void loops_doubles_and_booleans() {
+        String program = """
+                fun isEven(n: Int): Boolean {
+                    val even = n % 2 == 0;
+                    return even;
+                }
+                fun average(n: Int): Double {
+                    var sum = 0.0;
+                    var count = 0.0;
+                    for (i in 0..n) {
+                        sum = sum + 2.5;
+                        count = count + 1.0;
+                    }
+                    return sum / count;
+                }
+                print(average(4));
+                print(isEven(3));
+                """;
+
+        String expected = """
+                2.5false
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program, Engine.VM));
+    }
+
+    @Test
+    void interpreted_callers() {
+        String program = """
+                fun square(x: Int): Int {
+                    return x * x;
+                }
+                fun describe(x: Int): String {
+                    return "square=" + square(x);
+                }
+                print(describe(7));
+                """;
+
+        String expected = """
+                square=49
+                """;
+
+        assertEquals(expected, FlowInterpreter.execute(program, Engine.VM));
+    }
+}